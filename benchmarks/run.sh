@@ -0,0 +1,32 @@
+#!/usr/bin/env bash
+# Собирает модуль бенчмарков, запускает JMH и сравнивает результат с базовой линией baseline.json.
+# Регрессия больше допуска по любому бенчмарку завершает скрипт с ненулевым кодом.
+#
+#   benchmarks/run.sh                              все бенчмарки
+#   benchmarks/run.sh ItemSearch -p items=1000000  аргументы после флагов передаются JMH как есть
+#   benchmarks/run.sh --update-baseline            перезаписать baseline.json текущим результатом
+#
+# Параметры: TOLERANCE допустимое ухудшение основной метрики (0.10).
+set -euo pipefail
+cd "$(dirname "$0")/.."
+
+TOLERANCE=${TOLERANCE:-0.10}
+UPDATE_BASELINE=false
+if [ "${1:-}" = "--update-baseline" ]; then
+    UPDATE_BASELINE=true
+    shift
+fi
+
+JAR=benchmarks/target/benchmarks.jar
+RESULT=benchmarks/target/jmh-result.json
+BASELINE=benchmarks/baseline.json
+
+mvn -B -q -pl benchmarks -am package -DskipTests
+java -jar "$JAR" -rf json -rff "$RESULT" "$@"
+
+if [ "$UPDATE_BASELINE" = true ]; then
+    cp "$RESULT" "$BASELINE"
+    echo "Базовая линия обновлена: $BASELINE"
+else
+    java -cp "$JAR" ru.practicum.shareit.benchmarks.BaselineComparator "$BASELINE" "$RESULT" "$TOLERANCE"
+fi
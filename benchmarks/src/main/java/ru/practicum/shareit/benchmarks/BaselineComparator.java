@@ -0,0 +1,75 @@
+package ru.practicum.shareit.benchmarks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Сравнение результата JMH ({@code -rf json}) с сохраненной базовой линией.
+ * Бенчмарк считается регрессией, если его основная метрика ухудшилась больше чем на допуск:
+ * для режима {@code thrpt} больше - лучше, для остальных режимов меньше - лучше.
+ * Завершается с кодом 1, если найдена хотя бы одна регрессия.
+ */
+public class BaselineComparator {
+    private static final double DEFAULT_TOLERANCE = 0.10;
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2 || args.length > 3) {
+            System.err.println("Использование: BaselineComparator <baseline.json> <result.json> [tolerance]");
+            System.exit(2);
+        }
+        double tolerance = args.length == 3 ? Double.parseDouble(args[2]) : DEFAULT_TOLERANCE;
+        ObjectMapper objectMapper = new ObjectMapper();
+        Map<String, JsonNode> baseline = index(objectMapper.readTree(new File(args[0])));
+        Map<String, JsonNode> result = index(objectMapper.readTree(new File(args[1])));
+
+        int regressions = 0;
+        for (Map.Entry<String, JsonNode> entry : result.entrySet()) {
+            JsonNode current = entry.getValue();
+            JsonNode previous = baseline.get(entry.getKey());
+            double score = current.path("primaryMetric").path("score").asDouble();
+            String unit = current.path("primaryMetric").path("scoreUnit").asText();
+            if (previous == null) {
+                System.out.printf("NEW        %s: %.3f %s%n", entry.getKey(), score, unit);
+                continue;
+            }
+            double baselineScore = previous.path("primaryMetric").path("score").asDouble();
+            double change = baselineScore == 0 ? 0 : (score - baselineScore) / baselineScore;
+            double degradation = "thrpt".equals(current.path("mode").asText()) ? -change : change;
+            boolean regression = degradation > tolerance;
+            if (regression) {
+                regressions++;
+            }
+            System.out.printf("%-10s %s: %.3f -> %.3f %s (%+.1f%%)%n", regression ? "REGRESSION" : "OK",
+                entry.getKey(), baselineScore, score, unit, change * 100);
+        }
+        if (regressions > 0) {
+            System.err.printf("Регрессий производительности: %d (допуск %.0f%%)%n", regressions, tolerance * 100);
+            System.exit(1);
+        }
+    }
+
+    private static Map<String, JsonNode> index(JsonNode results) {
+        Map<String, JsonNode> index = new LinkedHashMap<>();
+        for (JsonNode result : results) {
+            index.put(key(result), result);
+        }
+        return index;
+    }
+
+    private static String key(JsonNode result) {
+        Map<String, String> params = new TreeMap<>();
+        Iterator<Map.Entry<String, JsonNode>> fields = result.path("params").fields();
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            params.put(field.getKey(), field.getValue().asText());
+        }
+        return params.isEmpty() ? result.path("benchmark").asText() : result.path("benchmark").asText() + params;
+    }
+}
@@ -0,0 +1,98 @@
+package ru.practicum.shareit.benchmarks;
+
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Consumer;
+import java.util.function.IntFunction;
+
+/**
+ * Заполнение базы бенчмарка. Строки сохраняются пакетами, каждый пакет в своей транзакции,
+ * чтобы контекст персистентности не рос вместе с объемом данных.
+ */
+final class BenchmarkData {
+    static final String[] WORDS = {
+        "дрель", "перфоратор", "шуруповерт", "пила", "лобзик", "болгарка", "рубанок", "молоток", "стремянка",
+        "палатка", "спальник", "котелок", "велосипед", "самокат", "лыжи", "сноуборд", "проектор", "колонка",
+        "камера", "штатив", "drill", "saw", "ladder", "tent", "bike", "camera", "speaker", "projector",
+        "аккумуляторный", "электрический", "ручной", "туристический", "складной", "детский", "профессиональный",
+        "новый", "легкий", "мощный", "компактный", "надежный"
+    };
+
+    private static final int BATCH_SIZE = 1000;
+
+    private final ConfigurableApplicationContext context;
+    private final TransactionTemplate transaction;
+    private final Random random = new Random(42);
+
+    BenchmarkData(ConfigurableApplicationContext context) {
+        this.context = context;
+        this.transaction = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+    }
+
+    Random random() {
+        return random;
+    }
+
+    List<User> users(int count) {
+        return save(context.getBean(UserRepository.class), count, i -> User.builder()
+            .name("user" + i)
+            .email("user" + i + "@shareit.ru")
+            .build());
+    }
+
+    /**
+     * Фраза из случайных слов словаря.
+     */
+    String phrase(int words) {
+        StringBuilder phrase = new StringBuilder();
+        for (int i = 0; i < words; i++) {
+            if (i > 0) {
+                phrase.append(' ');
+            }
+            phrase.append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return phrase.toString();
+    }
+
+    /**
+     * Название вещи из случайных слов с номером: в items действует ограничение uq_name (owner_id, name).
+     */
+    String itemName(int words, int number) {
+        return phrase(words) + " " + number;
+    }
+
+    <T> List<T> save(JpaRepository<T, Long> repository, int count, IntFunction<T> factory) {
+        List<T> saved = new ArrayList<>(count);
+        insert(repository, count, factory, saved::addAll);
+        return saved;
+    }
+
+    /**
+     * Сохраняет строки, не удерживая их в памяти: для объемов, где нужен только результат в базе.
+     */
+    <T> void insert(JpaRepository<T, Long> repository, int count, IntFunction<T> factory) {
+        insert(repository, count, factory, batch -> {
+        });
+    }
+
+    private <T> void insert(JpaRepository<T, Long> repository, int count, IntFunction<T> factory,
+                            Consumer<List<T>> sink) {
+        for (int from = 0; from < count; from += BATCH_SIZE) {
+            int start = from;
+            int end = Math.min(count, from + BATCH_SIZE);
+            List<T> batch = new ArrayList<>(end - start);
+            for (int i = start; i < end; i++) {
+                batch.add(factory.apply(i));
+            }
+            sink.accept(transaction.execute(status -> repository.saveAll(batch)));
+        }
+    }
+}
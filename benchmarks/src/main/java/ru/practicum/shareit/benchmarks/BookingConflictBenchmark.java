@@ -0,0 +1,117 @@
+package ru.practicum.shareit.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingIntervalIndex;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.user.User;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Проверка пересечения бронирований при создании: индекс интервалов в памяти против запроса
+ * hasOverlappingBookings1, которым проверка выполнялась раньше. Половина проверок попадает в занятое время.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class BookingConflictBenchmark {
+    private static final int ITEMS = 100;
+    private static final int PROBES = 1024;
+
+    @Param({"10", "100", "1000"})
+    int bookingsPerItem;
+
+    private ConfigurableApplicationContext context;
+    private BookingIntervalIndex bookingIntervalIndex;
+    private BookingRepository bookingRepository;
+    private final long[] probeItemIds = new long[PROBES];
+    private final LocalDateTime[] probeStarts = new LocalDateTime[PROBES];
+    private final LocalDateTime[] probeEnds = new LocalDateTime[PROBES];
+    private int probe;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = ServerContext.start();
+        bookingIntervalIndex = context.getBean(BookingIntervalIndex.class);
+        bookingRepository = context.getBean(BookingRepository.class);
+        BenchmarkData data = new BenchmarkData(context);
+
+        List<User> users = data.users(2);
+        User owner = users.get(0);
+        User booker = users.get(1);
+        List<Item> items = data.save(context.getBean(ItemRepository.class), ITEMS, i -> Item.builder()
+            .name(data.itemName(2, i))
+            .description(data.phrase(6))
+            .available(true)
+            .owner(owner)
+            .build());
+
+        // Бронирования вещи идут через день: сутки заняты, сутки свободны.
+        LocalDateTime base = LocalDateTime.now().plusDays(1).withNano(0);
+        data.insert(bookingRepository, ITEMS * bookingsPerItem, i -> {
+            LocalDateTime start = base.plusDays(2L * (i % bookingsPerItem));
+            return Booking.builder()
+                .start(start)
+                .end(start.plusDays(1))
+                .item(items.get(i / bookingsPerItem))
+                .booker(booker)
+                .status(BookingStatus.APPROVED)
+                .build();
+        });
+
+        Random random = data.random();
+        for (int i = 0; i < PROBES; i++) {
+            probeItemIds[i] = items.get(random.nextInt(ITEMS)).getId();
+            probeStarts[i] = base.plusHours(random.nextInt(bookingsPerItem * 48));
+            probeEnds[i] = probeStarts[i].plusHours(4);
+        }
+        for (Item item : items) {
+            bookingIntervalIndex.hasOverlap(item.getId(), base, base.plusHours(1));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public boolean intervalIndex() {
+        int i = nextProbe();
+        return bookingIntervalIndex.hasOverlap(probeItemIds[i], probeStarts[i], probeEnds[i]);
+    }
+
+    @Benchmark
+    public boolean databaseQuery() {
+        int i = nextProbe();
+        return bookingRepository.hasOverlappingBookings1(probeItemIds[i], probeStarts[i], probeEnds[i]);
+    }
+
+    private int nextProbe() {
+        probe = (probe + 1) & (PROBES - 1);
+        return probe;
+    }
+}
@@ -0,0 +1,102 @@
+package ru.practicum.shareit.benchmarks;
+
+import org.hibernate.Session;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.user.User;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Вставка большого числа бронирований одной транзакцией с пакетной отправкой INSERT и без нее.
+ * Стратегию генерации id нельзя сменить без другого маппинга, поэтому прежнее поведение IDENTITY,
+ * при котором каждая строка уходила в базу отдельным запросом, воспроизводится размером пакета 1.
+ * Встроенная H2 не тратит время на сеть, так что на PostgreSQL разница будет больше.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+public class BookingInsertBenchmark {
+    private static final int FLUSH_EVERY = 1000;
+
+    @Param({"100000"})
+    int rows;
+
+    @Param({"50", "1"})
+    int jdbcBatchSize;
+
+    private ConfigurableApplicationContext context;
+    private TransactionTemplate transaction;
+    private EntityManager entityManager;
+    private Item item;
+    private User booker;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = ServerContext.start();
+        transaction = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        entityManager = SharedEntityManagerCreator.createSharedEntityManager(
+            context.getBean(EntityManagerFactory.class));
+        BenchmarkData data = new BenchmarkData(context);
+        List<User> users = data.users(2);
+        booker = users.get(1);
+        item = data.save(context.getBean(ItemRepository.class), 1, i -> Item.builder()
+            .name(data.phrase(2))
+            .description(data.phrase(6))
+            .available(true)
+            .owner(users.get(0))
+            .build()).get(0);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public void insertBookings() {
+        LocalDateTime base = LocalDateTime.now().plusDays(1);
+        transaction.executeWithoutResult(status -> {
+            entityManager.unwrap(Session.class).setJdbcBatchSize(jdbcBatchSize);
+            for (int i = 0; i < rows; i++) {
+                entityManager.persist(Booking.builder()
+                    .start(base.plusHours(i))
+                    .end(base.plusHours(i + 1))
+                    .item(item)
+                    .booker(booker)
+                    .status(BookingStatus.WAITING)
+                    .build());
+                if ((i + 1) % FLUSH_EVERY == 0) {
+                    entityManager.flush();
+                    entityManager.clear();
+                }
+            }
+        });
+    }
+}
@@ -0,0 +1,76 @@
+package ru.practicum.shareit.benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.item.dto.ItemResponseDto;
+import ru.practicum.shareit.user.dto.UserDto;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Сериализация страницы бронирований в JSON тем же ObjectMapper, что строит Spring MVC.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class BookingJsonBenchmark {
+    @Param({"10", "100", "1000"})
+    int bookings;
+
+    private ObjectWriter writer;
+    private List<BookingResponseDto> page;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        writer = Jackson2ObjectMapperBuilder.json().build()
+            .writerFor(new TypeReference<List<BookingResponseDto>>() {
+            });
+        LocalDateTime start = LocalDateTime.of(2030, 1, 1, 10, 0);
+        UserDto booker = UserDto.builder().id(2L).name("booker").email("booker@shareit.ru").build();
+        page = new ArrayList<>(bookings);
+        for (int i = 0; i < bookings; i++) {
+            ItemResponseDto item = ItemResponseDto.builder()
+                .id((long) i)
+                .name("Дрель " + i)
+                .description("Аккумуляторная дрель с двумя батареями и набором сверл")
+                .available(true)
+                .ownerId(1L)
+                .build();
+            page.add(BookingResponseDto.builder()
+                .id((long) i)
+                .start(start.plusDays(i))
+                .end(start.plusDays(i + 1))
+                .item(item)
+                .booker(booker)
+                .status(BookingStatus.APPROVED)
+                .build());
+        }
+    }
+
+    @Benchmark
+    public byte[] writeBookings() throws JsonProcessingException {
+        return writer.writeValueAsBytes(page);
+    }
+}
@@ -0,0 +1,85 @@
+package ru.practicum.shareit.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import ru.practicum.shareit.item.dto.ItemResponseDto;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Обработка ответа сервера в BaseClient шлюза: прежний разбор тела в дерево Object с повторной
+ * сериализацией против передачи байтов как есть. Классы шлюза нельзя положить в один classpath
+ * с сервером (совпадают имена пакетов и классов), поэтому оба пути воспроизведены здесь.
+ * Аллокации на запрос видны при запуске с {@code -prof gc}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class GatewayResponseBenchmark {
+    @Param({"1", "100"})
+    int items;
+
+    private ObjectMapper objectMapper;
+    private HttpHeaders serverHeaders;
+    private byte[] body;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        serverHeaders = new HttpHeaders();
+        serverHeaders.setContentType(MediaType.APPLICATION_JSON);
+        serverHeaders.set(HttpHeaders.CONNECTION, "keep-alive");
+        List<ItemResponseDto> list = new ArrayList<>(items);
+        for (int i = 0; i < items; i++) {
+            list.add(ItemResponseDto.builder()
+                .id((long) i)
+                .name("Дрель " + i)
+                .description("Аккумуляторная дрель с двумя батареями и набором сверл")
+                .available(true)
+                .ownerId(1L)
+                .comments(List.of())
+                .build());
+        }
+        body = objectMapper.writeValueAsBytes(items == 1 ? list.get(0) : list);
+    }
+
+    @Benchmark
+    public byte[] parseAndRewrite() throws IOException {
+        Object tree = objectMapper.readValue(body, Object.class);
+        ResponseEntity<Object> response = ResponseEntity.status(HttpStatus.OK).body(tree);
+        return objectMapper.writeValueAsBytes(response.getBody());
+    }
+
+    @Benchmark
+    public ResponseEntity<Object> passThrough() {
+        HttpHeaders headers = new HttpHeaders();
+        serverHeaders.forEach((name, values) -> {
+            if (!HttpHeaders.CONNECTION.equalsIgnoreCase(name)) {
+                headers.addAll(name, values);
+            }
+        });
+        return new ResponseEntity<>(body, headers, HttpStatus.OK);
+    }
+}
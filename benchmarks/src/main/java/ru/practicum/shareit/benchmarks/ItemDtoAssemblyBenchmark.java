@@ -0,0 +1,100 @@
+package ru.practicum.shareit.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.item.comment.Comment;
+import ru.practicum.shareit.item.comment.CommentRepository;
+import ru.practicum.shareit.item.dto.ItemResponseDto;
+import ru.practicum.shareit.user.User;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Сборка списка вещей владельца с последним и следующим бронированием и комментариями
+ * (ItemServiceImpl.getItemDto через findAllItemsByOwner).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class ItemDtoAssemblyBenchmark {
+    private static final int ITEMS = 100;
+    private static final int BOOKINGS_PER_ITEM = 10;
+    private static final int COMMENTS_PER_ITEM = 3;
+
+    @Param({"10", "100"})
+    int pageSize;
+
+    private ConfigurableApplicationContext context;
+    private ItemService itemService;
+    private Long ownerId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = ServerContext.start();
+        itemService = context.getBean(ItemService.class);
+        BenchmarkData data = new BenchmarkData(context);
+
+        List<User> users = data.users(2);
+        User owner = users.get(0);
+        User booker = users.get(1);
+        ownerId = owner.getId();
+        List<Item> items = data.save(context.getBean(ItemRepository.class), ITEMS, i -> Item.builder()
+            .name(data.itemName(2, i))
+            .description(data.phrase(6))
+            .available(true)
+            .owner(owner)
+            .build());
+
+        // Половина бронирований каждой вещи в прошлом, половина в будущем.
+        LocalDateTime now = LocalDateTime.now();
+        data.insert(context.getBean(BookingRepository.class), ITEMS * BOOKINGS_PER_ITEM, i -> {
+            LocalDateTime start = now.plusDays(2L * (i % BOOKINGS_PER_ITEM - BOOKINGS_PER_ITEM / 2));
+            return Booking.builder()
+                .start(start)
+                .end(start.plusDays(1))
+                .item(items.get(i / BOOKINGS_PER_ITEM))
+                .booker(booker)
+                .status(BookingStatus.APPROVED)
+                .build();
+        });
+        data.insert(context.getBean(CommentRepository.class), ITEMS * COMMENTS_PER_ITEM, i -> Comment.builder()
+            .text(data.phrase(8))
+            .item(items.get(i / COMMENTS_PER_ITEM))
+            .author(booker)
+            .created(now.minusDays(1))
+            .build());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<ItemResponseDto> findAllItemsByOwner() {
+        return itemService.findAllItemsByOwner(ownerId, 0, pageSize);
+    }
+}
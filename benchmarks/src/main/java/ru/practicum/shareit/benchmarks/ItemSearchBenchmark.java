@@ -0,0 +1,86 @@
+package ru.practicum.shareit.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.search.ItemSearchIndex;
+import ru.practicum.shareit.user.User;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Поиск вещей: запрос LIKE к H2 (ItemRepository.search) против инвертированного индекса в памяти.
+ * Режим SampleTime дает p50/p99 в результатах. Объем до миллиона вещей задается через {@code -p items=1000000}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class ItemSearchBenchmark {
+    private static final String[] QUERIES = {"дрель", "пила", "туристический", "camera", "склад", "велосипед"};
+
+    @Param({"10000", "100000"})
+    int items;
+
+    private final Pageable page = PageRequest.of(0, 20);
+    private ConfigurableApplicationContext context;
+    private ItemRepository itemRepository;
+    private ItemSearchIndex itemSearchIndex;
+    private int query;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = ServerContext.start();
+        itemRepository = context.getBean(ItemRepository.class);
+        itemSearchIndex = context.getBean(ItemSearchIndex.class);
+        BenchmarkData data = new BenchmarkData(context);
+
+        List<User> owners = data.users(100);
+        data.insert(itemRepository, items, i -> Item.builder()
+            .name(data.itemName(2, i))
+            .description(data.phrase(8))
+            .available(i % 10 != 0)
+            .owner(owners.get(i % owners.size()))
+            .build());
+        itemSearchIndex.rebuild();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Page<Item> databaseLike() {
+        return itemRepository.search(nextQuery(), page);
+    }
+
+    @Benchmark
+    public List<Long> searchIndex() {
+        return itemSearchIndex.search(nextQuery());
+    }
+
+    private String nextQuery() {
+        query = (query + 1) % QUERIES.length;
+        return QUERIES[query];
+    }
+}
@@ -0,0 +1,101 @@
+package ru.practicum.shareit.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingMapper;
+import ru.practicum.shareit.booking.BookingMapperImpl;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.booking.dto.BookingItemDto;
+import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.item.ItemMapper;
+import ru.practicum.shareit.item.ItemMapperImpl;
+import ru.practicum.shareit.item.comment.CommentDto;
+import ru.practicum.shareit.item.comment.CommentMapperImpl;
+import ru.practicum.shareit.item.dto.ItemResponseDto;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserMapperImpl;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Маппинг MapStruct на горячих путях: бронирование в ответ API и вещь с бронированиями и комментариями.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class MapperBenchmark {
+    private AnnotationConfigApplicationContext context;
+    private BookingMapper bookingMapper;
+    private ItemMapper itemMapper;
+    private Booking booking;
+    private Item item;
+    private BookingItemDto lastBooking;
+    private BookingItemDto nextBooking;
+    private List<CommentDto> comments;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new AnnotationConfigApplicationContext(UserMapperImpl.class, ItemMapperImpl.class,
+            CommentMapperImpl.class, BookingMapperImpl.class);
+        bookingMapper = context.getBean(BookingMapper.class);
+        itemMapper = context.getBean(ItemMapper.class);
+
+        LocalDateTime now = LocalDateTime.of(2030, 1, 1, 10, 0);
+        User owner = User.builder().id(1L).name("owner").email("owner@shareit.ru").build();
+        User booker = User.builder().id(2L).name("booker").email("booker@shareit.ru").build();
+        item = Item.builder()
+            .id(1L)
+            .name("Дрель аккумуляторная")
+            .description("Аккумуляторная дрель с двумя батареями и набором сверл")
+            .available(true)
+            .owner(owner)
+            .build();
+        booking = Booking.builder()
+            .id(1L)
+            .start(now)
+            .end(now.plusDays(1))
+            .item(item)
+            .booker(booker)
+            .status(BookingStatus.APPROVED)
+            .build();
+        lastBooking = itemMapper.toBookingItemDto(booking);
+        nextBooking = itemMapper.toBookingItemDto(booking);
+        comments = List.of(
+            new CommentDto(1L, "Отличная дрель", booker.getName(), now.minusDays(3)),
+            new CommentDto(2L, "Батареи держат долго", booker.getName(), now.minusDays(2)),
+            new CommentDto(3L, "Сверла в комплекте", booker.getName(), now.minusDays(1)));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public BookingResponseDto toBookingResponseDto() {
+        return bookingMapper.toBookingResponseDto(booking);
+    }
+
+    @Benchmark
+    public ItemResponseDto toItemResponseDto() {
+        return itemMapper.toItemResponseDto(item, lastBooking, nextBooking, comments);
+    }
+}
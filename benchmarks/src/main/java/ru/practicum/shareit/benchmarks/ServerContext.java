@@ -0,0 +1,37 @@
+package ru.practicum.shareit.benchmarks;
+
+import org.springframework.boot.Banner;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import ru.practicum.shareit.ShareItServer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Контекст сервера ShareIt без веб-сервера на встроенной H2, как в тестах. Каждый запуск получает
+ * собственную базу, поэтому параметры бенчмарка не делят данные между собой.
+ */
+final class ServerContext {
+    private ServerContext() {
+    }
+
+    /**
+     * @param properties дополнительные свойства в виде {@code name=value}
+     */
+    static ConfigurableApplicationContext start(String... properties) {
+        List<String> args = new ArrayList<>(List.of(
+            "--spring.datasource.url=jdbc:h2:mem:bench-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1",
+            "--logging.level.root=WARN"));
+        Arrays.stream(properties).map(property -> "--" + property).forEach(args::add);
+        return new SpringApplicationBuilder(ShareItServer.class)
+            .web(WebApplicationType.NONE)
+            .bannerMode(Banner.Mode.OFF)
+            .logStartupInfo(false)
+            .profiles("test")
+            .run(args.toArray(new String[0]));
+    }
+}
@@ -0,0 +1,81 @@
+package ru.practicum.shareit.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserExistenceGuard;
+import ru.practicum.shareit.user.UserRepository;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Проверка существования пользователя из заголовка X-Sharer-User-Id: множество id в памяти
+ * против existsById.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class UserExistenceBenchmark {
+    private static final int PROBES = 1024;
+
+    @Param({"10000"})
+    int users;
+
+    private ConfigurableApplicationContext context;
+    private UserExistenceGuard userExistenceGuard;
+    private UserRepository userRepository;
+    private final Long[] probeIds = new Long[PROBES];
+    private int probe;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = ServerContext.start();
+        userExistenceGuard = context.getBean(UserExistenceGuard.class);
+        userRepository = context.getBean(UserRepository.class);
+        BenchmarkData data = new BenchmarkData(context);
+
+        List<User> saved = data.users(users);
+        Random random = data.random();
+        for (int i = 0; i < PROBES; i++) {
+            probeIds[i] = saved.get(random.nextInt(saved.size())).getId();
+        }
+        userExistenceGuard.load();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public boolean existenceGuard() {
+        return userExistenceGuard.exists(nextProbe());
+    }
+
+    @Benchmark
+    public boolean existsById() {
+        return userRepository.existsById(nextProbe());
+    }
+
+    private Long nextProbe() {
+        probe = (probe + 1) & (PROBES - 1);
+        return probeIds[probe];
+    }
+}
@@ -1,17 +1,22 @@
 package ru.practicum.shareit.booking;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.booking.dto.BookingDecisionDto;
 import ru.practicum.shareit.booking.dto.BookingRequestDto;
 import ru.practicum.shareit.booking.enums.BookingState;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.RequestCoalescer;
+import ru.practicum.shareit.client.ServerTransportFactory;
 
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 @Slf4j
@@ -21,44 +26,68 @@ public class BookingClient extends BaseClient {
     private static final String API_PREFIX = "/bookings";
 
     @Autowired
-    public BookingClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
-        super(
-            builder
-                .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                .build()
-        );
+    public BookingClient(ServerTransportFactory transports, RequestCoalescer coalescer,
+        MeterRegistry meterRegistry) {
+        super(API_PREFIX, transports, coalescer, meterRegistry);
     }
 
-    public ResponseEntity<Object> bookItem(BookingRequestDto bookingDto, Long userId) {
+    public Mono<ResponseEntity<Object>> bookItem(BookingRequestDto bookingDto, Long userId) {
         return post("", userId, null, bookingDto);
     }
 
-    public ResponseEntity<Object> update(Long bookingId, long userId, boolean approved) {
+    public Mono<ResponseEntity<Object>> update(Long bookingId, long userId, boolean approved) {
         log.info("approved={}", approved);
         return patch("/" + bookingId + "?approved=" + approved, userId);
     }
 
-    public ResponseEntity<Object> getBooking(Long bookingId, Long userId) {
+    public Mono<ResponseEntity<Object>> updateAll(List<BookingDecisionDto> decisions, long userId) {
+        return patch("", userId, decisions);
+    }
+
+    public Mono<ResponseEntity<Object>> getBooking(Long bookingId, Long userId) {
         return get("/" + bookingId, userId);
     }
 
-    public ResponseEntity<Object> getBookingByUser(Long userId, BookingState bookingState, Integer from, Integer size) {
-        Map<String, Object> parameters = Map.of(
-            "state", bookingState.name(),
-            "from", from,
-            "size", size
-        );
+    public Mono<ResponseEntity<Object>> getBookingByUser(Long userId, BookingState bookingState, Integer from, Integer size,
+                                                         String after) {
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("state", bookingState.name());
+        parameters.put("from", from);
+        parameters.put("size", size);
+        if (after != null) {
+            parameters.put("after", after);
+            return get("?state={state}&size={size}&after={after}", userId, parameters);
+        }
         return get("?state={state}&from={from}&size={size}", userId, parameters);
     }
 
-    public ResponseEntity<Object> getBookingByOwner(Long ownerId, BookingState bookingState, Integer from,
-                                                    Integer size) {
-        Map<String, Object> parameters = Map.of(
-            "state", bookingState.name(),
-            "from", from,
-            "size", size
-        );
+    public Mono<ResponseEntity<Object>> getBookingByOwner(Long ownerId, BookingState bookingState, Integer from,
+                                                          Integer size, String after) {
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("state", bookingState.name());
+        parameters.put("from", from);
+        parameters.put("size", size);
+        if (after != null) {
+            parameters.put("after", after);
+            return get("/owner?state={state}&size={size}&after={after}", ownerId, parameters);
+        }
         return get("/owner?state={state}&from={from}&size={size}", ownerId, parameters);
     }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> exportByUser(Long userId, BookingState bookingState, String format) {
+        return getStream("/export?state={state}&format={format}", userId, exportParameters(bookingState, format));
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> exportByOwner(Long ownerId, BookingState bookingState,
+                                                                String format) {
+        return getStream("/owner/export?state={state}&format={format}", ownerId,
+            exportParameters(bookingState, format));
+    }
+
+    private static Map<String, Object> exportParameters(BookingState bookingState, String format) {
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("state", bookingState.name());
+        parameters.put("format", format);
+        return parameters;
+    }
 }
@@ -13,13 +13,18 @@ import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.booking.dto.BookingDecisionDto;
 import ru.practicum.shareit.booking.dto.BookingRequestDto;
 import ru.practicum.shareit.booking.enums.BookingState;
 
 import javax.validation.Valid;
+import javax.validation.constraints.NotEmpty;
 import javax.validation.constraints.NotNull;
 import javax.validation.constraints.Positive;
 import javax.validation.constraints.PositiveOrZero;
+import javax.validation.constraints.Size;
+import java.util.List;
 
 import static ru.practicum.shareit.constants.Constants.X_SHARER_USER_ID;
 
@@ -29,55 +34,67 @@ import static ru.practicum.shareit.constants.Constants.X_SHARER_USER_ID;
 @RequestMapping(path = "/bookings")
 @Validated
 public class BookingController {
+    private static final int MAX_DECISIONS = 1000;
 
     private final BookingClient bookingClient;
 
     @PostMapping
-    public ResponseEntity<Object> bookItem(@RequestHeader(X_SHARER_USER_ID) @NotNull Long userId,
-                                           @RequestBody @Valid BookingRequestDto bookingDto
+    public Mono<ResponseEntity<Object>> bookItem(@RequestHeader(X_SHARER_USER_ID) @NotNull Long userId,
+                                                 @RequestBody @Valid BookingRequestDto bookingDto
     ) {
         log.info("Запрос на бронирование: {}, userId {}", bookingDto, userId);
         return bookingClient.bookItem(bookingDto, userId);
     }
 
     @PatchMapping("/{bookingId}")
-    public ResponseEntity<Object> update(@RequestHeader(X_SHARER_USER_ID) Long userId,
-                                         @PathVariable Long bookingId,
-                                         @RequestParam Boolean approved) {
+    public Mono<ResponseEntity<Object>> update(@RequestHeader(X_SHARER_USER_ID) Long userId,
+                                               @PathVariable Long bookingId,
+                                               @RequestParam Boolean approved) {
         log.info("Подтверждение или отклонение запроса на бронирование: " +
             "Бронирование c id: {}, пользователя с id: {}, approved: {}", bookingId, userId, approved);
         return bookingClient.update(bookingId, userId, approved);
     }
 
+    @PatchMapping
+    public Mono<ResponseEntity<Object>> updateAll(@RequestHeader(X_SHARER_USER_ID) @NotNull Long userId,
+                                                  @RequestBody @NotEmpty @Size(max = MAX_DECISIONS)
+                                                  List<@Valid BookingDecisionDto> decisions) {
+        log.info("Пакетное подтверждение или отклонение {} бронирований пользователем с id: {}", decisions.size(),
+            userId);
+        return bookingClient.updateAll(decisions, userId);
+    }
+
     @GetMapping("/{bookingId}")
-    public ResponseEntity<Object> getBooking(@RequestHeader(X_SHARER_USER_ID) @NotNull Long userId,
-                                             @PathVariable Long bookingId
+    public Mono<ResponseEntity<Object>> getBooking(@RequestHeader(X_SHARER_USER_ID) @NotNull Long userId,
+                                                   @PathVariable Long bookingId
     ) {
         log.info("Запрос бронирования по id: {}, пользователем с id: {}", bookingId, userId);
         return bookingClient.getBooking(bookingId, userId);
     }
 
     @GetMapping
-    public ResponseEntity<Object> getBookingsByUser(@RequestHeader(X_SHARER_USER_ID) @NotNull Long userId,
-                                                    @RequestParam(required = false, defaultValue = "ALL") String state,
-                                                    @Valid @RequestParam(defaultValue = "0")
-                                                    @PositiveOrZero Integer from,
-                                                    @Valid @RequestParam(defaultValue = "10") @Positive Integer size
+    public Mono<ResponseEntity<Object>> getBookingsByUser(@RequestHeader(X_SHARER_USER_ID) @NotNull Long userId,
+                                                          @RequestParam(required = false, defaultValue = "ALL") String state,
+                                                          @Valid @RequestParam(defaultValue = "0")
+                                                          @PositiveOrZero Integer from,
+                                                          @Valid @RequestParam(defaultValue = "10") @Positive Integer size,
+                                                          @RequestParam(required = false) String after
     ) {
         log.info("Получение списка всех бронирований текущего пользователя id: {}, state: {}", userId, state);
-        return bookingClient.getBookingByUser(userId, BookingState.stateValid(state), from, size);
+        return bookingClient.getBookingByUser(userId, BookingState.stateValid(state), from, size, after);
     }
 
     @GetMapping("/owner")
-    public ResponseEntity<Object> getBookingsByOwner(@RequestHeader(X_SHARER_USER_ID) @NotNull Long ownerId,
-                                                     @RequestParam(required = false, defaultValue = "ALL") String state,
-                                                     @Valid @RequestParam(defaultValue = "0")
-                                                     @PositiveOrZero Integer from,
-                                                     @Valid @RequestParam(defaultValue = "10") @Positive Integer size
+    public Mono<ResponseEntity<Object>> getBookingsByOwner(@RequestHeader(X_SHARER_USER_ID) @NotNull Long ownerId,
+                                                           @RequestParam(required = false, defaultValue = "ALL") String state,
+                                                           @Valid @RequestParam(defaultValue = "0")
+                                                           @PositiveOrZero Integer from,
+                                                           @Valid @RequestParam(defaultValue = "10") @Positive Integer size,
+                                                           @RequestParam(required = false) String after
     ) {
         log.info("Получение списка бронирований для всех вещей текущего пользователя id: {}, state: {}", ownerId,
             state);
-        return bookingClient.getBookingByOwner(ownerId, BookingState.stateValid(state), from, size);
+        return bookingClient.getBookingByOwner(ownerId, BookingState.stateValid(state), from, size, after);
     }
 
 }
@@ -0,0 +1,69 @@
+package ru.practicum.shareit.booking;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import ru.practicum.shareit.booking.enums.BookingState;
+
+import javax.servlet.http.HttpServletResponse;
+import javax.validation.constraints.NotNull;
+import java.io.IOException;
+
+import static ru.practicum.shareit.constants.Constants.X_SHARER_USER_ID;
+
+/**
+ * Выгрузка бронирований в блокирующем режиме. Ответ сервера не собирается в памяти шлюза:
+ * каждая полученная порция сразу пишется в ответ клиенту.
+ */
+@Slf4j
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/bookings")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@Validated
+public class BookingExportController {
+    private final BookingClient bookingClient;
+
+    @GetMapping("/export")
+    public void exportByUser(@RequestHeader(X_SHARER_USER_ID) @NotNull Long userId,
+                             @RequestParam(required = false, defaultValue = "ALL") String state,
+                             @RequestParam(defaultValue = "ndjson") String format,
+                             HttpServletResponse response) throws IOException {
+        log.info("Выгрузка бронирований пользователя id: {}, state: {}, format: {}", userId, state, format);
+        write(bookingClient.exportByUser(userId, BookingState.stateValid(state), format).block(), response);
+    }
+
+    @GetMapping("/owner/export")
+    public void exportByOwner(@RequestHeader(X_SHARER_USER_ID) @NotNull Long ownerId,
+                              @RequestParam(required = false, defaultValue = "ALL") String state,
+                              @RequestParam(defaultValue = "ndjson") String format,
+                              HttpServletResponse response) throws IOException {
+        log.info("Выгрузка бронирований для вещей пользователя id: {}, state: {}, format: {}", ownerId, state,
+            format);
+        write(bookingClient.exportByOwner(ownerId, BookingState.stateValid(state), format).block(), response);
+    }
+
+    private static void write(ResponseEntity<Flux<DataBuffer>> serverResponse, HttpServletResponse response)
+        throws IOException {
+        response.setStatus(serverResponse.getStatusCodeValue());
+        serverResponse.getHeaders().forEach((name, values) -> values.forEach(value -> response.addHeader(name, value)));
+        Flux<DataBuffer> body = serverResponse.getBody();
+        if (body == null) {
+            return;
+        }
+        DataBufferUtils.write(body, response.getOutputStream())
+            .doOnNext(DataBufferUtils::release)
+            .then()
+            .block();
+    }
+}
@@ -0,0 +1,52 @@
+package ru.practicum.shareit.booking;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.booking.enums.BookingState;
+
+import javax.validation.constraints.NotNull;
+
+import static ru.practicum.shareit.constants.Constants.X_SHARER_USER_ID;
+
+/**
+ * Выгрузка бронирований в неблокирующем режиме: буферы ответа сервера передаются клиенту по мере получения.
+ */
+@Slf4j
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/bookings")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@Validated
+public class ReactiveBookingExportController {
+    private final BookingClient bookingClient;
+
+    @GetMapping("/export")
+    public Mono<ResponseEntity<Flux<DataBuffer>>> exportByUser(
+        @RequestHeader(X_SHARER_USER_ID) @NotNull Long userId,
+        @RequestParam(required = false, defaultValue = "ALL") String state,
+        @RequestParam(defaultValue = "ndjson") String format) {
+        log.info("Выгрузка бронирований пользователя id: {}, state: {}, format: {}", userId, state, format);
+        return bookingClient.exportByUser(userId, BookingState.stateValid(state), format);
+    }
+
+    @GetMapping("/owner/export")
+    public Mono<ResponseEntity<Flux<DataBuffer>>> exportByOwner(
+        @RequestHeader(X_SHARER_USER_ID) @NotNull Long ownerId,
+        @RequestParam(required = false, defaultValue = "ALL") String state,
+        @RequestParam(defaultValue = "ndjson") String format) {
+        log.info("Выгрузка бронирований для вещей пользователя id: {}, state: {}, format: {}", ownerId, state,
+            format);
+        return bookingClient.exportByOwner(ownerId, BookingState.stateValid(state), format);
+    }
+}
@@ -0,0 +1,33 @@
+package ru.practicum.shareit.client;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Маршруты шлюза, для которых одинаковые одновременные GET-запросы объединяются в один запрос к серверу.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit-server.coalescing")
+public class CoalescingProperties {
+    private boolean enabled = true;
+    private Map<String, Route> routes = new LinkedHashMap<>();
+
+    @Getter
+    @Setter
+    public static class Route {
+        /**
+         * Шаблон пути на сервере в формате {@link org.springframework.util.AntPathMatcher}, например /items/{itemId}.
+         */
+        private String pattern;
+        private boolean enabled = true;
+        /**
+         * Ответ зависит от X-Sharer-User-Id, поэтому запросы разных пользователей не объединяются.
+         */
+        private boolean perUser = true;
+    }
+}
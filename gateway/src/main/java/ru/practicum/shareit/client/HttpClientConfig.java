@@ -0,0 +1,101 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.pool.PoolStats;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Общий для всех клиентов шлюза пул HTTP-соединений с сервером в блокирующем режиме (Spring MVC).
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@EnableConfigurationProperties(HttpClientProperties.class)
+public class HttpClientConfig {
+
+    @Bean
+    public PoolingHttpClientConnectionManager shareitServerConnectionManager(HttpClientProperties properties) {
+        PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager(
+            properties.getTimeToLive().toMillis(), TimeUnit.MILLISECONDS);
+        connectionManager.setMaxTotal(properties.getMaxTotal());
+        connectionManager.setDefaultMaxPerRoute(properties.getMaxPerRoute());
+        connectionManager.setValidateAfterInactivity((int) properties.getValidateAfterInactivity().toMillis());
+        return connectionManager;
+    }
+
+    @Bean
+    public CloseableHttpClient shareitServerHttpClient(PoolingHttpClientConnectionManager connectionManager,
+                                                       HttpClientProperties properties) {
+        RequestConfig requestConfig = RequestConfig.custom()
+            .setConnectTimeout((int) properties.getConnectTimeout().toMillis())
+            .setSocketTimeout((int) properties.getReadTimeout().toMillis())
+            .setConnectionRequestTimeout((int) properties.getConnectionRequestTimeout().toMillis())
+            .build();
+        return HttpClients.custom()
+            .setConnectionManager(connectionManager)
+            .setDefaultRequestConfig(requestConfig)
+            .evictExpiredConnections()
+            .evictIdleConnections(properties.getIdleTimeout().toMillis(), TimeUnit.MILLISECONDS)
+            .build();
+    }
+
+    @Bean
+    public ClientHttpRequestFactory shareitServerRequestFactory(CloseableHttpClient shareitServerHttpClient) {
+        return new HttpComponentsClientHttpRequestFactory(shareitServerHttpClient);
+    }
+
+    @Bean
+    public ServerTransportFactory restTemplateTransportFactory(@Value("${shareit-server.url}") String serverUrl,
+                                                               RestTemplateBuilder builder,
+                                                               ClientHttpRequestFactory shareitServerRequestFactory,
+                                                               CloseableHttpClient shareitServerHttpClient) {
+        // Тот же пул соединений, но тело уходит на сервер chunked по мере записи, а не после буферизации.
+        HttpComponentsClientHttpRequestFactory streamingRequestFactory =
+            new HttpComponentsClientHttpRequestFactory(shareitServerHttpClient);
+        streamingRequestFactory.setBufferRequestBody(false);
+        return apiPrefix -> {
+            RestTemplateBuilder prefixed = builder
+                .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + apiPrefix));
+            return new RestTemplateTransport(
+                prefixed.requestFactory(() -> shareitServerRequestFactory).build(),
+                prefixed.requestFactory(() -> streamingRequestFactory).build()
+            );
+        };
+    }
+
+    @Bean
+    public MeterBinder shareitServerConnectionPoolMetrics(PoolingHttpClientConnectionManager connectionManager) {
+        return registry -> {
+            poolGauge(registry, connectionManager, "leased", PoolStats::getLeased);
+            poolGauge(registry, connectionManager, "available", PoolStats::getAvailable);
+            poolGauge(registry, connectionManager, "pending", PoolStats::getPending);
+            poolGauge(registry, connectionManager, "max", PoolStats::getMax);
+        };
+    }
+
+    private static void poolGauge(MeterRegistry registry,
+                                  PoolingHttpClientConnectionManager connectionManager, String state,
+                                  ToDoubleFunction<PoolStats> value) {
+        Gauge.builder("shareit.gateway.http.pool.connections", connectionManager,
+                manager -> value.applyAsDouble(manager.getTotalStats()))
+            .tag("state", state)
+            .description("Соединения пула шлюза с сервером ShareIt")
+            .register(registry);
+    }
+}
@@ -0,0 +1,68 @@
+package ru.practicum.shareit.client;
+
+import io.netty.channel.ChannelOption;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ClientHttpConnector;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+/**
+ * Неблокирующий режим шлюза: Reactor Netty принимает запросы и ходит на сервер через WebClient
+ * на небольшом фиксированном числе event-loop потоков.
+ * Включается свойством {@code spring.main.web-application-type=reactive}.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@EnableConfigurationProperties(HttpClientProperties.class)
+public class ReactiveHttpClientConfig {
+
+    /**
+     * Tomcat тоже есть в classpath, поэтому сервер Netty выбирается явно.
+     */
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+
+    /**
+     * Reactor Netty ограничивает соединения с каждым адресом, а шлюз ходит на один сервер, поэтому
+     * лимит пула - меньшее из max-total и max-per-route, как и в пуле блокирующего режима.
+     */
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider shareitServerConnectionProvider(HttpClientProperties properties) {
+        return ConnectionProvider.builder("shareit-server")
+            .maxConnections(Math.min(properties.getMaxTotal(), properties.getMaxPerRoute()))
+            .pendingAcquireMaxCount(-1)
+            .pendingAcquireTimeout(properties.getConnectionRequestTimeout())
+            .maxIdleTime(properties.getIdleTimeout())
+            .maxLifeTime(properties.getTimeToLive())
+            .evictInBackground(properties.getIdleTimeout())
+            .metrics(true)
+            .build();
+    }
+
+    @Bean
+    public ServerTransportFactory webClientTransportFactory(@Value("${shareit-server.url}") String serverUrl,
+                                                            WebClient.Builder builder,
+                                                            ConnectionProvider shareitServerConnectionProvider,
+                                                            HttpClientProperties properties) {
+        HttpClient httpClient = HttpClient.create(shareitServerConnectionProvider)
+            .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) properties.getConnectTimeout().toMillis())
+            .responseTimeout(properties.getReadTimeout());
+        ClientHttpConnector connector = new ReactorClientHttpConnector(httpClient);
+        return apiPrefix -> new WebClientTransport(
+            builder.clone()
+                .uriBuilderFactory(new DefaultUriBuilderFactory(serverUrl + apiPrefix))
+                .clientConnector(connector)
+                .build()
+        );
+    }
+}
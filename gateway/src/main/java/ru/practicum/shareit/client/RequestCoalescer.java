@@ -0,0 +1,119 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import reactor.core.publisher.Mono;
+
+import java.util.Comparator;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Single-flight для GET-запросов: одновременные одинаковые запросы разделяют один вызов сервера и один ответ.
+ * Ключ запроса - путь, параметры и, для маршрутов с perUser, X-Sharer-User-Id.
+ * Запрос удаляется из ожидающих сразу после ответа сервера, поэтому ответы не кэшируются дольше одного вызова.
+ * Вызов сервера отменяется и запрос удаляется из ожидающих, когда отменили все, кто его ждал.
+ */
+@Slf4j
+@Component
+@EnableConfigurationProperties(CoalescingProperties.class)
+public class RequestCoalescer {
+    private final CoalescingProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private final Map<String, Mono<ResponseEntity<Object>>> inFlight = new ConcurrentHashMap<>();
+
+    public RequestCoalescer(CoalescingProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    public Mono<ResponseEntity<Object>> coalesce(String apiPrefix, String path, @Nullable Long userId,
+                                                 @Nullable Map<String, Object> parameters,
+                                                 Supplier<Mono<ResponseEntity<Object>>> call) {
+        if (!properties.isEnabled()) {
+            return call.get();
+        }
+        String serverPath = apiPrefix + stripQuery(path);
+        String routeName = findRoute(serverPath);
+        if (routeName == null) {
+            return call.get();
+        }
+        CoalescingProperties.Route route = properties.getRoutes().get(routeName);
+        String key = key(apiPrefix + path, route.isPerUser() ? userId : null, parameters);
+
+        return Mono.defer(() -> {
+            counter("shareit.gateway.coalescing.hits", routeName).increment();
+            boolean[] leader = {false};
+            Mono<ResponseEntity<Object>> flight = inFlight.computeIfAbsent(key, k -> {
+                leader[0] = true;
+                return share(k, call.get());
+            });
+            if (!leader[0]) {
+                counter("shareit.gateway.coalescing.coalesced", routeName).increment();
+                log.debug("Запрос {} объединен с уже выполняющимся.", key);
+            }
+            return flight;
+        });
+    }
+
+    /**
+     * Подписчики разделяют одну подписку на вызов сервера: refCount отменяет ее, когда отписались все.
+     * Ключ удаляется только вместе со своим вызовом, чтобы не удалить уже начатый следующий.
+     */
+    private Mono<ResponseEntity<Object>> share(String key, Mono<ResponseEntity<Object>> call) {
+        AtomicReference<Mono<ResponseEntity<Object>>> flight = new AtomicReference<>();
+        flight.set(Mono.from(call
+            .doFinally(signal -> inFlight.remove(key, flight.get()))
+            .flux()
+            .publish()
+            .refCount()));
+        return flight.get();
+    }
+
+    @Nullable
+    private String findRoute(String serverPath) {
+        Comparator<String> specificity = pathMatcher.getPatternComparator(serverPath);
+        String found = null;
+        for (Map.Entry<String, CoalescingProperties.Route> route : properties.getRoutes().entrySet()) {
+            String pattern = route.getValue().getPattern();
+            if (!route.getValue().isEnabled() || pattern == null || !pathMatcher.match(pattern, serverPath)) {
+                continue;
+            }
+            if (found == null
+                || specificity.compare(pattern, properties.getRoutes().get(found).getPattern()) < 0) {
+                found = route.getKey();
+            }
+        }
+        return found;
+    }
+
+    private Counter counter(String name, String routeName) {
+        return meterRegistry.counter(name, "route", routeName);
+    }
+
+    private static String stripQuery(String path) {
+        int query = path.indexOf('?');
+        return query < 0 ? path : path.substring(0, query);
+    }
+
+    private static String key(String path, @Nullable Long userId, @Nullable Map<String, Object> parameters) {
+        StringBuilder key = new StringBuilder(path);
+        if (parameters != null) {
+            key.append(' ').append(new TreeMap<>(parameters));
+        }
+        if (userId != null) {
+            key.append(" user=").append(userId);
+        }
+        return key.toString();
+    }
+}
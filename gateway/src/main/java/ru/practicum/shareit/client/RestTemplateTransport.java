@@ -0,0 +1,131 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.StreamingHttpOutputMessage;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.lang.Nullable;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.RestTemplate;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URI;
+import java.util.Map;
+
+/**
+ * Блокирующая доставка: запрос выполняется в потоке подписчика, то есть в рабочем потоке Tomcat.
+ */
+public class RestTemplateTransport implements ServerTransport {
+    private static final int CHUNK_SIZE = 8192;
+
+    private final RestTemplate rest;
+    private final RestTemplate streamingRest;
+
+    /**
+     * @param streamingRest шаблон на фабрике без буферизации тела, для {@link #exchangeStream}
+     */
+    public RestTemplateTransport(RestTemplate rest, RestTemplate streamingRest) {
+        this.rest = rest;
+        this.streamingRest = streamingRest;
+    }
+
+    @Override
+    public Mono<ResponseEntity<Object>> exchange(HttpMethod method, String path, HttpHeaders headers,
+                                                 @Nullable Map<String, Object> parameters, @Nullable Object body) {
+        return Mono.fromCallable(() -> send(method, path, headers, parameters, body));
+    }
+
+    @Override
+    public Mono<ResponseEntity<Object>> exchangeStream(HttpMethod method, String path, HttpHeaders headers,
+                                                       Flux<DataBuffer> body) {
+        return Mono.fromCallable(() -> sendStream(method, path, headers, body));
+    }
+
+    @Override
+    public Mono<ResponseEntity<Flux<DataBuffer>>> exchangeForStream(HttpMethod method, String path,
+                                                                    HttpHeaders headers,
+                                                                    @Nullable Map<String, Object> parameters) {
+        return Mono.fromCallable(() -> receiveStream(method, path, headers, parameters));
+    }
+
+    /**
+     * Ответ сервера не читается целиком: тело отдается порциями из потока соединения,
+     * которое закрывается после того, как тело дочитано или подписка отменена.
+     */
+    private ResponseEntity<Flux<DataBuffer>> receiveStream(HttpMethod method, String path, HttpHeaders headers,
+                                                           @Nullable Map<String, Object> parameters)
+        throws IOException {
+        URI uri = parameters != null
+            ? streamingRest.getUriTemplateHandler().expand(path, parameters)
+            : streamingRest.getUriTemplateHandler().expand(path);
+        ClientHttpRequest request = streamingRest.getRequestFactory().createRequest(uri, method);
+        request.getHeaders().addAll(headers);
+        ClientHttpResponse response = request.execute();
+        try {
+            Flux<DataBuffer> body = DataBufferUtils.readInputStream(response::getBody,
+                    DefaultDataBufferFactory.sharedInstance, CHUNK_SIZE)
+                .doFinally(signal -> response.close());
+            return new ResponseEntity<>(body, ServerResponses.passThroughHeaders(response.getHeaders()),
+                response.getStatusCode());
+        } catch (IOException | RuntimeException e) {
+            response.close();
+            throw e;
+        }
+    }
+
+    private ResponseEntity<Object> sendStream(HttpMethod method, String path, HttpHeaders headers,
+                                              Flux<DataBuffer> body) {
+        try {
+            return streamingRest.execute(path, method,
+                request -> {
+                    request.getHeaders().addAll(headers);
+                    if (request instanceof StreamingHttpOutputMessage) {
+                        ((StreamingHttpOutputMessage) request).setBody(outputStream -> write(body, outputStream));
+                    } else {
+                        write(body, request.getBody());
+                    }
+                },
+                response -> ServerResponses.passThrough(response.getStatusCode(), response.getHeaders(),
+                    StreamUtils.copyToByteArray(response.getBody())));
+        } catch (HttpStatusCodeException e) {
+            return ServerResponses.passThrough(e.getStatusCode(), e.getResponseHeaders(),
+                e.getResponseBodyAsByteArray());
+        }
+    }
+
+    private static void write(Flux<DataBuffer> body, OutputStream outputStream) {
+        DataBufferUtils.write(body, outputStream)
+            .doOnNext(DataBufferUtils::release)
+            .then()
+            .block();
+    }
+
+    private ResponseEntity<Object> send(HttpMethod method, String path, HttpHeaders headers,
+                                        @Nullable Map<String, Object> parameters, @Nullable Object body) {
+        HttpEntity<Object> requestEntity = new HttpEntity<>(body, headers);
+
+        ResponseEntity<byte[]> shareitServerResponse;
+        try {
+            if (parameters != null) {
+                shareitServerResponse = rest.exchange(path, method, requestEntity, byte[].class, parameters);
+            } else {
+                shareitServerResponse = rest.exchange(path, method, requestEntity, byte[].class);
+            }
+        } catch (HttpStatusCodeException e) {
+            return ServerResponses.passThrough(e.getStatusCode(), e.getResponseHeaders(),
+                e.getResponseBodyAsByteArray());
+        }
+        return ServerResponses.passThrough(shareitServerResponse.getStatusCode(), shareitServerResponse.getHeaders(),
+            shareitServerResponse.getBody());
+    }
+}
@@ -0,0 +1,45 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+
+import java.util.Locale;
+import java.util.Set;
+
+final class ServerResponses {
+    private static final Set<String> HOP_BY_HOP_HEADERS = Set.of(
+        "connection", "keep-alive", "proxy-connection", "transfer-encoding", "te", "trailer", "upgrade",
+        "content-length");
+
+    private ServerResponses() {
+    }
+
+    /**
+     * Отдает клиенту статус, заголовки и тело ответа сервера без разбора JSON.
+     */
+    static ResponseEntity<Object> passThrough(HttpStatus status, @Nullable HttpHeaders serverHeaders,
+                                              @Nullable byte[] body) {
+        HttpHeaders headers = passThroughHeaders(serverHeaders);
+        if (body == null || body.length == 0) {
+            return new ResponseEntity<>(headers, status);
+        }
+        return new ResponseEntity<>(body, headers, status);
+    }
+
+    /**
+     * Заголовки ответа сервера без заголовков соединения, которые шлюз выставляет сам.
+     */
+    static HttpHeaders passThroughHeaders(@Nullable HttpHeaders serverHeaders) {
+        HttpHeaders headers = new HttpHeaders();
+        if (serverHeaders != null) {
+            serverHeaders.forEach((name, values) -> {
+                if (!HOP_BY_HOP_HEADERS.contains(name.toLowerCase(Locale.ROOT))) {
+                    headers.addAll(name, values);
+                }
+            });
+        }
+        return headers;
+    }
+}
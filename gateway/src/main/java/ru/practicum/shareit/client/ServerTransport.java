@@ -0,0 +1,32 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+
+/**
+ * Способ доставки запроса шлюза на сервер ShareIt.
+ * Блокирующая реализация работает через {@link RestTemplateTransport}, неблокирующая через {@link WebClientTransport}.
+ */
+public interface ServerTransport {
+    Mono<ResponseEntity<Object>> exchange(HttpMethod method, String path, HttpHeaders headers,
+                                          @Nullable Map<String, Object> parameters, @Nullable Object body);
+
+    /**
+     * Передает тело запроса на сервер по частям, не собирая его в памяти шлюза.
+     */
+    Mono<ResponseEntity<Object>> exchangeStream(HttpMethod method, String path, HttpHeaders headers,
+                                                Flux<DataBuffer> body);
+
+    /**
+     * Отдает тело ответа сервера по частям по мере его получения, не собирая его в памяти шлюза.
+     */
+    Mono<ResponseEntity<Flux<DataBuffer>>> exchangeForStream(HttpMethod method, String path, HttpHeaders headers,
+                                                             @Nullable Map<String, Object> parameters);
+}
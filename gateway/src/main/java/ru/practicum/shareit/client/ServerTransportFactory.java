@@ -0,0 +1,9 @@
+package ru.practicum.shareit.client;
+
+/**
+ * Создает {@link ServerTransport} для ресурса сервера с указанным префиксом пути.
+ */
+@FunctionalInterface
+public interface ServerTransportFactory {
+    ServerTransport create(String apiPrefix);
+}
@@ -0,0 +1,66 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import org.springframework.web.reactive.function.BodyInserters;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+
+/**
+ * Неблокирующая доставка через WebClient: поток не занят, пока сервер готовит ответ.
+ */
+public class WebClientTransport implements ServerTransport {
+    private final WebClient web;
+
+    public WebClientTransport(WebClient web) {
+        this.web = web;
+    }
+
+    @Override
+    public Mono<ResponseEntity<Object>> exchange(HttpMethod method, String path, HttpHeaders headers,
+                                                 @Nullable Map<String, Object> parameters, @Nullable Object body) {
+        WebClient.RequestBodySpec request = parameters != null
+            ? web.method(method).uri(path, parameters)
+            : web.method(method).uri(path);
+        request.headers(requestHeaders -> requestHeaders.addAll(headers));
+
+        WebClient.RequestHeadersSpec<?> spec = body != null ? request.bodyValue(body) : request;
+        return passThrough(spec);
+    }
+
+    @Override
+    public Mono<ResponseEntity<Object>> exchangeStream(HttpMethod method, String path, HttpHeaders headers,
+                                                       Flux<DataBuffer> body) {
+        return passThrough(web.method(method).uri(path)
+            .headers(requestHeaders -> requestHeaders.addAll(headers))
+            .body(BodyInserters.fromDataBuffers(body)));
+    }
+
+    @Override
+    public Mono<ResponseEntity<Flux<DataBuffer>>> exchangeForStream(HttpMethod method, String path,
+                                                                    HttpHeaders headers,
+                                                                    @Nullable Map<String, Object> parameters) {
+        WebClient.RequestBodySpec request = parameters != null
+            ? web.method(method).uri(path, parameters)
+            : web.method(method).uri(path);
+        return request.headers(requestHeaders -> requestHeaders.addAll(headers))
+            .retrieve()
+            .onStatus(HttpStatus::isError, response -> Mono.empty())
+            .toEntityFlux(DataBuffer.class)
+            .map(response -> new ResponseEntity<>(response.getBody(),
+                ServerResponses.passThroughHeaders(response.getHeaders()), response.getStatusCode()));
+    }
+
+    private static Mono<ResponseEntity<Object>> passThrough(WebClient.RequestHeadersSpec<?> spec) {
+        return spec.exchangeToMono(response -> response.toEntity(byte[].class))
+            .map(response -> ServerResponses.passThrough(response.getStatusCode(), response.getHeaders(),
+                response.getBody()));
+    }
+}
@@ -1,11 +1,32 @@
 package ru.practicum.shareit.exception;
 
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.MethodParameter;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.validation.BindingResult;
+import org.springframework.web.bind.MethodArgumentNotValidException;
+import org.springframework.web.bind.MissingRequestHeaderException;
+import org.springframework.web.bind.MissingServletRequestParameterException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.bind.support.WebExchangeBindException;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
+import org.springframework.web.server.ServerWebInputException;
 
+import javax.validation.ConstraintViolation;
+import javax.validation.ConstraintViolationException;
+import java.util.stream.Collectors;
+
+/**
+ * Ошибки разбора и проверки запроса режимы servlet и reactive выбрасывают разными исключениями,
+ * обработчик приводит их к одинаковым статусу и телу ответа.
+ */
 @Slf4j
 @RestControllerAdvice
 public class ErrorHandler {
@@ -45,5 +66,81 @@ public class ErrorHandler {
         return new ErrorResponse(e.getMessage());
     }
 
+    @ExceptionHandler({MethodArgumentNotValidException.class})
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public ErrorResponse handleMethodArgumentNotValidException(MethodArgumentNotValidException e) {
+        return new ErrorResponse(bindingMessage(e.getBindingResult()));
+    }
+
+    @ExceptionHandler({WebExchangeBindException.class})
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public ErrorResponse handleWebExchangeBindException(WebExchangeBindException e) {
+        return new ErrorResponse(bindingMessage(e.getBindingResult()));
+    }
+
+    @ExceptionHandler({ConstraintViolationException.class})
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public ErrorResponse handleConstraintViolationException(ConstraintViolationException e) {
+        return new ErrorResponse(e.getConstraintViolations().stream()
+            .map(ConstraintViolation::getMessage)
+            .sorted()
+            .collect(Collectors.joining("; ")));
+    }
+
+    @ExceptionHandler({MissingRequestHeaderException.class})
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public ErrorResponse handleMissingRequestHeaderException(MissingRequestHeaderException e) {
+        return new ErrorResponse(inputMessage(e.getParameter()));
+    }
+
+    @ExceptionHandler({MissingServletRequestParameterException.class})
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public ErrorResponse handleMissingServletRequestParameterException(MissingServletRequestParameterException e) {
+        return new ErrorResponse("Некорректный параметр " + e.getParameterName() + ".");
+    }
 
+    @ExceptionHandler({MethodArgumentTypeMismatchException.class})
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public ErrorResponse handleMethodArgumentTypeMismatchException(MethodArgumentTypeMismatchException e) {
+        return new ErrorResponse(inputMessage(e.getParameter()));
+    }
+
+    @ExceptionHandler({HttpMessageNotReadableException.class})
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public ErrorResponse handleHttpMessageNotReadableException(HttpMessageNotReadableException e) {
+        return new ErrorResponse(inputMessage(null));
+    }
+
+    @ExceptionHandler({ServerWebInputException.class})
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public ErrorResponse handleServerWebInputException(ServerWebInputException e) {
+        return new ErrorResponse(inputMessage(e.getMethodParameter()));
+    }
+
+    private static String bindingMessage(BindingResult bindingResult) {
+        return bindingResult.getFieldErrors().stream()
+            .map(error -> error.getField() + ": " + error.getDefaultMessage())
+            .sorted()
+            .collect(Collectors.joining("; "));
+    }
+
+    private static String inputMessage(MethodParameter parameter) {
+        if (parameter == null || parameter.hasParameterAnnotation(RequestBody.class)) {
+            return "Некорректное тело запроса.";
+        }
+        RequestHeader header = parameter.getParameterAnnotation(RequestHeader.class);
+        if (header != null) {
+            return "Некорректный заголовок " + name(header.value(), parameter) + ".";
+        }
+        RequestParam param = parameter.getParameterAnnotation(RequestParam.class);
+        if (param != null) {
+            return "Некорректный параметр " + name(param.value(), parameter) + ".";
+        }
+        PathVariable path = parameter.getParameterAnnotation(PathVariable.class);
+        return "Некорректный параметр " + name(path != null ? path.value() : "", parameter) + ".";
+    }
+
+    private static String name(String annotated, MethodParameter parameter) {
+        return annotated.isEmpty() ? parameter.getParameterName() : annotated;
+    }
 }
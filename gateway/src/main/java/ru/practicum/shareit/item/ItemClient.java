@@ -1,15 +1,21 @@
 package ru.practicum.shareit.item;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.RequestCoalescer;
+import ru.practicum.shareit.client.ServerTransportFactory;
 
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -18,32 +24,49 @@ public class ItemClient extends BaseClient {
     private static final String API_PREFIX = "/items";
 
     @Autowired
-    public ItemClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
-        super(
-            builder
-                .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                .build()
-        );
+    public ItemClient(ServerTransportFactory transports, RequestCoalescer coalescer,
+        MeterRegistry meterRegistry) {
+        super(API_PREFIX, transports, coalescer, meterRegistry);
     }
 
-    public ResponseEntity<Object> addItem(ItemResponseDto itemDto, Long userId) {
+    public Mono<ResponseEntity<Object>> addItem(ItemResponseDto itemDto, Long userId) {
         return post("", userId, itemDto);
     }
 
-    public ResponseEntity<Object> addComment(Long itemId, CommentDto commentDto, Long userId) {
+    public Mono<ResponseEntity<Object>> importItems(Flux<DataBuffer> body, MediaType contentType, Long userId) {
+        return postStream("/bulk", userId, contentType, body);
+    }
+
+    public Mono<ResponseEntity<Object>> addComment(Long itemId, CommentDto commentDto, Long userId) {
         return post("/" + itemId + "/comment", userId, commentDto);
     }
 
-    public ResponseEntity<Object> updateItem(Long itemId, ItemResponseDto itemDto, Long userId) {
+    public Mono<ResponseEntity<Object>> updateItem(Long itemId, ItemResponseDto itemDto, Long userId) {
         return patch("/" + itemId, userId, itemDto);
     }
 
-    public ResponseEntity<Object> getItemById(Long itemId, Long userId) {
+    public Mono<ResponseEntity<Object>> getItemById(Long itemId, Long userId) {
         return get("/" + itemId, userId);
     }
 
-    public ResponseEntity<Object> findAllItemsByOwner(Long userId, int from, int size) {
+    public Mono<ResponseEntity<Object>> getAvailability(Long itemId, Long userId, LocalDateTime start,
+                                                        LocalDateTime end) {
+        Map<String, Object> parameters = new HashMap<>();
+        StringBuilder path = new StringBuilder("/" + itemId + "/availability");
+        char separator = '?';
+        if (start != null) {
+            parameters.put("start", start.format(DateTimeFormatter.ISO_LOCAL_DATE_TIME));
+            path.append(separator).append("start={start}");
+            separator = '&';
+        }
+        if (end != null) {
+            parameters.put("end", end.format(DateTimeFormatter.ISO_LOCAL_DATE_TIME));
+            path.append(separator).append("end={end}");
+        }
+        return get(path.toString(), userId, parameters);
+    }
+
+    public Mono<ResponseEntity<Object>> findAllItemsByOwner(Long userId, int from, int size) {
         Map<String, Object> parameters = Map.of(
             "from", from,
             "size", size
@@ -51,9 +74,9 @@ public class ItemClient extends BaseClient {
         return get("?from={from}&size={size}", userId, parameters);
     }
 
-    public ResponseEntity<Object> search(Long userId, String text, int from, int size) {
+    public Mono<ResponseEntity<Object>> search(Long userId, String text, int from, int size) {
         if (text.isBlank()) {
-            return ResponseEntity.status(HttpStatus.OK).body(List.of());
+            return Mono.just(ResponseEntity.status(HttpStatus.OK).body(List.of()));
         }
 
         Map<String, Object> parameters = Map.of(
@@ -3,6 +3,7 @@ package ru.practicum.shareit.item;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -14,9 +15,12 @@ import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.exception.ValidationException;
 
 import javax.validation.constraints.Positive;
 import javax.validation.constraints.PositiveOrZero;
+import java.time.LocalDateTime;
 
 import static ru.practicum.shareit.constants.Constants.X_SHARER_USER_ID;
 
@@ -29,39 +33,52 @@ public class ItemController {
     private final ItemClient itemClient;
 
     @PostMapping
-    public ResponseEntity<Object> addItem(@RequestBody ItemResponseDto itemDto,
-                                          @RequestHeader(X_SHARER_USER_ID) @NonNull Long userId) {
+    public Mono<ResponseEntity<Object>> addItem(@RequestBody ItemResponseDto itemDto,
+                                                @RequestHeader(X_SHARER_USER_ID) @NonNull Long userId) {
         log.info("Запрос создания вещи: {}, userId: {}", itemDto, userId);
         return itemClient.addItem(itemDto, userId);
     }
 
     @PostMapping("/{itemId}/comment")
-    public ResponseEntity<Object> addComment(@PathVariable Long itemId,
-                                             @RequestBody CommentDto commentDto,
-                                             @RequestHeader(X_SHARER_USER_ID) @NonNull Long userId) {
+    public Mono<ResponseEntity<Object>> addComment(@PathVariable Long itemId,
+                                                   @RequestBody CommentDto commentDto,
+                                                   @RequestHeader(X_SHARER_USER_ID) @NonNull Long userId) {
         log.info("Запрос создания комментария: {},itemId {}, userId: {}", itemId, commentDto, userId);
 
         return itemClient.addComment(itemId, commentDto, userId);
     }
 
     @PatchMapping("/{itemId}")
-    public ResponseEntity<Object> updateItem(@PathVariable Long itemId,
-                                             @RequestBody ItemResponseDto itemDto,
-                                             @RequestHeader(X_SHARER_USER_ID) @NonNull Long userId) {
+    public Mono<ResponseEntity<Object>> updateItem(@PathVariable Long itemId,
+                                                   @RequestBody ItemResponseDto itemDto,
+                                                   @RequestHeader(X_SHARER_USER_ID) @NonNull Long userId) {
         log.info("Запрос редактирования вещи c id:{}, item {}, userId {}", itemId, itemDto, userId);
         return itemClient.updateItem(itemId, itemDto, userId);
     }
 
+    @GetMapping("/{itemId}/availability")
+    public Mono<ResponseEntity<Object>> getAvailability(
+        @RequestHeader(X_SHARER_USER_ID) @NonNull Long userId,
+        @PathVariable Long itemId,
+        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime start,
+        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime end) {
+        log.info("Запрос календаря вещи с id: {}, start: {}, end: {}", itemId, start, end);
+        if (start != null && end != null && !end.isAfter(start)) {
+            throw new ValidationException("Окончание диапазона должно быть позже начала.");
+        }
+        return itemClient.getAvailability(itemId, userId, start, end);
+    }
+
     @GetMapping("/{itemId}")
-    public ResponseEntity<Object> getItemById(@RequestHeader(X_SHARER_USER_ID) Long userId,
-                                              @PathVariable Long itemId) {
+    public Mono<ResponseEntity<Object>> getItemById(@RequestHeader(X_SHARER_USER_ID) Long userId,
+                                                    @PathVariable Long itemId) {
         log.info("Запрос вещи по id: {}", itemId);
 
         return itemClient.getItemById(itemId, userId);
     }
 
     @GetMapping
-    public ResponseEntity<Object> getAllItems(
+    public Mono<ResponseEntity<Object>> getAllItems(
         @RequestHeader(X_SHARER_USER_ID) @NonNull Long userId,
         @RequestParam(defaultValue = "0") @PositiveOrZero int from,
         @RequestParam(defaultValue = "10") @Positive int size
@@ -71,7 +88,7 @@ public class ItemController {
     }
 
     @GetMapping("/search")
-    public ResponseEntity<Object> search(
+    public Mono<ResponseEntity<Object>> search(
         @RequestHeader(X_SHARER_USER_ID) @NonNull Long userId,
         @RequestParam String text,
         @RequestParam(defaultValue = "0") @PositiveOrZero int from,
@@ -0,0 +1,47 @@
+package ru.practicum.shareit.item;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+import javax.validation.constraints.NotNull;
+import java.io.InputStream;
+
+import static ru.practicum.shareit.constants.Constants.X_SHARER_USER_ID;
+
+/**
+ * Импорт вещей в блокирующем режиме. Тело запроса не разбирается шлюзом: оно читается порциями
+ * и сразу передается на сервер, который проверяет каждую строку.
+ */
+@Slf4j
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/items")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@Validated
+public class ItemImportController {
+    private static final int CHUNK_SIZE = 8192;
+
+    private final ItemClient itemClient;
+
+    @PostMapping(value = "/bulk", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Mono<ResponseEntity<Object>> importItems(InputStream body,
+                                                    @RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+                                                    @RequestHeader(X_SHARER_USER_ID) @NotNull Long userId) {
+        log.info("Запрос импорта вещей пользователя с id: {}", userId);
+        return itemClient.importItems(
+            DataBufferUtils.readInputStream(() -> body, DefaultDataBufferFactory.sharedInstance, CHUNK_SIZE),
+            contentType, userId);
+    }
+}
@@ -0,0 +1,38 @@
+package ru.practicum.shareit.item;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+import javax.validation.constraints.NotNull;
+
+import static ru.practicum.shareit.constants.Constants.X_SHARER_USER_ID;
+
+/**
+ * Импорт вещей в неблокирующем режиме: буферы тела запроса Netty передаются на сервер без сборки в памяти.
+ */
+@Slf4j
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/items")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@Validated
+public class ReactiveItemImportController {
+    private final ItemClient itemClient;
+
+    @PostMapping(value = "/bulk", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Mono<ResponseEntity<Object>> importItems(ServerHttpRequest request,
+                                                    @RequestHeader(X_SHARER_USER_ID) @NotNull Long userId) {
+        log.info("Запрос импорта вещей пользователя с id: {}", userId);
+        return itemClient.importItems(request.getBody(), request.getHeaders().getContentType(), userId);
+    }
+}
@@ -1,12 +1,12 @@
 package ru.practicum.shareit.request;
 
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.RequestCoalescer;
+import ru.practicum.shareit.client.ServerTransportFactory;
 
 import java.util.Map;
 
@@ -14,24 +14,20 @@ import java.util.Map;
 public class ItemRequestClient extends BaseClient {
     private static final String API_PREFIX = "/requests";
 
-    public ItemRequestClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
-        super(
-            builder
-                .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                .build()
-        );
+    public ItemRequestClient(ServerTransportFactory transports, RequestCoalescer coalescer,
+        MeterRegistry meterRegistry) {
+        super(API_PREFIX, transports, coalescer, meterRegistry);
     }
 
-    public ResponseEntity<Object> addItemRequest(ItemRequestDto itemRequestDto, Long userId) {
+    public Mono<ResponseEntity<Object>> addItemRequest(ItemRequestDto itemRequestDto, Long userId) {
         return post("", userId, itemRequestDto);
     }
 
-    public ResponseEntity<Object> findAllItemRequestByRequestorId(Long userId) {
+    public Mono<ResponseEntity<Object>> findAllItemRequestByRequestorId(Long userId) {
         return get("", userId);
     }
 
-    public ResponseEntity<Object> findAllItemRequests(Long userId, Integer from, Integer size) {
+    public Mono<ResponseEntity<Object>> findAllItemRequests(Long userId, Integer from, Integer size) {
         Map<String, Object> parameters = Map.of(
             "from", from,
             "size", size
@@ -39,7 +35,7 @@ public class ItemRequestClient extends BaseClient {
         return get("/all?from={from}&size={size}", userId, parameters);
     }
 
-    public ResponseEntity<Object> findItemRequestById(Long userId, Long requestId) {
+    public Mono<ResponseEntity<Object>> findItemRequestById(Long userId, Long requestId) {
         return get("/" + requestId, userId);
     }
 }
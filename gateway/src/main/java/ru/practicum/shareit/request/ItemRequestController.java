@@ -12,6 +12,7 @@ import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
 
 import javax.validation.Valid;
 import javax.validation.constraints.NotNull;
@@ -29,7 +30,7 @@ public class ItemRequestController {
     private final ItemRequestClient itemRequestClient;
 
     @PostMapping
-    public ResponseEntity<Object> addItemRequest(
+    public Mono<ResponseEntity<Object>> addItemRequest(
         @RequestHeader(X_SHARER_USER_ID) @NotNull Long userId,
         @Valid @RequestBody ItemRequestDto itemRequestDto
     ) {
@@ -39,7 +40,7 @@ public class ItemRequestController {
     }
 
     @GetMapping
-    public ResponseEntity<Object> getItemRequestByRequestor(
+    public Mono<ResponseEntity<Object>> getItemRequestByRequestor(
         @RequestHeader(X_SHARER_USER_ID) @NotNull Long userId
     ) {
         log.info("GET [http://localhost:8080/requests] : " +
@@ -48,7 +49,7 @@ public class ItemRequestController {
     }
 
     @GetMapping("/all")
-    public ResponseEntity<Object> getAllItemRequests(
+    public Mono<ResponseEntity<Object>> getAllItemRequests(
         @RequestHeader(X_SHARER_USER_ID) @NotNull Long userId,
         @Valid @RequestParam(defaultValue = "0") @PositiveOrZero Integer from,
         @Valid @RequestParam(defaultValue = "10") @Positive Integer size
@@ -59,7 +60,7 @@ public class ItemRequestController {
     }
 
     @GetMapping("/{requestId}")
-    public ResponseEntity<Object> getItemRequestById(
+    public Mono<ResponseEntity<Object>> getItemRequestById(
         @RequestHeader(X_SHARER_USER_ID) @NotNull Long userId,
         @PathVariable Long requestId
     ) {
@@ -11,6 +11,7 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
 
 import javax.validation.Valid;
 
@@ -22,34 +23,34 @@ public class UserController {
     private final UserClient userClient;
 
     @PostMapping
-    public ResponseEntity<Object> addUser(@RequestBody @Valid UserDto userDto) {
+    public Mono<ResponseEntity<Object>> addUser(@RequestBody @Valid UserDto userDto) {
         log.info("POST [http://localhost:8080/users] : Запрос добавления пользователя: {}", userDto);
         return userClient.addUser(userDto);
     }
 
     @PatchMapping("/{userId}")
-    public ResponseEntity<Object> updateUser(@PathVariable Long userId,
-                                             @RequestBody UserDto userDto) {
+    public Mono<ResponseEntity<Object>> updateUser(@PathVariable Long userId,
+                                                   @RequestBody UserDto userDto) {
         log.info("PATCH [http://localhost:8080/users/{}] : Запрос редактирования пользователя с id: {} : {}", userId,
             userId, userDto);
         return userClient.updateUser(userId, userDto);
     }
 
     @GetMapping("/{userId}")
-    public ResponseEntity<Object> getUserById(@PathVariable Long userId) {
+    public Mono<ResponseEntity<Object>> getUserById(@PathVariable Long userId) {
         log.info("GET [http://localhost:8080/users/{}] : Запрос получения пользователя по id", userId);
         return userClient.findUserById(userId);
     }
 
     @GetMapping
-    public ResponseEntity<Object> getAllUsers() {
+    public Mono<ResponseEntity<Object>> getAllUsers() {
         log.info("GET [http://localhost:8080/users] : Запрос списка всех пользователей");
         return userClient.findAllUsers();
     }
 
     @DeleteMapping("/{userId}")
-    public void deleteUserById(@PathVariable Long userId) {
+    public Mono<Void> deleteUserById(@PathVariable Long userId) {
         log.info("DELETE [http://localhost:8080/users/{}] : Запрос удаления пользователя по id", userId);
-        userClient.deleteUserById(userId);
+        return userClient.deleteUserById(userId).then();
     }
 }
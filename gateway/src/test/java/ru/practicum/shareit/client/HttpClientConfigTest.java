@@ -0,0 +1,87 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import reactor.netty.resources.ConnectionProvider;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+@SpringBootTest(properties = {
+    "shareit-server.http-client.max-total=7",
+    "shareit-server.http-client.max-per-route=5"
+})
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class HttpClientConfigTest {
+    private final PoolingHttpClientConnectionManager connectionManager;
+    private final CloseableHttpClient shareitServerHttpClient;
+    private final ClientHttpRequestFactory shareitServerRequestFactory;
+    private final MeterRegistry meterRegistry;
+
+    private double poolGauge(String state) {
+        return meterRegistry.get("shareit.gateway.http.pool.connections").tag("state", state).gauge().value();
+    }
+
+    @Nested
+    @DisplayName("Пул соединений блокирующего режима")
+    class Pool {
+        @Test
+        @DisplayName("Лимиты пула берутся из настроек")
+        public void shouldConfigurePoolLimits() {
+            assertEquals(7, connectionManager.getMaxTotal());
+            assertEquals(5, connectionManager.getDefaultMaxPerRoute());
+        }
+
+        @Test
+        @DisplayName("RestTemplate ходит на сервер через пул")
+        public void shouldUsePooledHttpClient() {
+            HttpComponentsClientHttpRequestFactory requestFactory =
+                assertInstanceOf(HttpComponentsClientHttpRequestFactory.class, shareitServerRequestFactory);
+
+            assertSame(shareitServerHttpClient, requestFactory.getHttpClient());
+        }
+
+        @Test
+        @DisplayName("Состояние пула публикуется метриками")
+        public void shouldRegisterPoolGauges() {
+            assertEquals(7, poolGauge("max"));
+            assertEquals(0, poolGauge("leased"));
+            assertEquals(0, poolGauge("available"));
+            assertEquals(0, poolGauge("pending"));
+        }
+    }
+
+    @Nested
+    @DisplayName("Пул соединений неблокирующего режима")
+    class ReactivePool {
+        @Test
+        @DisplayName("Лимит пула не больше max-total и max-per-route")
+        public void shouldLimitConnectionsByBothSettings() {
+            HttpClientProperties properties = new HttpClientProperties();
+            properties.setMaxTotal(7);
+            properties.setMaxPerRoute(5);
+            ConnectionProvider perRouteLimited = new ReactiveHttpClientConfig()
+                .shareitServerConnectionProvider(properties);
+            properties.setMaxPerRoute(9);
+            ConnectionProvider totalLimited = new ReactiveHttpClientConfig()
+                .shareitServerConnectionProvider(properties);
+            try {
+                assertEquals(5, perRouteLimited.maxConnections());
+                assertEquals(7, totalLimited.maxConnections());
+            } finally {
+                perRouteLimited.dispose();
+                totalLimited.dispose();
+            }
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class RequestCoalescerTest {
+    private static final String API_PREFIX = "/items";
+    private static final String PATH = "/1";
+
+    private final AtomicInteger calls = new AtomicInteger();
+    private SimpleMeterRegistry meterRegistry;
+    private RequestCoalescer requestCoalescer;
+    private Sinks.One<ResponseEntity<Object>> upstream;
+
+    @BeforeEach
+    public void beforeEach() {
+        CoalescingProperties.Route route = new CoalescingProperties.Route();
+        route.setPattern("/items/{itemId}");
+        CoalescingProperties properties = new CoalescingProperties();
+        properties.getRoutes().put("item", route);
+        meterRegistry = new SimpleMeterRegistry();
+        requestCoalescer = new RequestCoalescer(properties, meterRegistry);
+        upstream = Sinks.one();
+    }
+
+    private Supplier<Mono<ResponseEntity<Object>>> call() {
+        return () -> {
+            calls.incrementAndGet();
+            return upstream.asMono();
+        };
+    }
+
+    private CompletableFuture<ResponseEntity<Object>> request(long userId) {
+        return requestCoalescer.coalesce(API_PREFIX, PATH, userId, null, call()).toFuture();
+    }
+
+    private double coalesced() {
+        return meterRegistry.counter("shareit.gateway.coalescing.coalesced", "route", "item").count();
+    }
+
+    @Nested
+    @DisplayName("Одновременные запросы")
+    class Concurrent {
+        @Test
+        @DisplayName("Одинаковые запросы из разных потоков разделяют один вызов сервера")
+        public void shouldShareOneUpstreamCall() throws Exception {
+            int threads = 8;
+            ExecutorService executor = Executors.newFixedThreadPool(threads);
+            CountDownLatch start = new CountDownLatch(1);
+            try {
+                CompletableFuture<?>[] requests = new CompletableFuture<?>[threads];
+                for (int i = 0; i < threads; i++) {
+                    requests[i] = CompletableFuture.supplyAsync(() -> {
+                        try {
+                            start.await();
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                        return request(1L);
+                    }, executor).thenCompose(response -> response);
+                }
+                start.countDown();
+                waitForWaiters(threads);
+                ResponseEntity<Object> response = ResponseEntity.ok("item");
+                upstream.tryEmitValue(response);
+
+                for (CompletableFuture<?> request : requests) {
+                    assertSame(response, request.get(5, TimeUnit.SECONDS));
+                }
+                assertEquals(1, calls.get());
+                assertEquals(threads - 1, coalesced());
+            } finally {
+                executor.shutdownNow();
+            }
+        }
+
+        @Test
+        @DisplayName("Запросы разных пользователей не объединяются")
+        public void shouldNotShareCallBetweenUsers() {
+            request(1L);
+            request(2L);
+
+            assertEquals(2, calls.get());
+            assertEquals(0, coalesced());
+        }
+
+        @Test
+        @DisplayName("Ошибка сервера получают все ожидающие")
+        public void shouldPropagateErrorToAllWaiters() {
+            CompletableFuture<ResponseEntity<Object>> first = request(1L);
+            CompletableFuture<ResponseEntity<Object>> second = request(1L);
+            IllegalStateException error = new IllegalStateException("server");
+
+            upstream.tryEmitError(error);
+
+            assertSame(error, assertThrows(ExecutionException.class, first::get).getCause());
+            assertSame(error, assertThrows(ExecutionException.class, second::get).getCause());
+            assertEquals(1, calls.get());
+        }
+    }
+
+    @Nested
+    @DisplayName("Освобождение ключа")
+    class Release {
+        @Test
+        @DisplayName("После ответа следующий запрос снова вызывает сервер")
+        public void shouldReleaseKeyAfterCompletion() throws Exception {
+            CompletableFuture<ResponseEntity<Object>> first = request(1L);
+            upstream.tryEmitValue(ResponseEntity.ok("item"));
+            first.get(5, TimeUnit.SECONDS);
+
+            upstream = Sinks.one();
+            request(1L);
+
+            assertEquals(2, calls.get());
+        }
+
+        @Test
+        @DisplayName("После ошибки следующий запрос снова вызывает сервер")
+        public void shouldReleaseKeyAfterError() {
+            CompletableFuture<ResponseEntity<Object>> first = request(1L);
+            upstream.tryEmitError(new IllegalStateException("server"));
+            assertThrows(ExecutionException.class, first::get);
+
+            upstream = Sinks.one();
+            request(1L);
+
+            assertEquals(2, calls.get());
+        }
+
+        @Test
+        @DisplayName("После отмены всеми ожидающими следующий запрос снова вызывает сервер")
+        public void shouldReleaseKeyAfterCancellation() {
+            Disposable first = requestCoalescer.coalesce(API_PREFIX, PATH, 1L, null, call()).subscribe();
+            Disposable second = requestCoalescer.coalesce(API_PREFIX, PATH, 1L, null, call()).subscribe();
+
+            first.dispose();
+            second.dispose();
+            assertEquals(0, upstream.currentSubscriberCount());
+            upstream = Sinks.one();
+            request(1L);
+
+            assertEquals(2, calls.get());
+        }
+    }
+
+    private void waitForWaiters(int waiters) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (calls.get() + coalesced() < waiters && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+}
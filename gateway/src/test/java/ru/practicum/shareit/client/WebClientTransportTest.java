@@ -0,0 +1,104 @@
+package ru.practicum.shareit.client;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+class WebClientTransportTest {
+    private static final String USER_JSON = "{\"id\":1,\"name\":\"Пользователь\",\"email\":\"user@yandex.ru\"}";
+    private static final String ERROR_JSON = "{\"error\":\"Не найден пользователь с id: 2\"}";
+
+    private WebClientTransport transport(HttpStatus status, String body) {
+        WebClient web = WebClient.builder()
+            .exchangeFunction(request -> Mono.just(ClientResponse.create(status)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .header("X-Request-Id", "request-1")
+                .header(HttpHeaders.CONNECTION, "keep-alive")
+                .header("Keep-Alive", "timeout=60")
+                .header(HttpHeaders.TRANSFER_ENCODING, "chunked")
+                .body(body)
+                .build()))
+            .build();
+        return new WebClientTransport(web);
+    }
+
+    private static void assertPassedHeaders(HttpHeaders headers) {
+        assertEquals(MediaType.APPLICATION_JSON, headers.getContentType());
+        assertEquals("request-1", headers.getFirst("X-Request-Id"));
+        assertFalse(headers.containsKey(HttpHeaders.CONNECTION));
+        assertFalse(headers.containsKey("Keep-Alive"));
+        assertFalse(headers.containsKey(HttpHeaders.TRANSFER_ENCODING));
+    }
+
+    @Nested
+    @DisplayName("Ответ сервера передается без разбора JSON")
+    class Exchange {
+        @Test
+        @DisplayName("Успешный ответ")
+        public void shouldPassSuccessfulResponse() {
+            ResponseEntity<Object> response = transport(HttpStatus.OK, USER_JSON)
+                .exchange(HttpMethod.GET, "/1", new HttpHeaders(), null, null)
+                .block();
+
+            assertNotNull(response);
+            assertEquals(HttpStatus.OK, response.getStatusCode());
+            assertArrayEquals(USER_JSON.getBytes(StandardCharsets.UTF_8), (byte[]) response.getBody());
+            assertPassedHeaders(response.getHeaders());
+        }
+
+        @Test
+        @DisplayName("Ошибка сервера")
+        public void shouldPassErrorResponse() {
+            ResponseEntity<Object> response = transport(HttpStatus.NOT_FOUND, ERROR_JSON)
+                .exchange(HttpMethod.GET, "/2", new HttpHeaders(), null, null)
+                .block();
+
+            assertNotNull(response);
+            assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+            assertArrayEquals(ERROR_JSON.getBytes(StandardCharsets.UTF_8), (byte[]) response.getBody());
+            assertPassedHeaders(response.getHeaders());
+        }
+    }
+
+    @Nested
+    @DisplayName("Потоковый ответ сервера")
+    class ExchangeForStream {
+        @Test
+        @DisplayName("Ошибка сервера передается со статусом, телом и заголовками")
+        public void shouldPassErrorResponse() {
+            ResponseEntity<Flux<DataBuffer>> response = transport(HttpStatus.NOT_FOUND, ERROR_JSON)
+                .exchangeForStream(HttpMethod.GET, "/2", new HttpHeaders(), null)
+                .block();
+
+            assertNotNull(response);
+            assertNotNull(response.getBody());
+            assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+            assertEquals(ERROR_JSON, DataBufferUtils.join(response.getBody())
+                .map(buffer -> {
+                    String text = buffer.toString(StandardCharsets.UTF_8);
+                    DataBufferUtils.release(buffer);
+                    return text;
+                })
+                .block());
+            assertPassedHeaders(response.getHeaders());
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package ru.practicum.shareit.exception;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import ru.practicum.shareit.request.ItemRequestClient;
+import ru.practicum.shareit.request.ItemRequestController;
+import ru.practicum.shareit.user.UserClient;
+import ru.practicum.shareit.user.UserController;
+
+import static org.hamcrest.Matchers.emptyString;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.startsWith;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static ru.practicum.shareit.constants.Constants.X_SHARER_USER_ID;
+
+/**
+ * Ошибки проверки запроса в режиме reactive. Статусы и тела совпадают с {@link ErrorHandlerServletTest}.
+ */
+@WebFluxTest(controllers = {UserController.class, ItemRequestController.class},
+    properties = "spring.main.web-application-type=reactive")
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class ErrorHandlerReactiveTest {
+    @MockBean
+    private UserClient userClient;
+    @MockBean
+    private ItemRequestClient itemRequestClient;
+
+    private final WebTestClient webTestClient;
+
+    @Nested
+    @DisplayName("Проверка тела запроса")
+    class RequestBody {
+        @Test
+        @DisplayName("Некорректный email возвращает 400 с полем и сообщением")
+        public void shouldRejectInvalidEmail() {
+            webTestClient.post().uri("/users")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"name\":\"user\",\"email\":\"user.yandex.ru\"}")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody().jsonPath("$.error").value(startsWith("email: "));
+
+            verifyNoInteractions(userClient);
+        }
+
+        @Test
+        @DisplayName("Нечитаемое тело возвращает 400")
+        public void shouldRejectUnreadableBody() {
+            webTestClient.post().uri("/users")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody().jsonPath("$.error").isEqualTo("Некорректное тело запроса.");
+        }
+    }
+
+    @Nested
+    @DisplayName("Проверка заголовков и параметров")
+    class RequestInput {
+        @Test
+        @DisplayName("Без заголовка пользователя возвращается 400")
+        public void shouldRejectMissingHeader() {
+            webTestClient.get().uri("/requests")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody().jsonPath("$.error").isEqualTo("Некорректный заголовок " + X_SHARER_USER_ID + ".");
+
+            verifyNoInteractions(itemRequestClient);
+        }
+
+        @Test
+        @DisplayName("Нечисловой параметр возвращает 400")
+        public void shouldRejectParameterOfWrongType() {
+            webTestClient.get().uri("/requests/all?from=first")
+                .header(X_SHARER_USER_ID, "1")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody().jsonPath("$.error").isEqualTo("Некорректный параметр from.");
+        }
+
+        @Test
+        @DisplayName("Отрицательный параметр возвращает 400")
+        public void shouldRejectNegativeParameter() {
+            webTestClient.get().uri("/requests/all?from=-1")
+                .header(X_SHARER_USER_ID, "1")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody().jsonPath("$.error").value(not(emptyString()));
+
+            verifyNoInteractions(itemRequestClient);
+        }
+    }
+}
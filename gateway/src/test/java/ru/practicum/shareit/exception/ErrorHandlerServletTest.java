@@ -0,0 +1,99 @@
+package ru.practicum.shareit.exception;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.request.ItemRequestClient;
+import ru.practicum.shareit.request.ItemRequestController;
+import ru.practicum.shareit.user.UserClient;
+import ru.practicum.shareit.user.UserController;
+
+import static org.hamcrest.Matchers.emptyString;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.startsWith;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static ru.practicum.shareit.constants.Constants.X_SHARER_USER_ID;
+
+/**
+ * Ошибки проверки запроса в режиме servlet. Статусы и тела совпадают с {@link ErrorHandlerReactiveTest}.
+ */
+@WebMvcTest(controllers = {UserController.class, ItemRequestController.class})
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class ErrorHandlerServletTest {
+    @MockBean
+    private UserClient userClient;
+    @MockBean
+    private ItemRequestClient itemRequestClient;
+
+    private final MockMvc mockMvc;
+
+    @Nested
+    @DisplayName("Проверка тела запроса")
+    class RequestBody {
+        @Test
+        @DisplayName("Некорректный email возвращает 400 с полем и сообщением")
+        public void shouldRejectInvalidEmail() throws Exception {
+            mockMvc.perform(post("/users")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content("{\"name\":\"user\",\"email\":\"user.yandex.ru\"}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value(startsWith("email: ")));
+
+            verifyNoInteractions(userClient);
+        }
+
+        @Test
+        @DisplayName("Нечитаемое тело возвращает 400")
+        public void shouldRejectUnreadableBody() throws Exception {
+            mockMvc.perform(post("/users")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content("{"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Некорректное тело запроса."));
+        }
+    }
+
+    @Nested
+    @DisplayName("Проверка заголовков и параметров")
+    class RequestInput {
+        @Test
+        @DisplayName("Без заголовка пользователя возвращается 400")
+        public void shouldRejectMissingHeader() throws Exception {
+            mockMvc.perform(get("/requests"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Некорректный заголовок " + X_SHARER_USER_ID + "."));
+
+            verifyNoInteractions(itemRequestClient);
+        }
+
+        @Test
+        @DisplayName("Нечисловой параметр возвращает 400")
+        public void shouldRejectParameterOfWrongType() throws Exception {
+            mockMvc.perform(get("/requests/all?from=first")
+                    .header(X_SHARER_USER_ID, "1"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Некорректный параметр from."));
+        }
+
+        @Test
+        @DisplayName("Отрицательный параметр возвращает 400")
+        public void shouldRejectNegativeParameter() throws Exception {
+            mockMvc.perform(get("/requests/all?from=-1")
+                    .header(X_SHARER_USER_ID, "1"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value(not(emptyString())));
+
+            verifyNoInteractions(itemRequestClient);
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package ru.practicum.shareit.user;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+import ru.practicum.shareit.client.RequestCoalescer;
+import ru.practicum.shareit.client.RestTemplateTransport;
+import ru.practicum.shareit.client.ServerTransportFactory;
+
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Ответ сервера проходит через шлюз без разбора JSON: статус, тело и заголовки, кроме заголовков соединения.
+ */
+@WebMvcTest(controllers = UserController.class)
+@Import({UserClient.class, RequestCoalescer.class, UserControllerTest.ServerStubConfig.class})
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class UserControllerTest {
+    private static final String SERVER_URL = "http://localhost:9090";
+    private static final String USER_JSON = "{\"id\":1,\"name\":\"Пользователь\",\"email\":\"user@yandex.ru\"}";
+    private static final String ERROR_JSON = "{\"error\":\"Не найден пользователь с id: 2\"}";
+
+    private final MockMvc mockMvc;
+    private final MockRestServiceServer server;
+
+    @TestConfiguration
+    static class ServerStubConfig {
+        private final RestTemplate rest = new RestTemplate();
+
+        @Bean
+        MockRestServiceServer mockRestServiceServer() {
+            return MockRestServiceServer.bindTo(rest).build();
+        }
+
+        @Bean
+        ServerTransportFactory serverTransportFactory(MockRestServiceServer mockRestServiceServer) {
+            return apiPrefix -> {
+                rest.setUriTemplateHandler(new DefaultUriBuilderFactory(SERVER_URL + apiPrefix));
+                return new RestTemplateTransport(rest, rest);
+            };
+        }
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+
+    @AfterEach
+    public void afterEach() {
+        server.verify();
+        server.reset();
+    }
+
+    @Nested
+    @DisplayName("Передача ответа сервера")
+    class PassThrough {
+        @Test
+        @DisplayName("Успешный ответ передается с телом и заголовками")
+        public void shouldPassSuccessfulResponse() throws Exception {
+            server.expect(requestTo(SERVER_URL + "/users/1"))
+                .andRespond(withStatus(HttpStatus.OK)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .headers(serverHeaders())
+                    .body(USER_JSON));
+
+            mockMvc.perform(asyncDispatch(perform("/users/1")))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(content().json(USER_JSON, true))
+                .andExpect(header().string("X-Request-Id", "request-1"))
+                .andExpect(header().doesNotExist(HttpHeaders.CONNECTION))
+                .andExpect(header().doesNotExist("Keep-Alive"))
+                .andExpect(header().doesNotExist(HttpHeaders.TRANSFER_ENCODING));
+        }
+
+        @Test
+        @DisplayName("Ошибка сервера передается со статусом, телом и заголовками")
+        public void shouldPassErrorResponse() throws Exception {
+            server.expect(requestTo(SERVER_URL + "/users/2"))
+                .andRespond(withStatus(HttpStatus.NOT_FOUND)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .headers(serverHeaders())
+                    .body(ERROR_JSON));
+
+            mockMvc.perform(asyncDispatch(perform("/users/2")))
+                .andExpect(status().isNotFound())
+                .andExpect(content().json(ERROR_JSON, true))
+                .andExpect(header().string("X-Request-Id", "request-1"))
+                .andExpect(header().doesNotExist(HttpHeaders.CONNECTION))
+                .andExpect(header().doesNotExist("Keep-Alive"))
+                .andExpect(header().doesNotExist(HttpHeaders.TRANSFER_ENCODING));
+        }
+    }
+
+    private MvcResult perform(String path) throws Exception {
+        return mockMvc.perform(get(path)).andReturn();
+    }
+
+    private static HttpHeaders serverHeaders() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("X-Request-Id", "request-1");
+        headers.set(HttpHeaders.CONNECTION, "keep-alive");
+        headers.set("Keep-Alive", "timeout=60");
+        headers.set(HttpHeaders.TRANSFER_ENCODING, "chunked");
+        return headers;
+    }
+}
@@ -0,0 +1,76 @@
+#!/usr/bin/env bash
+# Нагрузочный стенд: заполняет базу сервера синтетическими данными, поднимает сервер и шлюз и нагружает шлюз
+# сценарием из поиска, просмотра вещей, бронирования, подтверждения и списков владельца и арендатора.
+# Работает на одной машине без сети; база данных по умолчанию - файловая H2 во временном каталоге.
+#
+#   loadtest/run.sh
+#   DB_URL=jdbc:postgresql://localhost:6541/shareit?reWriteBatchedInserts=true DB_USER=root DB_PASSWORD=root \
+#       BOOKINGS=2000000 RPS=1000 loadtest/run.sh
+#
+# Параметры: RPS (200), DURATION в секундах (60), WARMUP в секундах (10), MIX веса операций
+# (search=30,item=30,book=10,approve=5,owner-items=10,owner-bookings=10,renter-bookings=5), MAX_IN_FLIGHT (2000);
+# объемы USERS (10000), ITEMS (20000), REQUESTS (2000), BOOKINGS (200000), COMMENTS (50000), SKEW перекос
+# популярности (1.1); GATEWAY_MODE режим шлюза servlet или reactive (servlet) - для сравнения режимов стенд
+# запускается дважды с одинаковыми параметрами. Внимание: база данных по DB_URL очищается перед заполнением.
+set -euo pipefail
+cd "$(dirname "$0")/.."
+
+LOG_DIR=$(mktemp -d)
+DB_URL=${DB_URL:-"jdbc:h2:file:$LOG_DIR/shareit"}
+DB_USER=${DB_USER:-test}
+DB_PASSWORD=${DB_PASSWORD:-test}
+SERVER_PORT=${SERVER_PORT:-9290}
+GATEWAY_PORT=${GATEWAY_PORT:-8280}
+MAX_IN_FLIGHT=${MAX_IN_FLIGHT:-2000}
+GATEWAY_MODE=${GATEWAY_MODE:-servlet}
+
+VOLUMES=(
+    --users="${USERS:-10000}"
+    --items="${ITEMS:-20000}"
+    --requests="${REQUESTS:-2000}"
+    --bookings="${BOOKINGS:-200000}"
+    --comments="${COMMENTS:-50000}"
+    --skew="${SKEW:-1.1}"
+)
+
+mvn -B -q -pl server,gateway,loadtest -am package -DskipTests
+SERVER_JAR=$(ls server/target/shareit-server-*-exec.jar | head -n 1)
+GATEWAY_JAR=$(ls gateway/target/shareit-gateway-*.jar | grep -v original | head -n 1)
+LOADTEST_JAR=loadtest/target/loadtest.jar
+
+java -jar "$LOADTEST_JAR" seed --url="$DB_URL" --db-user="$DB_USER" --db-password="$DB_PASSWORD" "${VOLUMES[@]}"
+
+PIDS=()
+trap 'kill "${PIDS[@]}" 2>/dev/null || true' EXIT
+
+java -jar "$SERVER_JAR" \
+    --server.port="$SERVER_PORT" \
+    --spring.datasource.url="$DB_URL" \
+    --spring.datasource.username="$DB_USER" \
+    --spring.datasource.password="$DB_PASSWORD" \
+    > "$LOG_DIR/server.log" 2>&1 &
+PIDS+=($!)
+
+java -jar "$GATEWAY_JAR" \
+    --server.port="$GATEWAY_PORT" \
+    --spring.main.web-application-type="$GATEWAY_MODE" \
+    --shareit-server.url="http://localhost:$SERVER_PORT" \
+    --shareit-server.http-client.max-total="$MAX_IN_FLIGHT" \
+    --shareit-server.http-client.max-per-route="$MAX_IN_FLIGHT" \
+    > "$LOG_DIR/gateway.log" 2>&1 &
+PIDS+=($!)
+
+DRIVE=(
+    --gateway="http://localhost:$GATEWAY_PORT"
+    --server="http://localhost:$SERVER_PORT"
+    --rps="${RPS:-200}"
+    --duration="${DURATION:-60}"
+    --warmup="${WARMUP:-10}"
+    --max-in-flight="$MAX_IN_FLIGHT"
+)
+if [ -n "${MIX:-}" ]; then
+    DRIVE+=(--mix="$MIX")
+fi
+java -jar "$LOADTEST_JAR" drive "${DRIVE[@]}" "${VOLUMES[@]}"
+
+echo "Логи: $LOG_DIR"
@@ -0,0 +1,236 @@
+package ru.practicum.shareit.loadtest;
+
+import org.flywaydb.core.Flyway;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Заполняет базу данных сервера по плану {@link SeedPlan}: пересоздает схему миграциями сервера
+ * и пишет строки пакетами JDBC напрямую, минуя API. Так можно получить миллионы бронирований за минуты,
+ * в том числе прошедшие бронирования и отзывы к ним, которые нельзя создать через API.
+ * <p>
+ * Подтвержденные и ожидающие бронирования одной вещи не пересекаются по времени
+ * (это проверяет ограничение ex_booking_item_period в PostgreSQL). Бронирования популярных вещей,
+ * не поместившиеся в горизонт планирования, записываются отклоненными или отмененными.
+ */
+final class DataGenerator {
+    private static final int BATCH_SIZE = 1000;
+    private static final int ID_ALLOCATION_SIZE = 50;
+    private static final double APPROVED_SHARE = 0.85;
+    private static final int HOUR = 3600;
+    private static final int DAY = 24 * HOUR;
+    private static final long HISTORY = 365L * DAY;
+    private static final long HORIZON = 180L * DAY;
+
+    private final SeedPlan plan;
+    private final String url;
+    private final String username;
+    private final String password;
+    private final Path migrations;
+    private final Random random;
+    private final LocalDateTime now = LocalDateTime.now().withNano(0);
+
+    private int candidates;
+    private int[] candidateItems;
+    private int[] candidateAuthors;
+    private long[] candidateEnds;
+
+    DataGenerator(SeedPlan plan, String url, String username, String password, Path migrations) {
+        this.plan = plan;
+        this.url = url;
+        this.username = username;
+        this.password = password;
+        this.migrations = migrations;
+        this.random = new Random(plan.seed + 1);
+    }
+
+    void run() throws SQLException {
+        migrate();
+        try (Connection connection = DriverManager.getConnection(url, username, password)) {
+            connection.setAutoCommit(false);
+            insertUsers(connection);
+            insertRequests(connection);
+            insertItems(connection);
+            insertBookings(connection);
+            insertComments(connection);
+            alignSequences(connection);
+        }
+    }
+
+    private void migrate() {
+        List<String> locations = new ArrayList<>();
+        locations.add("filesystem:" + migrations.resolve("common"));
+        Path vendorMigrations = migrations.resolve(isPostgres() ? "postgresql" : "h2");
+        if (Files.isDirectory(vendorMigrations)) {
+            locations.add("filesystem:" + vendorMigrations);
+        }
+        Flyway flyway = Flyway.configure()
+            .dataSource(url, username, password)
+            .locations(locations.toArray(new String[0]))
+            .cleanDisabled(false)
+            .load();
+        flyway.clean();
+        flyway.migrate();
+    }
+
+    private void insertUsers(Connection connection) throws SQLException {
+        insert(connection, "users", "INSERT INTO users (id, name, email) VALUES (?, ?, ?)", plan.users,
+            (statement, user) -> {
+                statement.setLong(1, SeedPlan.id(user));
+                statement.setString(2, "user" + SeedPlan.id(user));
+                statement.setString(3, "user" + SeedPlan.id(user) + "@load.shareit.ru");
+            });
+    }
+
+    private void insertRequests(Connection connection) throws SQLException {
+        insert(connection, "item_requests",
+            "INSERT INTO item_requests (id, description, requestor_id, created) VALUES (?, ?, ?, ?)", plan.requests,
+            (statement, request) -> {
+                statement.setLong(1, SeedPlan.id(request));
+                statement.setString(2, SeedPlan.phrase(random, 6));
+                statement.setLong(3, SeedPlan.id(random.nextInt(plan.users)));
+                statement.setTimestamp(4, at(-(long) (random.nextDouble() * HISTORY)));
+            });
+    }
+
+    private void insertItems(Connection connection) throws SQLException {
+        int[] itemRequests = new int[plan.items];
+        Arrays.fill(itemRequests, -1);
+        for (int request = 0; request < Math.min(plan.requests, plan.items); request++) {
+            itemRequests[random.nextInt(plan.items)] = request;
+        }
+        insert(connection, "items", "INSERT INTO items (id, name, description, is_available, owner_id, request_id) "
+            + "VALUES (?, ?, ?, ?, ?, ?)", plan.items, (statement, item) -> {
+                statement.setLong(1, SeedPlan.id(item));
+                statement.setString(2, SeedPlan.phrase(random, 2) + " " + SeedPlan.id(item));
+                statement.setString(3, SeedPlan.phrase(random, 8));
+                statement.setBoolean(4, plan.available(item));
+                statement.setLong(5, SeedPlan.id(plan.owner(item)));
+                if (itemRequests[item] >= 0) {
+                    statement.setLong(6, SeedPlan.id(itemRequests[item]));
+                } else {
+                    statement.setNull(6, Types.BIGINT);
+                }
+            });
+    }
+
+    private void insertBookings(Connection connection) throws SQLException {
+        long[] cursors = new long[plan.items];
+        for (int item = 0; item < plan.items; item++) {
+            cursors[item] = -HISTORY + random.nextInt(30 * DAY);
+        }
+        candidateItems = new int[plan.bookings];
+        candidateAuthors = new int[plan.bookings];
+        candidateEnds = new long[plan.bookings];
+        insert(connection, "bookings", "INSERT INTO bookings (id, start_date, end_date, item_id, booker_id, status) "
+            + "VALUES (?, ?, ?, ?, ?, ?)", plan.bookings, (statement, booking) -> {
+                int item = plan.popularItem(random);
+                int booker = plan.renter(random, item);
+                long start = cursors[item] + random.nextInt(3 * DAY);
+                long end = start + HOUR + random.nextInt(3 * DAY);
+                String status;
+                if (end <= HORIZON) {
+                    cursors[item] = end;
+                    if (end < 0) {
+                        status = random.nextDouble() < APPROVED_SHARE ? "APPROVED" : "REJECTED";
+                    } else {
+                        status = start < 0 || random.nextBoolean() ? "APPROVED" : "WAITING";
+                    }
+                } else {
+                    start = -HISTORY + (long) (random.nextDouble() * (HISTORY + HORIZON));
+                    end = start + HOUR + random.nextInt(3 * DAY);
+                    status = random.nextBoolean() ? "REJECTED" : "CANCELED";
+                }
+                if ("APPROVED".equals(status) && end < 0) {
+                    candidateItems[candidates] = item;
+                    candidateAuthors[candidates] = booker;
+                    candidateEnds[candidates] = end;
+                    candidates++;
+                }
+                statement.setLong(1, SeedPlan.id(booking));
+                statement.setTimestamp(2, at(start));
+                statement.setTimestamp(3, at(end));
+                statement.setLong(4, SeedPlan.id(item));
+                statement.setLong(5, SeedPlan.id(booker));
+                statement.setString(6, status);
+            });
+    }
+
+    /**
+     * Отзывы оставляют арендаторы завершенных подтвержденных бронирований, как того требует сервер.
+     */
+    private void insertComments(Connection connection) throws SQLException {
+        int comments = candidates == 0 ? 0 : plan.comments;
+        insert(connection, "comments", "INSERT INTO comments (id, text, item_id, author_id, created) "
+            + "VALUES (?, ?, ?, ?, ?)", comments, (statement, comment) -> {
+                int candidate = random.nextInt(candidates);
+                statement.setLong(1, SeedPlan.id(comment));
+                statement.setString(2, SeedPlan.phrase(random, 6));
+                statement.setLong(3, SeedPlan.id(candidateItems[candidate]));
+                statement.setLong(4, SeedPlan.id(candidateAuthors[candidate]));
+                statement.setTimestamp(5, at(Math.min(candidateEnds[candidate] + random.nextInt(2 * DAY), -60)));
+            });
+    }
+
+    /**
+     * Сдвигает последовательности за вставленные id так же, как миграция V5 для PostgreSQL:
+     * pooled-оптимизатор Hibernate считает значение последовательности верхней границей блока.
+     */
+    private void alignSequences(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            align(statement, "users_seq", plan.users);
+            align(statement, "item_requests_seq", plan.requests);
+            align(statement, "items_seq", plan.items);
+            align(statement, "bookings_seq", plan.bookings);
+            align(statement, "comments_seq", plan.comments);
+        }
+        connection.commit();
+    }
+
+    private void align(Statement statement, String sequence, int rows) throws SQLException {
+        long next = rows + (long) ID_ALLOCATION_SIZE;
+        statement.execute(isPostgres()
+            ? String.format("SELECT setval('%s', %d, false)", sequence, next)
+            : String.format("ALTER SEQUENCE %s RESTART WITH %d", sequence, next));
+    }
+
+    private void insert(Connection connection, String table, String sql, int count, Row row) throws SQLException {
+        long startedAt = System.nanoTime();
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            for (int index = 0; index < count; index++) {
+                row.bind(statement, index);
+                statement.addBatch();
+                if ((index + 1) % BATCH_SIZE == 0 || index == count - 1) {
+                    statement.executeBatch();
+                    connection.commit();
+                }
+            }
+        }
+        System.out.printf("%-14s %,12d строк за %,d мс%n", table, count, (System.nanoTime() - startedAt) / 1_000_000);
+    }
+
+    private Timestamp at(long secondsFromNow) {
+        return Timestamp.valueOf(now.plusSeconds(secondsFromNow));
+    }
+
+    private boolean isPostgres() {
+        return url.startsWith("jdbc:postgresql:");
+    }
+
+    private interface Row {
+        void bind(PreparedStatement statement, int index) throws SQLException;
+    }
+}
@@ -0,0 +1,68 @@
+package ru.practicum.shareit.loadtest;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Счетчики и гистограмма задержек одной операции с точностью до миллисекунды.
+ */
+final class LatencyStats {
+    private static final int MAX_LATENCY_MS = 60_000;
+
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong errors = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLongArray histogram = new AtomicLongArray(MAX_LATENCY_MS + 1);
+
+    void record(long latencyMs, boolean success) {
+        count.incrementAndGet();
+        if (!success) {
+            errors.incrementAndGet();
+        }
+        histogram.incrementAndGet((int) Math.min(latencyMs, MAX_LATENCY_MS));
+    }
+
+    /**
+     * Запрос не отправлен: превышен предел одновременных запросов или для операции нет данных.
+     */
+    void drop() {
+        dropped.incrementAndGet();
+    }
+
+    void addTo(LatencyStats total) {
+        total.count.addAndGet(count.get());
+        total.errors.addAndGet(errors.get());
+        total.dropped.addAndGet(dropped.get());
+        for (int latency = 0; latency <= MAX_LATENCY_MS; latency++) {
+            total.histogram.addAndGet(latency, histogram.get(latency));
+        }
+    }
+
+    long count() {
+        return count.get();
+    }
+
+    long errors() {
+        return errors.get();
+    }
+
+    long dropped() {
+        return dropped.get();
+    }
+
+    long percentile(double quantile) {
+        long total = count.get();
+        if (total == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(total * quantile));
+        long seen = 0;
+        for (int latency = 0; latency <= MAX_LATENCY_MS; latency++) {
+            seen += histogram.get(latency);
+            if (seen >= rank) {
+                return latency;
+            }
+        }
+        return MAX_LATENCY_MS;
+    }
+}
@@ -0,0 +1,244 @@
+package ru.practicum.shareit.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Random;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Нагрузка на шлюз с постоянной интенсивностью (открытая модель): запросы отправляются по расписанию
+ * независимо от того, успел ли ответить сервер. Задержка считается от запланированного момента отправки,
+ * поэтому отставание самой нагрузки попадает в перцентили, а не скрывает деградацию.
+ * <p>
+ * Пользователи и вещи выбираются по плану {@link SeedPlan}: популярные вещи и активные арендаторы
+ * встречаются чаще остальных. Бронирования сценария занимают непересекающиеся слоты далеко в будущем,
+ * чтобы не конфликтовать с заполненными данными, и затем подтверждаются владельцами.
+ */
+final class LoadDriver {
+    private static final String X_SHARER_USER_ID = "X-Sharer-User-Id";
+    private static final Pattern ID = Pattern.compile("\"id\"\\s*:\\s*(\\d+)");
+    private static final int PAGE_SIZE = 20;
+    private static final Duration DRAIN_TIMEOUT = Duration.ofSeconds(30);
+
+    private final SeedPlan plan;
+    private final String gatewayUrl;
+    private final Operation[] schedule;
+    private final int rps;
+    private final HttpClient client;
+    private final Semaphore inFlight;
+    private final int maxInFlight;
+    private final Random random;
+    private final Queue<long[]> approvals = new ConcurrentLinkedQueue<>();
+    private final LocalDateTime bookingOrigin = LocalDateTime.now().plusYears(2).withNano(0);
+
+    private Map<Operation, LatencyStats> stats = newStats();
+    private long bookingSlots;
+
+    LoadDriver(SeedPlan plan, String gatewayUrl, Map<Operation, Integer> mix, int rps, int maxInFlight) {
+        this.plan = plan;
+        this.gatewayUrl = gatewayUrl;
+        this.schedule = schedule(mix);
+        this.rps = rps;
+        this.maxInFlight = maxInFlight;
+        this.inFlight = new Semaphore(maxInFlight);
+        this.random = new Random(plan.seed + 2);
+        this.client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .executor(Executors.newFixedThreadPool(Math.max(4, Runtime.getRuntime().availableProcessors())))
+            .build();
+    }
+
+    void awaitHealthy(String baseUrl) throws InterruptedException {
+        HttpRequest health = HttpRequest.newBuilder(URI.create(baseUrl + "/actuator/health")).build();
+        long deadline = System.nanoTime() + Duration.ofSeconds(120).toNanos();
+        while (System.nanoTime() < deadline) {
+            try {
+                if (client.send(health, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                    return;
+                }
+            } catch (IOException e) {
+                // Приложение еще запускается.
+            }
+            Thread.sleep(500);
+        }
+        throw new IllegalStateException("Приложение не поднялось: " + baseUrl);
+    }
+
+    /**
+     * Прогрев без учета результатов, затем измерение заданной длительности и отчет по операциям.
+     */
+    void run(int warmupSeconds, int seconds) throws InterruptedException {
+        drive(warmupSeconds);
+        stats = newStats();
+        long startedAt = System.nanoTime();
+        drive(seconds);
+        report((System.nanoTime() - startedAt) / 1e9);
+    }
+
+    private void drive(int seconds) throws InterruptedException {
+        long interval = TimeUnit.SECONDS.toNanos(1) / rps;
+        long startedAt = System.nanoTime();
+        long deadline = startedAt + TimeUnit.SECONDS.toNanos(seconds);
+        for (long sent = 0; ; sent++) {
+            long scheduledAt = startedAt + sent * interval;
+            if (scheduledAt >= deadline) {
+                break;
+            }
+            long delay = scheduledAt - System.nanoTime();
+            if (delay > 0) {
+                LockSupport.parkNanos(delay);
+            }
+            send(schedule[random.nextInt(schedule.length)], scheduledAt);
+        }
+        if (!inFlight.tryAcquire(maxInFlight, DRAIN_TIMEOUT.toSeconds(), TimeUnit.SECONDS)) {
+            System.err.println("Не все запросы завершились за " + DRAIN_TIMEOUT.toSeconds() + " с");
+            return;
+        }
+        inFlight.release(maxInFlight);
+    }
+
+    private void send(Operation operation, long scheduledAt) {
+        LatencyStats operationStats = stats.get(operation);
+        int item = operation == Operation.BOOK ? availableItem() : plan.popularItem(random);
+        HttpRequest request = operation == Operation.BOOK ? book(item) : request(operation, item);
+        if (request == null || !inFlight.tryAcquire()) {
+            operationStats.drop();
+            return;
+        }
+        client.sendAsync(request, HttpResponse.BodyHandlers.ofString())
+            .whenComplete((response, error) -> {
+                boolean success = error == null && response.statusCode() / 100 == 2;
+                operationStats.record((System.nanoTime() - scheduledAt) / 1_000_000, success);
+                if (success && operation == Operation.BOOK) {
+                    enqueueApproval(response.body(), plan.owner(item));
+                }
+                inFlight.release();
+            });
+    }
+
+    private HttpRequest request(Operation operation, int item) {
+        switch (operation) {
+            case SEARCH:
+                return get("/items/search?text=" + URLEncoder.encode(plan.popularWord(random), StandardCharsets.UTF_8)
+                    + "&from=0&size=" + PAGE_SIZE, plan.renter(random, item));
+            case ITEM:
+                return get("/items/" + SeedPlan.id(item), plan.renter(random, item));
+            case APPROVE:
+                long[] approval = approvals.poll();
+                if (approval == null) {
+                    return null;
+                }
+                return builder("/bookings/" + approval[0] + "?approved=true", (int) approval[1])
+                    .method("PATCH", HttpRequest.BodyPublishers.noBody())
+                    .build();
+            case OWNER_ITEMS:
+                return get("/items?from=0&size=" + PAGE_SIZE, plan.owner(item));
+            case OWNER_BOOKINGS:
+                return get("/bookings/owner?state=ALL&from=0&size=" + PAGE_SIZE, plan.owner(item));
+            case RENTER_BOOKINGS:
+                return get("/bookings?state=ALL&from=0&size=" + PAGE_SIZE, plan.renter(random, item));
+            default:
+                throw new IllegalArgumentException("Неизвестная операция: " + operation);
+        }
+    }
+
+    /**
+     * Популярная вещь, доступная для бронирования; недоступные вещи сервер отклоняет.
+     */
+    private int availableItem() {
+        int item = plan.popularItem(random);
+        for (int attempt = 0; attempt < 10 && !plan.available(item); attempt++) {
+            item = plan.popularItem(random);
+        }
+        return item;
+    }
+
+    private HttpRequest book(int item) {
+        LocalDateTime start = bookingOrigin.plusMinutes(2 * bookingSlots++);
+        String body = String.format("{\"itemId\":%d,\"start\":\"%s\",\"end\":\"%s\"}", SeedPlan.id(item),
+            start.format(DateTimeFormatter.ISO_LOCAL_DATE_TIME),
+            start.plusMinutes(1).format(DateTimeFormatter.ISO_LOCAL_DATE_TIME));
+        return builder("/bookings", plan.renter(random, item))
+            .header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofString(body))
+            .build();
+    }
+
+    private void enqueueApproval(String body, int owner) {
+        Matcher matcher = ID.matcher(body);
+        if (matcher.find()) {
+            approvals.add(new long[]{Long.parseLong(matcher.group(1)), owner});
+        }
+    }
+
+    private HttpRequest get(String path, int user) {
+        return builder(path, user).GET().build();
+    }
+
+    private HttpRequest.Builder builder(String path, int user) {
+        return HttpRequest.newBuilder(URI.create(gatewayUrl + path))
+            .header(X_SHARER_USER_ID, String.valueOf(SeedPlan.id(user)))
+            .timeout(Duration.ofSeconds(30));
+    }
+
+    private void report(double elapsed) {
+        System.out.printf("%-16s %10s %8s %8s %8s %7s %7s %7s %7s%n",
+            "operation", "requests", "errors", "dropped", "rps", "p50", "p90", "p99", "max");
+        LatencyStats total = new LatencyStats();
+        for (Map.Entry<Operation, LatencyStats> entry : stats.entrySet()) {
+            print(entry.getKey().title(), entry.getValue(), elapsed);
+            entry.getValue().addTo(total);
+        }
+        print("total", total, elapsed);
+    }
+
+    private static void print(String title, LatencyStats stats, double elapsed) {
+        System.out.printf("%-16s %10d %8d %8d %8.0f %5dms %5dms %5dms %5dms%n",
+            title, stats.count(), stats.errors(), stats.dropped(), stats.count() / elapsed,
+            stats.percentile(0.50), stats.percentile(0.90), stats.percentile(0.99), stats.percentile(1.0));
+    }
+
+    private static Map<Operation, LatencyStats> newStats() {
+        Map<Operation, LatencyStats> stats = new EnumMap<>(Operation.class);
+        for (Operation operation : Operation.values()) {
+            stats.put(operation, new LatencyStats());
+        }
+        return stats;
+    }
+
+    /**
+     * Таблица операций, в которой каждая встречается столько раз, каков ее вес в сценарии.
+     */
+    private static Operation[] schedule(Map<Operation, Integer> mix) {
+        int total = mix.values().stream().mapToInt(Integer::intValue).sum();
+        if (total <= 0) {
+            throw new IllegalArgumentException("Сценарий нагрузки пуст");
+        }
+        Operation[] schedule = new Operation[total];
+        int position = 0;
+        for (Map.Entry<Operation, Integer> entry : mix.entrySet()) {
+            for (int i = 0; i < entry.getValue(); i++) {
+                schedule[position++] = entry.getKey();
+            }
+        }
+        return schedule;
+    }
+}
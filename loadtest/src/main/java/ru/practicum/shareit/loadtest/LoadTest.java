@@ -0,0 +1,92 @@
+package ru.practicum.shareit.loadtest;
+
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Нагрузочный стенд ShareIt: генератор синтетических данных и нагрузка на связку шлюз - сервер.
+ * <ul>
+ *     <li>{@code seed --url=<jdbc url> ...} - пересоздает схему базы данных сервера и заполняет ее;</li>
+ *     <li>{@code drive --gateway=<url> ...} - нагружает запущенный шлюз сценарием из нескольких вызовов API
+ *     с заданной интенсивностью и печатает пропускную способность и перцентили задержек по операциям.</li>
+ * </ul>
+ * Обе команды принимают одинаковые параметры объема данных, по ним нагрузка восстанавливает план заполнения.
+ */
+public class LoadTest {
+    private static final String DEFAULT_MIX = "search=30,item=30,book=10,approve=5,owner-items=10,"
+        + "owner-bookings=10,renter-bookings=5";
+
+    public static void main(String[] args) throws Exception {
+        if (args.length == 0 || !("seed".equals(args[0]) || "drive".equals(args[0]))) {
+            System.err.println("Использование: seed --url=<jdbc url> [--db-user=] [--db-password=] [--migrations=] "
+                + "[объемы] | drive --gateway=<url> [--server=<url>] [--rps=] [--duration=] [--warmup=] [--mix=] "
+                + "[--max-in-flight=] [объемы]");
+            System.err.println("Объемы: --users= --items= --requests= --bookings= --comments= --skew= --seed=");
+            System.exit(2);
+        }
+        Map<String, String> options = options(args);
+        SeedPlan plan = new SeedPlan(
+            intOption(options, "users", 10_000),
+            intOption(options, "items", 20_000),
+            intOption(options, "requests", 2_000),
+            intOption(options, "bookings", 200_000),
+            intOption(options, "comments", 50_000),
+            Double.parseDouble(options.getOrDefault("skew", "1.1")),
+            Long.parseLong(options.getOrDefault("seed", "42")));
+
+        if ("seed".equals(args[0])) {
+            new DataGenerator(plan, required(options, "url"), options.getOrDefault("db-user", ""),
+                options.getOrDefault("db-password", ""),
+                Path.of(options.getOrDefault("migrations", "server/src/main/resources/db/migration")))
+                .run();
+        } else {
+            String gateway = required(options, "gateway");
+            LoadDriver driver = new LoadDriver(plan, gateway, mix(options.getOrDefault("mix", DEFAULT_MIX)),
+                intOption(options, "rps", 200), intOption(options, "max-in-flight", 2_000));
+            if (options.containsKey("server")) {
+                driver.awaitHealthy(options.get("server"));
+            }
+            driver.awaitHealthy(gateway);
+            driver.run(intOption(options, "warmup", 10), intOption(options, "duration", 60));
+        }
+        System.exit(0);
+    }
+
+    private static Map<String, String> options(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (int i = 1; i < args.length; i++) {
+            int separator = args[i].indexOf('=');
+            if (!args[i].startsWith("--") || separator < 0) {
+                throw new IllegalArgumentException("Ожидается параметр вида --name=value: " + args[i]);
+            }
+            options.put(args[i].substring(2, separator), args[i].substring(separator + 1));
+        }
+        return options;
+    }
+
+    private static Map<Operation, Integer> mix(String mix) {
+        Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        for (String part : mix.split(",")) {
+            String[] weight = part.trim().split("=");
+            if (weight.length != 2) {
+                throw new IllegalArgumentException("Ожидается вес операции вида name=weight: " + part);
+            }
+            weights.put(Operation.byTitle(weight[0]), Integer.parseInt(weight[1]));
+        }
+        return weights;
+    }
+
+    private static int intOption(Map<String, String> options, String name, int defaultValue) {
+        return options.containsKey(name) ? Integer.parseInt(options.get(name)) : defaultValue;
+    }
+
+    private static String required(Map<String, String> options, String name) {
+        String value = options.get(name);
+        if (value == null) {
+            throw new IllegalArgumentException("Не задан параметр --" + name);
+        }
+        return value;
+    }
+}
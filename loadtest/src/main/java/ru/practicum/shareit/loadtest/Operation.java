@@ -0,0 +1,33 @@
+package ru.practicum.shareit.loadtest;
+
+/**
+ * Вызовы API шлюза, из которых складывается сценарий нагрузки.
+ */
+enum Operation {
+    SEARCH("search"), // Поиск вещей по популярному слову
+    ITEM("item"), // Просмотр популярной вещи
+    BOOK("book"), // Бронирование популярной вещи активным арендатором
+    APPROVE("approve"), // Подтверждение владельцем бронирования, созданного сценарием
+    OWNER_ITEMS("owner-items"), // Список вещей владельца
+    OWNER_BOOKINGS("owner-bookings"), // Бронирования вещей владельца
+    RENTER_BOOKINGS("renter-bookings"); // Бронирования арендатора
+
+    private final String title;
+
+    Operation(String title) {
+        this.title = title;
+    }
+
+    String title() {
+        return title;
+    }
+
+    static Operation byTitle(String title) {
+        for (Operation operation : values()) {
+            if (operation.title.equals(title)) {
+                return operation;
+            }
+        }
+        throw new IllegalArgumentException("Неизвестная операция: " + title);
+    }
+}
@@ -0,0 +1,117 @@
+package ru.practicum.shareit.loadtest;
+
+import java.util.Random;
+
+/**
+ * Объемы и форма синтетических данных. План детерминирован: при одинаковых объемах и {@code seed}
+ * генератор и нагрузка получают одних и тех же владельцев, популярные вещи и активных арендаторов,
+ * поэтому нагрузке не нужно читать базу данных.
+ * <p>
+ * Идентификаторы сущностей идут подряд с единицы: индекс {@code i} соответствует id {@code i + 1}.
+ */
+final class SeedPlan {
+    static final String[] WORDS = {
+        "дрель", "перфоратор", "шуруповерт", "пила", "лобзик", "болгарка", "рубанок", "молоток", "стремянка",
+        "палатка", "спальник", "котелок", "велосипед", "самокат", "лыжи", "сноуборд", "проектор", "колонка",
+        "камера", "штатив", "drill", "saw", "ladder", "tent", "bike", "camera", "speaker", "projector",
+        "аккумуляторный", "электрический", "ручной", "туристический", "складной", "детский", "профессиональный",
+        "новый", "легкий", "мощный", "компактный", "надежный"
+    };
+
+    private static final double AVAILABLE_SHARE = 0.9;
+
+    final int users;
+    final int items;
+    final int requests;
+    final int bookings;
+    final int comments;
+    final long seed;
+
+    private final int[] itemOwners;
+    private final boolean[] itemAvailable;
+    private final int[] itemsByPopularity;
+    private final int[] rentersByActivity;
+    private final Zipf itemPopularity;
+    private final Zipf renterActivity;
+    private final Zipf wordPopularity;
+
+    SeedPlan(int users, int items, int requests, int bookings, int comments, double skew, long seed) {
+        if (users < 2 || items < 1) {
+            throw new IllegalArgumentException("Нужно хотя бы два пользователя и одна вещь");
+        }
+        this.users = users;
+        this.items = items;
+        this.requests = requests;
+        this.bookings = bookings;
+        this.comments = comments;
+        this.seed = seed;
+
+        Random random = new Random(seed);
+        int[] ownersByActivity = shuffled(users, random);
+        Zipf ownerActivity = new Zipf(users, skew);
+        itemOwners = new int[items];
+        itemAvailable = new boolean[items];
+        for (int item = 0; item < items; item++) {
+            itemOwners[item] = ownersByActivity[ownerActivity.sample(random)];
+            itemAvailable[item] = random.nextDouble() < AVAILABLE_SHARE;
+        }
+        itemsByPopularity = shuffled(items, random);
+        rentersByActivity = shuffled(users, random);
+        itemPopularity = new Zipf(items, skew);
+        renterActivity = new Zipf(users, skew);
+        wordPopularity = new Zipf(WORDS.length, skew);
+    }
+
+    static long id(int index) {
+        return index + 1L;
+    }
+
+    int owner(int item) {
+        return itemOwners[item];
+    }
+
+    boolean available(int item) {
+        return itemAvailable[item];
+    }
+
+    int popularItem(Random random) {
+        return itemsByPopularity[itemPopularity.sample(random)];
+    }
+
+    /**
+     * Активный арендатор, не являющийся владельцем вещи.
+     */
+    int renter(Random random, int item) {
+        int renter = rentersByActivity[renterActivity.sample(random)];
+        return renter == itemOwners[item] ? (renter + 1) % users : renter;
+    }
+
+    String popularWord(Random random) {
+        return WORDS[wordPopularity.sample(random)];
+    }
+
+    static String phrase(Random random, int words) {
+        StringBuilder phrase = new StringBuilder();
+        for (int i = 0; i < words; i++) {
+            if (i > 0) {
+                phrase.append(' ');
+            }
+            phrase.append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return phrase.toString();
+    }
+
+    private static int[] shuffled(int n, Random random) {
+        int[] permutation = new int[n];
+        for (int i = 0; i < n; i++) {
+            permutation[i] = i;
+        }
+        for (int i = n - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int swap = permutation[i];
+            permutation[i] = permutation[j];
+            permutation[j] = swap;
+        }
+        return permutation;
+    }
+}
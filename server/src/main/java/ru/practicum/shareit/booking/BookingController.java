@@ -1,5 +1,6 @@
 package ru.practicum.shareit.booking;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.PageRequest;
@@ -13,9 +14,14 @@ import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import ru.practicum.shareit.booking.dto.BookingDecisionDto;
+import ru.practicum.shareit.booking.dto.BookingDecisionResultDto;
 import ru.practicum.shareit.booking.dto.BookingRequestDto;
 import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.booking.export.BookingExportFormat;
+import ru.practicum.shareit.booking.export.BookingExportWriter;
 
+import javax.servlet.http.HttpServletResponse;
 import java.util.List;
 
 @Slf4j
@@ -25,6 +31,7 @@ import java.util.List;
 public class BookingController {
 
     private final BookingService bookingService;
+    private final ObjectMapper objectMapper;
 
     @PostMapping
     public BookingResponseDto addBooking(
@@ -47,6 +54,15 @@ public class BookingController {
         return bookingService.approveBooking(bookingId, userId, approved);
     }
 
+    @PatchMapping
+    public List<BookingDecisionResultDto> approveBookings(
+        @RequestHeader("X-Sharer-User-Id") Long userId,
+        @RequestBody List<BookingDecisionDto> decisions) {
+        log.info("PATCH [http://localhost:8080/bookings] : " +
+            "Пакетное подтверждение или отклонение {} бронирований пользователем с id: {}", decisions.size(), userId);
+        return bookingService.approveBookings(decisions, userId);
+    }
+
     @GetMapping("/{bookingId}")
     public BookingResponseDto findBookingById(
         @RequestHeader("X-Sharer-User-Id") Long userId,
@@ -62,10 +78,15 @@ public class BookingController {
         @RequestHeader("X-Sharer-User-Id") Long userId,
         @RequestParam(required = false, defaultValue = "ALL") String state,
         @RequestParam(defaultValue = "0") Integer from,
-        @RequestParam(defaultValue = "10") Integer size
+        @RequestParam(defaultValue = "10") Integer size,
+        @RequestParam(required = false) String after
     ) {
         log.info("GET [http://localhost:8080/bookings/{}] : " +
             "Получение списка всех бронирований текущего пользователя id: {}, state: {}", userId, userId, state);
+        if (after != null) {
+            return bookingService.findAllBookingByUserIdAfter(userId, BookingState.stateValid(state),
+                BookingCursor.parse(after), size);
+        }
         return bookingService.findAllBookingByUserId(userId, BookingState.stateValid(state),
             PageRequest.of(from / size, size, Sort.by(Sort.Order.desc("start"))));
     }
@@ -75,12 +96,47 @@ public class BookingController {
         @RequestHeader("X-Sharer-User-Id") Long ownerId,
         @RequestParam(required = false, defaultValue = "ALL") String state,
         @RequestParam(defaultValue = "0") Integer from,
-        @RequestParam(defaultValue = "10") Integer size
+        @RequestParam(defaultValue = "10") Integer size,
+        @RequestParam(required = false) String after
     ) {
         log.info("GET [http://localhost:8080/bookings/owner] : " +
             "Получение списка бронирований для всех вещей текущего пользователя id: {}, state: {}", ownerId, state);
+        if (after != null) {
+            return bookingService.findAllBookingByOwnerIdAfter(ownerId, BookingState.stateValid(state),
+                BookingCursor.parse(after), size);
+        }
         return bookingService.findAllBookingByOwnerId(ownerId, BookingState.stateValid(state),
             PageRequest.of(from / size, size, Sort.by(Sort.Order.desc("start"))));
     }
 
+    @GetMapping("/export")
+    public void exportBookingsByUserId(
+        @RequestHeader("X-Sharer-User-Id") Long userId,
+        @RequestParam(required = false, defaultValue = "ALL") String state,
+        @RequestParam(defaultValue = "ndjson") String format,
+        HttpServletResponse response
+    ) {
+        log.info("GET [http://localhost:8080/bookings/export] : " +
+            "Выгрузка бронирований пользователя id: {}, state: {}, format: {}", userId, state, format);
+        exportBookings(BookingRole.BOOKER, userId, state, format, response);
+    }
+
+    @GetMapping("/owner/export")
+    public void exportBookingsByOwnerId(
+        @RequestHeader("X-Sharer-User-Id") Long ownerId,
+        @RequestParam(required = false, defaultValue = "ALL") String state,
+        @RequestParam(defaultValue = "ndjson") String format,
+        HttpServletResponse response
+    ) {
+        log.info("GET [http://localhost:8080/bookings/owner/export] : " +
+            "Выгрузка бронирований для вещей пользователя id: {}, state: {}, format: {}", ownerId, state, format);
+        exportBookings(BookingRole.OWNER, ownerId, state, format, response);
+    }
+
+    private void exportBookings(BookingRole role, Long userId, String state, String format,
+                                HttpServletResponse response) {
+        BookingExportWriter writer = new BookingExportWriter(objectMapper, BookingExportFormat.formatValid(format));
+        bookingService.exportBookings(role, userId, BookingState.stateValid(state),
+            bookings -> writer.write(bookings, response));
+    }
 }
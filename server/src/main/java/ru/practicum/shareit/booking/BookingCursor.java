@@ -0,0 +1,34 @@
+package ru.practicum.shareit.booking;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+import ru.practicum.shareit.exception.ValidationException;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Позиция в списке бронирований, отсортированном по убыванию (start, id).
+ * Передается клиентом в параметре after в виде "start,id" последнего полученного бронирования.
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class BookingCursor {
+    private final LocalDateTime start;
+    private final Long id;
+
+    public static BookingCursor parse(String value) {
+        int separator = value.lastIndexOf(',');
+        if (separator < 0) {
+            throw new ValidationException("Некорректный курсор: " + value);
+        }
+        try {
+            return new BookingCursor(LocalDateTime.parse(value.substring(0, separator).trim()),
+                Long.parseLong(value.substring(separator + 1).trim()));
+        } catch (DateTimeParseException | NumberFormatException e) {
+            throw new ValidationException("Некорректный курсор: " + value);
+        }
+    }
+}
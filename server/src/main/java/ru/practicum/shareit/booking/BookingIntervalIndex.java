@@ -0,0 +1,176 @@
+package ru.practicum.shareit.booking;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.annotation.Timed;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * Индекс интервалов бронирований по вещам для проверки пересечений и построения календаря вещи
+ * без обращения к БД.
+ * Интервалы вещи загружаются одним запросом при первом обращении, далее индекс обновляется
+ * после коммита сохранения, подтверждения и отклонения бронирования.
+ * Если в загруженных данных уже есть пересечения, проверка для вещи выполняется запросом к БД.
+ * Число вещей в индексе ограничено, давно не запрошенные вещи вытесняются и загружаются заново.
+ */
+@Slf4j
+@Component
+public class BookingIntervalIndex {
+    private final BookingRepository bookingRepository;
+    private final Cache<Long, ItemIntervals> intervalsByItemId;
+
+    public BookingIntervalIndex(BookingRepository bookingRepository,
+                                @Value("${shareit.booking.interval-index.max-items:10000}") long maxItems,
+                                @Value("${shareit.booking.interval-index.expire-after-access:30m}")
+                                Duration expireAfterAccess) {
+        this.bookingRepository = bookingRepository;
+        this.intervalsByItemId = Caffeine.newBuilder()
+            .maximumSize(maxItems)
+            .expireAfterAccess(expireAfterAccess)
+            .executor(Runnable::run)
+            .build();
+    }
+
+    @Timed("shareit.booking.overlap.check")
+    public boolean hasOverlap(Long itemId, LocalDateTime start, LocalDateTime end) {
+        ItemIntervals intervals = intervalsByItemId.get(itemId, this::load);
+        if (!intervals.isDisjoint()) {
+            return bookingRepository.hasOverlappingBookings1(itemId, start, end);
+        }
+        return intervals.hasOverlap(start, end);
+    }
+
+    /**
+     * Интервалы бронирований вещи, пересекающиеся с [start, end), в порядке начала.
+     * Завершившиеся бронирования в индексе не хранятся, поэтому start не должен быть раньше текущего момента.
+     */
+    public List<BookingInterval> findIntervals(Long itemId, LocalDateTime start, LocalDateTime end) {
+        ItemIntervals intervals = intervalsByItemId.get(itemId, this::load);
+        if (!intervals.isDisjoint()) {
+            return bookingRepository.findIntervalsByItemId(itemId, start).stream()
+                .filter(interval -> interval.getStart().isBefore(end))
+                .collect(Collectors.toList());
+        }
+        return intervals.between(start, end);
+    }
+
+    public void put(Booking booking) {
+        Long itemId = booking.getItem().getId();
+        BookingInterval interval = BookingInterval.of(booking);
+        afterCommit(() -> apply(itemId, interval));
+    }
+
+    /**
+     * Бронирования удаленного пользователя удаляет каскад в БД, поэтому вещи с его бронированиями
+     * убираются из индекса после коммита и при следующем обращении загружаются заново.
+     */
+    public void removeBooker(Long bookerId) {
+        afterCommit(() -> intervalsByItemId.asMap().values().removeIf(intervals -> intervals.hasBooker(bookerId)));
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private void apply(Long itemId, BookingInterval interval) {
+        intervalsByItemId.asMap().computeIfPresent(itemId, (id, intervals) -> {
+            intervals.put(interval, LocalDateTime.now());
+            return intervals;
+        });
+    }
+
+    private ItemIntervals load(Long itemId) {
+        List<BookingInterval> intervals = bookingRepository.findIntervalsByItemId(itemId, LocalDateTime.now());
+        log.debug("Загружено {} интервалов бронирования вещи с id: {}", intervals.size(), itemId);
+        ItemIntervals itemIntervals = new ItemIntervals();
+        LocalDateTime now = LocalDateTime.now();
+        for (BookingInterval interval : intervals) {
+            itemIntervals.put(interval, now);
+        }
+        return itemIntervals;
+    }
+
+    private static final class ItemIntervals {
+        private final NavigableMap<LocalDateTime, BookingInterval> byStart = new TreeMap<>();
+        private final Map<Long, BookingInterval> byId = new HashMap<>();
+        private boolean disjoint = true;
+
+        synchronized boolean isDisjoint() {
+            return disjoint;
+        }
+
+        /**
+         * Интервалы не пересекаются и отсортированы по началу, поэтому пересечься с [start, end)
+         * может только интервал с наибольшим началом до end.
+         */
+        synchronized boolean hasOverlap(LocalDateTime start, LocalDateTime end) {
+            Map.Entry<LocalDateTime, BookingInterval> candidate = byStart.lowerEntry(end);
+            return candidate != null && candidate.getValue().getEnd().isAfter(start);
+        }
+
+        synchronized boolean hasBooker(Long bookerId) {
+            return byId.values().stream().anyMatch(interval -> bookerId.equals(interval.getBookerId()));
+        }
+
+        synchronized List<BookingInterval> between(LocalDateTime start, LocalDateTime end) {
+            List<BookingInterval> result = new ArrayList<>();
+            Map.Entry<LocalDateTime, BookingInterval> lower = byStart.lowerEntry(start);
+            if (lower != null && lower.getValue().overlaps(start, end)) {
+                result.add(lower.getValue());
+            }
+            result.addAll(byStart.subMap(start, true, end, false).values());
+            return result;
+        }
+
+        synchronized void put(BookingInterval interval, LocalDateTime now) {
+            BookingInterval previous = byId.remove(interval.getId());
+            if (previous != null && byStart.get(previous.getStart()) == previous) {
+                byStart.remove(previous.getStart());
+            }
+            if (!interval.getEnd().isAfter(now)) {
+                return;
+            }
+            Map.Entry<LocalDateTime, BookingInterval> lower = byStart.lowerEntry(interval.getStart());
+            Map.Entry<LocalDateTime, BookingInterval> ceiling = byStart.ceilingEntry(interval.getStart());
+            if ((lower != null && lower.getValue().overlaps(interval.getStart(), interval.getEnd()))
+                || (ceiling != null && ceiling.getValue().overlaps(interval.getStart(), interval.getEnd()))) {
+                disjoint = false;
+            }
+            byStart.put(interval.getStart(), interval);
+            byId.put(interval.getId(), interval);
+            evictFinished(now);
+        }
+
+        private void evictFinished(LocalDateTime now) {
+            if (!disjoint) {
+                return;
+            }
+            while (!byStart.isEmpty() && !byStart.firstEntry().getValue().getEnd().isAfter(now)) {
+                byId.remove(byStart.pollFirstEntry().getValue().getId());
+            }
+        }
+    }
+}
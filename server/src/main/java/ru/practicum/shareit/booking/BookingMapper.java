@@ -4,10 +4,15 @@ import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 import ru.practicum.shareit.booking.dto.BookingRequestDto;
 import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.booking.dto.BookingViewDto;
 import ru.practicum.shareit.item.Item;
 import ru.practicum.shareit.item.ItemMapper;
+import ru.practicum.shareit.item.dto.ItemResponseDto;
 import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.user.UserMapper;
+import ru.practicum.shareit.user.dto.UserDto;
+
+import java.util.ArrayList;
 
 @Mapper(componentModel = "spring", uses = {UserMapper.class, ItemMapper.class})
 public interface BookingMapper {
@@ -19,4 +24,31 @@ public interface BookingMapper {
 
     BookingResponseDto toBookingResponseDto(Booking booking);
 
+    /**
+     * Ответ из проекции совпадает с ответом из сущности: у вещи нет бронирований и отзывов.
+     */
+    default BookingResponseDto toBookingResponseDto(BookingViewDto booking) {
+        ItemResponseDto item = ItemResponseDto.builder()
+            .id(booking.getItemId())
+            .name(booking.getItemName())
+            .description(booking.getItemDescription())
+            .available(booking.getItemAvailable())
+            .requestId(booking.getItemRequestId())
+            .comments(new ArrayList<>())
+            .build();
+        UserDto booker = UserDto.builder()
+            .id(booking.getBookerId())
+            .name(booking.getBookerName())
+            .email(booking.getBookerEmail())
+            .build();
+        return BookingResponseDto.builder()
+            .id(booking.getId())
+            .start(booking.getStart())
+            .end(booking.getEnd())
+            .item(item)
+            .booker(booker)
+            .status(booking.getStatus())
+            .build();
+    }
+
 }
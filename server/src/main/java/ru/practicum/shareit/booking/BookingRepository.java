@@ -1,69 +1,68 @@
 package ru.practicum.shareit.booking;
 
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import ru.practicum.shareit.booking.dto.BookingShortDto;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
-public interface BookingRepository extends JpaRepository<Booking, Long> {
-
-    List<Booking> findByItemIdAndStartBeforeAndStatusEqualsOrderByStartDesc(Long userId, LocalDateTime start,
-                                                                            BookingStatus status);
-
-    List<Booking> findByItemIdAndStartAfterAndStatusEqualsOrderByStartAsc(Long userId, LocalDateTime start,
-                                                                          BookingStatus status);
-
-    Page<Booking> findByBookerId(Long booker, Pageable pageable);
-
-    Page<Booking> findByBookerIdAndStartBeforeAndEndAfter(Long userId, LocalDateTime start,
-                                                          LocalDateTime end, Pageable pageable);
-
-    Page<Booking> findByBookerIdAndEndBeforeAndStatusEquals(Long userId, LocalDateTime start,
-                                                            BookingStatus status, Pageable pageable);
-
-    Page<Booking> findByBookerIdAndStartAfter(Long userId, LocalDateTime start, Pageable pageable);
-
-    Page<Booking> findByBookerIdAndStatusEquals(Long userId, BookingStatus status, Pageable pageable);
-
-    Page<Booking> findByItemOwnerId(Long booker, Pageable pageable);
-
-    Page<Booking> findByItemOwnerIdAndStartBeforeAndEndAfter(Long userId, LocalDateTime start,
-                                                             LocalDateTime end, Pageable pageable);
-
-    Page<Booking> findByItemOwnerIdAndEndBeforeAndStatusEquals(Long userId, LocalDateTime start,
-                                                               BookingStatus status, Pageable pageable);
-
-    Page<Booking> findByItemOwnerIdAndStartAfter(Long userId, LocalDateTime start, Pageable pageable);
+public interface BookingRepository extends JpaRepository<Booking, Long>,
+    BookingSearchRepository {
+
+    /**
+     * Подтверждение бронирования возвращает его вместе с вещью и арендатором.
+     */
+    @Override
+    @EntityGraph(attributePaths = {"item", "booker"})
+    Optional<Booking> findById(Long id);
+
+    @Query("SELECT new ru.practicum.shareit.booking.dto.BookingShortDto(b.id, b.item.id, b.booker.id, b.start, b.end) " +
+        "FROM Booking b " +
+        "WHERE b.item.id = ?1 " +
+        "AND b.status = ?3 " +
+        "AND (b.start = (SELECT MAX(lb.start) FROM Booking lb " +
+        "WHERE lb.item.id = ?1 AND lb.status = ?3 AND lb.start < ?2) " +
+        "OR b.start = (SELECT MIN(nb.start) FROM Booking nb " +
+        "WHERE nb.item.id = ?1 AND nb.status = ?3 AND nb.start > ?2)) " +
+        "ORDER BY b.start ASC")
+    List<BookingShortDto> findLastAndNextBookings(Long itemId, LocalDateTime now, BookingStatus status);
+
+    @Query("SELECT new ru.practicum.shareit.booking.dto.BookingShortDto(b.id, b.item.id, b.booker.id, b.start, b.end) " +
+        "FROM Booking b " +
+        "WHERE b.item.id IN ?1 " +
+        "AND b.status = ?3 " +
+        "AND (b.start = (SELECT MAX(lb.start) FROM Booking lb " +
+        "WHERE lb.item.id = b.item.id AND lb.status = ?3 AND lb.start < ?2) " +
+        "OR b.start = (SELECT MIN(nb.start) FROM Booking nb " +
+        "WHERE nb.item.id = b.item.id AND nb.status = ?3 AND nb.start > ?2)) " +
+        "ORDER BY b.start ASC")
+    List<BookingShortDto> findLastAndNextBookingsByItemIds(List<Long> itemIds, LocalDateTime now,
+                                                           BookingStatus status);
 
-    Page<Booking> findByItemOwnerIdAndStatusEquals(Long userId, BookingStatus status,
-                                                   Pageable pageable);
+    @Query("SELECT b FROM Booking b " +
+        "JOIN FETCH b.item " +
+        "JOIN FETCH b.booker " +
+        "WHERE b.id IN ?1")
+    List<Booking> findAllWithItemByIdIn(Collection<Long> ids);
 
+    @Query("SELECT COUNT(b.id) FROM Booking b " +
+        "WHERE b.item.id = ?1 " +
+        "AND b.booker.id = ?2 " +
+        "AND b.end < ?3")
     Long countAllByItemIdAndBookerIdAndEndBefore(long itemId, long userId, LocalDateTime now);
 
-    @Query("SELECT b FROM Booking b " +
+    @Query("SELECT new ru.practicum.shareit.booking.BookingInterval(b.id, b.booker.id, b.start, b.end, b.status) " +
+        "FROM Booking b " +
         "WHERE b.item.id = ?1 " +
         "AND b.end > ?2 " +
-        "AND b.start < ?3 " +
-        "AND b.status = ?4 " +
-        "ORDER BY b.start ASC")
-    List<Booking> findBookingsByItemIdAndTimeRangeAndStatus(Long userId, LocalDateTime start,
-                                                            LocalDateTime end,
-                                                            BookingStatus status);
-
-    @Query("SELECT b FROM Booking b " +
-        "WHERE b.item.id = ?1 " +
-        "AND b.start > ?2 " +
-        "AND b.end < ?3 " +
-        "AND b.status = ?4 " +
         "ORDER BY b.start ASC")
-    List<Booking> findByItemIdAndTimeRangeAndStatus(Long id, LocalDateTime start,
-                                                    LocalDateTime end,
-                                                    BookingStatus status);
+    List<BookingInterval> findIntervalsByItemId(Long itemId, LocalDateTime after);
 
     @Query("SELECT COUNT(b) > 0 FROM Booking b " +
         "WHERE b.item.id = ?1 " +
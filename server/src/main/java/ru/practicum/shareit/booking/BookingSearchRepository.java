@@ -0,0 +1,24 @@
+package ru.practicum.shareit.booking;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import ru.practicum.shareit.booking.dto.BookingExportDto;
+import ru.practicum.shareit.booking.dto.BookingViewDto;
+
+import java.util.Optional;
+import java.util.stream.Stream;
+
+public interface BookingSearchRepository {
+    Slice<BookingViewDto> findAllFrom(BookingRole role, Long userId, BookingState state, Pageable pageable);
+
+    Slice<BookingViewDto> findAllAfter(BookingRole role, Long userId, BookingState state, BookingCursor cursor,
+                                       int size);
+
+    Optional<BookingViewDto> findViewById(Long bookingId);
+
+    /**
+     * Все бронирования пользователя в порядке списков, прочитанные однонаправленным курсором.
+     * Поток нужно закрыть и прочитать внутри транзакции: только в ней PostgreSQL учитывает fetch size.
+     */
+    Stream<BookingExportDto> streamAll(BookingRole role, Long userId, BookingState state);
+}
@@ -0,0 +1,173 @@
+package ru.practicum.shareit.booking;
+
+import org.hibernate.jpa.QueryHints;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import ru.practicum.shareit.booking.dto.BookingExportDto;
+import ru.practicum.shareit.booking.dto.BookingViewDto;
+import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.user.User;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.TypedQuery;
+import javax.persistence.criteria.CompoundSelection;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Join;
+import javax.persistence.criteria.Path;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Единый запрос списков бронирований для арендатора и владельца по любому BookingState.
+ * Читается проекция {@link BookingViewDto} с полями вещи и арендатора из того же запроса,
+ * сортировка: start Desc, id Desc.
+ * Запрос COUNT не выполняется: читается на одну запись больше размера страницы,
+ * чтобы определить наличие следующей.
+ */
+public class BookingSearchRepositoryImpl implements BookingSearchRepository {
+    private static final int EXPORT_FETCH_SIZE = 500;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Slice<BookingViewDto> findAllFrom(BookingRole role, Long userId, BookingState state, Pageable pageable) {
+        TypedQuery<BookingViewDto> query = entityManager.createQuery(bookingQuery(role, userId, state, null))
+            .setFirstResult((int) pageable.getOffset());
+        return toSlice(query, pageable.getPageNumber(), pageable.getPageSize());
+    }
+
+    @Override
+    public Slice<BookingViewDto> findAllAfter(BookingRole role, Long userId, BookingState state, BookingCursor cursor,
+                                              int size) {
+        return toSlice(entityManager.createQuery(bookingQuery(role, userId, state, cursor)), 0, size);
+    }
+
+    @Override
+    public Optional<BookingViewDto> findViewById(Long bookingId) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<BookingViewDto> query = cb.createQuery(BookingViewDto.class);
+        Root<Booking> booking = query.from(Booking.class);
+        Join<Booking, Item> item = booking.join("item");
+
+        query.select(view(cb, booking, item))
+            .where(cb.equal(booking.get("id"), bookingId));
+        return entityManager.createQuery(query)
+            .getResultList()
+            .stream()
+            .findFirst();
+    }
+
+    private CriteriaQuery<BookingViewDto> bookingQuery(BookingRole role, Long userId, BookingState state,
+                                                       BookingCursor cursor) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<BookingViewDto> query = cb.createQuery(BookingViewDto.class);
+        Root<Booking> booking = query.from(Booking.class);
+        Join<Booking, Item> item = booking.join("item");
+        Path<LocalDateTime> start = booking.get("start");
+        Path<Long> id = booking.get("id");
+
+        List<Predicate> predicates = new ArrayList<>();
+        predicates.add(rolePredicate(cb, booking, item, role, userId));
+        predicates.addAll(statePredicates(cb, booking, state, LocalDateTime.now()));
+        if (cursor != null) {
+            predicates.add(cb.or(
+                cb.lessThan(start, cursor.getStart()),
+                cb.and(cb.equal(start, cursor.getStart()), cb.lessThan(id, cursor.getId()))));
+        }
+
+        return query.select(view(cb, booking, item))
+            .where(predicates.toArray(new Predicate[0]))
+            .orderBy(cb.desc(start), cb.desc(id));
+    }
+
+    /**
+     * Владелец вещи читается по внешнему ключу items.owner_id, поэтому users соединяется только для арендатора.
+     */
+    private CompoundSelection<BookingViewDto> view(CriteriaBuilder cb, Root<Booking> booking,
+                                                   Join<Booking, Item> item) {
+        Join<Booking, User> booker = booking.join("booker");
+        return cb.construct(BookingViewDto.class,
+            booking.get("id"), booking.get("start"), booking.get("end"), booking.get("status"),
+            item.get("id"), item.get("name"), item.get("description"), item.get("available"),
+            item.get("owner").get("id"), item.get("requestId"),
+            booker.get("id"), booker.get("name"), booker.get("email"));
+    }
+
+    @Override
+    public Stream<BookingExportDto> streamAll(BookingRole role, Long userId, BookingState state) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<BookingExportDto> query = cb.createQuery(BookingExportDto.class);
+        Root<Booking> booking = query.from(Booking.class);
+        Join<Booking, Item> item = booking.join("item");
+
+        List<Predicate> predicates = new ArrayList<>();
+        predicates.add(rolePredicate(cb, booking, item, role, userId));
+        predicates.addAll(statePredicates(cb, booking, state, LocalDateTime.now()));
+
+        query.select(cb.construct(BookingExportDto.class,
+                booking.get("id"), item.get("id"), item.get("name"), booking.get("booker").get("id"),
+                booking.get("start"), booking.get("end"), booking.get("status")))
+            .where(predicates.toArray(new Predicate[0]))
+            .orderBy(cb.desc(booking.get("start")), cb.desc(booking.get("id")));
+        return entityManager.createQuery(query)
+            .setHint(QueryHints.HINT_FETCH_SIZE, EXPORT_FETCH_SIZE)
+            .getResultStream();
+    }
+
+    private Predicate rolePredicate(CriteriaBuilder cb, Root<Booking> booking, Join<Booking, Item> item,
+                                    BookingRole role, Long userId) {
+        if (role == BookingRole.OWNER) {
+            return cb.equal(item.get("owner").get("id"), userId);
+        }
+        return cb.equal(booking.get("booker").get("id"), userId);
+    }
+
+    private List<Predicate> statePredicates(CriteriaBuilder cb, Root<Booking> booking, BookingState state,
+                                            LocalDateTime now) {
+        Path<LocalDateTime> start = booking.get("start");
+        Path<LocalDateTime> end = booking.get("end");
+        Path<BookingStatus> status = booking.get("status");
+        List<Predicate> predicates = new ArrayList<>();
+        switch (state) {
+            case CURRENT:
+                predicates.add(cb.lessThan(start, now));
+                predicates.add(cb.greaterThan(end, now));
+                break;
+            case PAST:
+                predicates.add(cb.lessThan(end, now));
+                predicates.add(cb.equal(status, BookingStatus.APPROVED));
+                break;
+            case FUTURE:
+                predicates.add(cb.greaterThan(start, now));
+                break;
+            case WAITING:
+                predicates.add(cb.equal(status, BookingStatus.WAITING));
+                break;
+            case REJECTED:
+                predicates.add(cb.equal(status, BookingStatus.REJECTED));
+                break;
+            default:
+                break;
+        }
+        return predicates;
+    }
+
+    private Slice<BookingViewDto> toSlice(TypedQuery<BookingViewDto> query, int page, int size) {
+        List<BookingViewDto> content = query.setMaxResults(size + 1).getResultList();
+        boolean hasNext = content.size() > size;
+        if (hasNext) {
+            content = content.subList(0, size);
+        }
+        return new SliceImpl<>(content, PageRequest.of(page, size), hasNext);
+    }
+}
@@ -1,19 +1,34 @@
 package ru.practicum.shareit.booking;
 
 import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.booking.dto.BookingDecisionDto;
+import ru.practicum.shareit.booking.dto.BookingDecisionResultDto;
+import ru.practicum.shareit.booking.dto.BookingExportDto;
 import ru.practicum.shareit.booking.dto.BookingRequestDto;
 import ru.practicum.shareit.booking.dto.BookingResponseDto;
 
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 public interface BookingService {
     BookingResponseDto addBooking(BookingRequestDto bookingDto, Long userId);
 
     BookingResponseDto approveBooking(Long bookingId, Long userId, boolean approved);
 
+    List<BookingDecisionResultDto> approveBookings(List<BookingDecisionDto> decisions, Long userId);
+
     BookingResponseDto findBookingById(Long bookingId, Long userId);
 
     List<BookingResponseDto> findAllBookingByUserId(Long userId, BookingState state, Pageable pageable);
 
     List<BookingResponseDto> findAllBookingByOwnerId(Long ownerId, BookingState state, Pageable pageable);
+
+    List<BookingResponseDto> findAllBookingByUserIdAfter(Long userId, BookingState state, BookingCursor cursor,
+                                                         int size);
+
+    List<BookingResponseDto> findAllBookingByOwnerIdAfter(Long ownerId, BookingState state, BookingCursor cursor,
+                                                          int size);
+
+    void exportBookings(BookingRole role, Long userId, BookingState state, Consumer<Stream<BookingExportDto>> sink);
 }
@@ -1,33 +1,57 @@
 package ru.practicum.shareit.booking;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.dto.BookingDecisionDto;
+import ru.practicum.shareit.booking.dto.BookingDecisionResultDto;
+import ru.practicum.shareit.booking.dto.BookingExportDto;
 import ru.practicum.shareit.booking.dto.BookingRequestDto;
 import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.booking.dto.BookingViewDto;
 import ru.practicum.shareit.exception.BookingNotFoundException;
+import ru.practicum.shareit.exception.ConflictException;
 import ru.practicum.shareit.exception.ItemNotFoundException;
 import ru.practicum.shareit.exception.UserNotFoundException;
 import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.item.Item;
 import ru.practicum.shareit.item.ItemRepository;
 import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserExistenceGuard;
 import ru.practicum.shareit.user.UserRepository;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.locks.Lock;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Slf4j
 @Service
+@Timed("shareit.service")
 @RequiredArgsConstructor
 public class BookingServiceImpl implements BookingService {
+    private static final String BOOKING_PERIOD_CONSTRAINT = "ex_booking_item_period";
+
     private final ItemRepository itemRepository;
     private final UserRepository userRepository;
+    private final UserExistenceGuard userExistenceGuard;
     private final BookingRepository bookingRepository;
     private final BookingMapper bookingMapper;
+    private final BookingIntervalIndex bookingIntervalIndex;
+    private final ItemBookingLocks itemBookingLocks;
 
     @Override
     @Transactional
@@ -54,31 +78,43 @@ public class BookingServiceImpl implements BookingService {
         LocalDateTime bookingStart = bookingDto.getStart();
         LocalDateTime bookingEnd = bookingDto.getEnd();
 
-        if (hasApprovedBookings(itemId, bookingStart, bookingEnd) ||
-            hasOverlappingBookings(itemId, bookingStart, bookingEnd)) {
-            throw new BookingNotFoundException("В данный момент бронирование не доступно.");
-        }
-
-        Booking booking = bookingMapper.toBooking(bookingDto, item, booker, BookingStatus.WAITING);
-        return bookingMapper.toBookingResponseDto(bookingRepository.save(booking));
-    }
+        Lock lock = itemBookingLocks.lock(itemId);
+        try {
+            if (bookingIntervalIndex.hasOverlap(itemId, bookingStart, bookingEnd)) {
+                throw new ConflictException("В данный момент бронирование не доступно.");
+            }
 
-    private boolean hasApprovedBookings(Long itemId, LocalDateTime start, LocalDateTime end) {
-        return !bookingRepository.findBookingsByItemIdAndTimeRangeAndStatus(
-            itemId, start, end, BookingStatus.APPROVED).isEmpty()
-            || !bookingRepository.findByItemIdAndTimeRangeAndStatus(
-            itemId, start, end, BookingStatus.APPROVED).isEmpty();
+            Booking booking = saveBooking(bookingMapper.toBooking(bookingDto, item, booker, BookingStatus.WAITING));
+            bookingIntervalIndex.put(booking);
+            return bookingMapper.toBookingResponseDto(booking);
+        } finally {
+            itemBookingLocks.unlockAfterCompletion(lock);
+        }
     }
 
-    private boolean hasOverlappingBookings(Long itemId, LocalDateTime start, LocalDateTime end) {
-        return bookingRepository.hasOverlappingBookings1(itemId, start, end);
+    /**
+     * В конфликт превращается только нарушение ограничения на пересечение периодов,
+     * остальные ошибки целостности (внешние ключи, NOT NULL) пробрасываются как есть.
+     */
+    private Booking saveBooking(Booking booking) {
+        try {
+            return bookingRepository.saveAndFlush(booking);
+        } catch (DataIntegrityViolationException e) {
+            String message = NestedExceptionUtils.getMostSpecificCause(e).getMessage();
+            if (message == null || !message.contains(BOOKING_PERIOD_CONSTRAINT)) {
+                throw e;
+            }
+            log.warn("Пересечение бронирования вещи с id: {} отклонено базой данных.", booking.getItem().getId());
+            throw new ConflictException("В данный момент бронирование не доступно.");
+        }
     }
 
     @Override
     @Transactional
     public BookingResponseDto approveBooking(Long bookingId, Long userId, boolean status) {
-        userRepository.findById(userId)
-            .orElseThrow(() -> new UserNotFoundException("Не найден пользователь с id: " + userId + " не существует."));
+        if (!userExistenceGuard.exists(userId)) {
+            throw new UserNotFoundException("Не найден пользователь с id: " + userId + " не существует.");
+        }
 
         Booking booking = bookingRepository.findById(bookingId)
             .orElseThrow(() -> new BookingNotFoundException("Нет бронирования с id: " + bookingId));
@@ -91,18 +127,75 @@ public class BookingServiceImpl implements BookingService {
         }
         booking.setStatus(status ? BookingStatus.APPROVED : BookingStatus.REJECTED);
         log.info("Владелец установил статус бронирования: {}", booking.getStatus());
-        return bookingMapper.toBookingResponseDto(bookingRepository.save(booking));
+        Booking savedBooking = bookingRepository.save(booking);
+        bookingIntervalIndex.put(savedBooking);
+        return bookingMapper.toBookingResponseDto(savedBooking);
+    }
+
+    /**
+     * Все бронирования загружаются одним запросом, права и статусы проверяются в памяти.
+     * Изменения статусов Hibernate отправляет при коммите одним JDBC-пакетом.
+     */
+    @Override
+    @Transactional
+    public List<BookingDecisionResultDto> approveBookings(List<BookingDecisionDto> decisions, Long userId) {
+        if (!userExistenceGuard.exists(userId)) {
+            throw new UserNotFoundException("Не найден пользователь с id: " + userId + " не существует.");
+        }
+
+        Set<Long> bookingIds = decisions.stream()
+            .map(BookingDecisionDto::getBookingId)
+            .filter(Objects::nonNull)
+            .collect(Collectors.toSet());
+        Map<Long, Booking> bookings = bookingIds.isEmpty() ? Map.of() : bookingRepository
+            .findAllWithItemByIdIn(bookingIds)
+            .stream()
+            .collect(Collectors.toMap(Booking::getId, Function.identity()));
+
+        Set<Long> decided = new HashSet<>();
+        List<BookingDecisionResultDto> results = new ArrayList<>(decisions.size());
+        for (BookingDecisionDto decision : decisions) {
+            results.add(decide(decision, bookings, decided, userId));
+        }
+        log.info("Владелец с id: {} принял решения по {} бронированиям.", userId, decided.size());
+        return results;
+    }
+
+    private BookingDecisionResultDto decide(BookingDecisionDto decision, Map<Long, Booking> bookings,
+                                            Set<Long> decided, Long userId) {
+        Long bookingId = decision.getBookingId();
+        if (bookingId == null || decision.getApproved() == null) {
+            return BookingDecisionResultDto.failed(bookingId, "Не указано бронирование или решение.");
+        }
+        if (!decided.add(bookingId)) {
+            return BookingDecisionResultDto.failed(bookingId, "Повторное решение по бронированию.");
+        }
+        Booking booking = bookings.get(bookingId);
+        if (booking == null) {
+            return BookingDecisionResultDto.failed(bookingId, "Нет бронирования с id: " + bookingId);
+        }
+        if (!userId.equals(booking.getItem().getOwner().getId())) {
+            return BookingDecisionResultDto.failed(bookingId,
+                "Только владелец может подтверждать или отклонять бронирование.");
+        }
+        if (!booking.getStatus().equals(BookingStatus.WAITING)) {
+            return BookingDecisionResultDto.failed(bookingId, "Бронирование уже подтверждено.");
+        }
+        booking.setStatus(decision.getApproved() ? BookingStatus.APPROVED : BookingStatus.REJECTED);
+        bookingIntervalIndex.put(booking);
+        return BookingDecisionResultDto.applied(bookingId, booking.getStatus());
     }
 
     @Override
     public BookingResponseDto findBookingById(Long bookingId, Long userId) {
-        userRepository.findById(userId)
-            .orElseThrow(() -> new UserNotFoundException("Не найден пользователь с id: " + userId + " не существует."));
+        if (!userExistenceGuard.exists(userId)) {
+            throw new UserNotFoundException("Не найден пользователь с id: " + userId + " не существует.");
+        }
 
-        Booking booking = bookingRepository.findById(bookingId)
+        BookingViewDto booking = bookingRepository.findViewById(bookingId)
             .orElseThrow(() -> new BookingNotFoundException("Не существует бронирования с id: " + bookingId));
 
-        if (!userId.equals(booking.getBooker().getId()) && !userId.equals(booking.getItem().getOwner().getId())) {
+        if (!userId.equals(booking.getBookerId()) && !userId.equals(booking.getItemOwnerId())) {
             throw new UserNotFoundException("Просмотр бронирования доступно только автору или владельцу.");
         }
         return bookingMapper.toBookingResponseDto(booking);
@@ -110,81 +203,76 @@ public class BookingServiceImpl implements BookingService {
 
     @Override
     public List<BookingResponseDto> findAllBookingByUserId(Long userId, BookingState state, Pageable pageable) {
-        userRepository.findById(userId)
-            .orElseThrow(() -> new UserNotFoundException("Не найден пользователь с id: " + userId));
-        List<Booking> result = null;
-        LocalDateTime time = LocalDateTime.now();
-
-        switch (state) {
-            case ALL:
-                result = bookingRepository.findByBookerId(userId, pageable).toList();
-                break;
-            case CURRENT:
-                result = bookingRepository.findByBookerIdAndStartBeforeAndEndAfter(
-                    userId, time, time, pageable).toList();
-                break;
-            case PAST:
-                result = bookingRepository.findByBookerIdAndEndBeforeAndStatusEquals(
-                    userId, time, BookingStatus.APPROVED, pageable).toList();
-                break;
-            case FUTURE:
-                result = bookingRepository.findByBookerIdAndStartAfter(
-                    userId, time, pageable).toList();
-                break;
-            case WAITING:
-                result = bookingRepository.findByBookerIdAndStatusEquals(
-                    userId, BookingStatus.WAITING, pageable).toList();
-                break;
-            case REJECTED:
-                result = bookingRepository.findByBookerIdAndStatusEquals(
-                    userId, BookingStatus.REJECTED, pageable).toList();
-                break;
-        }
-
-        return result.stream()
+        if (!userExistenceGuard.exists(userId)) {
+            throw new UserNotFoundException("Не найден пользователь с id: " + userId);
+        }
+
+        return bookingRepository.findAllFrom(BookingRole.BOOKER, userId, state, pageable)
             .map(bookingMapper::toBookingResponseDto)
-            .collect(Collectors.toList());
+            .getContent();
     }
 
     @Override
     public List<BookingResponseDto> findAllBookingByOwnerId(Long ownerId, BookingState state, Pageable pageable) {
-        userRepository.findById(ownerId)
-            .orElseThrow(() -> new UserNotFoundException("Не найден пользователь с id: " + ownerId));
+        if (!userExistenceGuard.exists(ownerId)) {
+            throw new UserNotFoundException("Не найден пользователь с id: " + ownerId);
+        }
+        checkOwnerHasItems(ownerId);
 
-        if (itemRepository.findAllByOwnerId(ownerId).isEmpty()) {
-            throw new ValidationException("У вас нет вещей. Сначала нужно добавить вещь.");
+        return bookingRepository.findAllFrom(BookingRole.OWNER, ownerId, state, pageable)
+            .map(bookingMapper::toBookingResponseDto)
+            .getContent();
+    }
+
+    @Override
+    public List<BookingResponseDto> findAllBookingByUserIdAfter(Long userId, BookingState state,
+                                                                BookingCursor cursor, int size) {
+        if (!userExistenceGuard.exists(userId)) {
+            throw new UserNotFoundException("Не найден пользователь с id: " + userId);
+        }
+
+        return bookingRepository.findAllAfter(BookingRole.BOOKER, userId, state, cursor, size)
+            .map(bookingMapper::toBookingResponseDto)
+            .getContent();
+    }
+
+    @Override
+    public List<BookingResponseDto> findAllBookingByOwnerIdAfter(Long ownerId, BookingState state,
+                                                                 BookingCursor cursor, int size) {
+        if (!userExistenceGuard.exists(ownerId)) {
+            throw new UserNotFoundException("Не найден пользователь с id: " + ownerId);
         }
-        LocalDateTime time = LocalDateTime.now();
-        List<Booking> result = null;
-
-        switch (state) {
-            case ALL:
-                result = bookingRepository.findByItemOwnerId(ownerId, pageable).toList();
-                break;
-            case CURRENT:
-                result = bookingRepository.findByItemOwnerIdAndStartBeforeAndEndAfter(
-                    ownerId, time, time, pageable).toList();
-                break;
-            case PAST:
-                result = bookingRepository.findByItemOwnerIdAndEndBeforeAndStatusEquals(
-                    ownerId, time, BookingStatus.APPROVED, pageable).toList();
-                break;
-            case FUTURE:
-                result = bookingRepository.findByItemOwnerIdAndStartAfter(
-                    ownerId, time, pageable).toList();
-                break;
-            case WAITING:
-                result = bookingRepository.findByItemOwnerIdAndStatusEquals(
-                    ownerId, BookingStatus.WAITING, pageable).toList();
-                break;
-            case REJECTED:
-                result = bookingRepository.findByItemOwnerIdAndStatusEquals(
-                    ownerId, BookingStatus.REJECTED, pageable).toList();
-                break;
-        }
-        return result.stream()
+        checkOwnerHasItems(ownerId);
+
+        return bookingRepository.findAllAfter(BookingRole.OWNER, ownerId, state, cursor, size)
             .map(bookingMapper::toBookingResponseDto)
-            .collect(Collectors.toList());
+            .getContent();
+    }
+
+    /**
+     * Курсор открыт, пока выполняется {@code sink}: выгрузка пишется внутри транзакции и закрывается после нее.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void exportBookings(BookingRole role, Long userId, BookingState state,
+                               Consumer<Stream<BookingExportDto>> sink) {
+        if (!userExistenceGuard.exists(userId)) {
+            throw new UserNotFoundException("Не найден пользователь с id: " + userId);
+        }
+        if (role == BookingRole.OWNER) {
+            checkOwnerHasItems(userId);
+        }
+
+        try (Stream<BookingExportDto> bookings = bookingRepository.streamAll(role, userId, state)) {
+            sink.accept(bookings);
+        }
+        log.info("Выгрузка бронирований пользователя с id: {}, роль: {}, state: {} завершена.", userId, role, state);
+    }
+
+    private void checkOwnerHasItems(Long ownerId) {
+        if (!itemRepository.existsByOwnerId(ownerId)) {
+            throw new ValidationException("У вас нет вещей. Сначала нужно добавить вещь.");
+        }
     }
 
     private void validBookingTime(BookingRequestDto bookingDto) {
@@ -0,0 +1,55 @@
+package ru.practicum.shareit.booking;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Блокировки бронирования по вещам, разбитые на фиксированное число полос.
+ * Бронирования разных вещей почти никогда не ждут друг друга, а проверка пересечений и сохранение
+ * для одной вещи выполняются последовательно до завершения транзакции.
+ */
+@Component
+public class ItemBookingLocks {
+    private final Lock[] stripes;
+
+    public ItemBookingLocks(@Value("${shareit.booking.lock-stripes:64}") int stripesCount) {
+        int size = Integer.highestOneBit(Math.max(1, stripesCount - 1)) << 1;
+        stripes = new Lock[size];
+        for (int i = 0; i < size; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+    }
+
+    public Lock lock(Long itemId) {
+        Lock lock = stripes[stripeIndex(itemId)];
+        lock.lock();
+        return lock;
+    }
+
+    /**
+     * Снимает блокировку после коммита или отката текущей транзакции, чтобы конкурирующий запрос
+     * увидел уже сохраненное бронирование. Вне транзакции блокировка снимается сразу.
+     */
+    public void unlockAfterCompletion(Lock lock) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    lock.unlock();
+                }
+            });
+        } else {
+            lock.unlock();
+        }
+    }
+
+    private int stripeIndex(Long itemId) {
+        int hash = Long.hashCode(itemId);
+        return (hash ^ (hash >>> 16)) & (stripes.length - 1);
+    }
+}
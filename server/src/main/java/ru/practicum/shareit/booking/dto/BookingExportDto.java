@@ -0,0 +1,24 @@
+package ru.practicum.shareit.booking.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+import ru.practicum.shareit.booking.BookingStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * Плоская строка выгрузки бронирований. Читается проекцией, поэтому не попадает в контекст персистентности.
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class BookingExportDto {
+    Long id;
+    Long itemId;
+    String itemName;
+    Long bookerId;
+    LocalDateTime start;
+    LocalDateTime end;
+    BookingStatus status;
+}
@@ -0,0 +1,31 @@
+package ru.practicum.shareit.booking.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+import ru.practicum.shareit.booking.BookingStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * Бронирование с полями вещи и арендатора, которые нужны ответу API. Читается проекцией одним запросом:
+ * сущности не создаются, а владелец вещи представлен только идентификатором для проверки прав.
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class BookingViewDto {
+    Long id;
+    LocalDateTime start;
+    LocalDateTime end;
+    BookingStatus status;
+    Long itemId;
+    String itemName;
+    String itemDescription;
+    Boolean itemAvailable;
+    Long itemOwnerId;
+    Long itemRequestId;
+    Long bookerId;
+    String bookerName;
+    String bookerEmail;
+}
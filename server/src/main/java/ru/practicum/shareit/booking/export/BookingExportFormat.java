@@ -0,0 +1,33 @@
+package ru.practicum.shareit.booking.export;
+
+import ru.practicum.shareit.exception.ValidationException;
+
+import java.util.Locale;
+
+public enum BookingExportFormat {
+    NDJSON("application/x-ndjson"),
+    CSV("text/csv");
+
+    private final String contentType;
+
+    BookingExportFormat(String contentType) {
+        this.contentType = contentType;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public String getFileName() {
+        return "bookings." + name().toLowerCase(Locale.ROOT);
+    }
+
+    public static BookingExportFormat formatValid(String x) {
+        for (BookingExportFormat format : BookingExportFormat.values()) {
+            if (format.name().equalsIgnoreCase(x)) {
+                return format;
+            }
+        }
+        throw new ValidationException("Unknown format: " + x);
+    }
+}
@@ -0,0 +1,103 @@
+package ru.practicum.shareit.booking.export;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.http.HttpHeaders;
+import ru.practicum.shareit.booking.dto.BookingExportDto;
+
+import javax.servlet.http.HttpServletResponse;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Пишет выгрузку бронирований в ответ построчно, по мере чтения курсора.
+ * Длина ответа заранее неизвестна, поэтому Tomcat отдает его chunked по заполнении буфера.
+ */
+public class BookingExportWriter {
+    private static final int BUFFER_SIZE = 8192;
+    private static final String CSV_HEADER = "id,itemId,itemName,bookerId,start,end,status";
+
+    private final ObjectMapper objectMapper;
+    private final BookingExportFormat format;
+
+    public BookingExportWriter(ObjectMapper objectMapper, BookingExportFormat format) {
+        this.objectMapper = objectMapper;
+        this.format = format;
+    }
+
+    public void write(Stream<BookingExportDto> bookings, HttpServletResponse response) {
+        response.setContentType(format.getContentType());
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + format.getFileName() + "\"");
+        try {
+            Writer writer = new BufferedWriter(
+                new OutputStreamWriter(response.getOutputStream(), StandardCharsets.UTF_8), BUFFER_SIZE);
+            if (format == BookingExportFormat.CSV) {
+                writeCsv(bookings.iterator(), writer);
+            } else {
+                writeNdjson(bookings.iterator(), writer);
+            }
+            writer.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void writeNdjson(Iterator<BookingExportDto> bookings, Writer writer) throws IOException {
+        ObjectWriter rowWriter = objectMapper.writerFor(BookingExportDto.class)
+            .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(writer);
+        generator.setRootValueSeparator(null);
+        while (bookings.hasNext()) {
+            rowWriter.writeValue(generator, bookings.next());
+            generator.writeRaw('\n');
+        }
+        generator.flush();
+    }
+
+    private void writeCsv(Iterator<BookingExportDto> bookings, Writer writer) throws IOException {
+        writer.write(CSV_HEADER);
+        writer.write('\n');
+        while (bookings.hasNext()) {
+            BookingExportDto booking = bookings.next();
+            writer.write(String.valueOf(booking.getId()));
+            writer.write(',');
+            writer.write(String.valueOf(booking.getItemId()));
+            writer.write(',');
+            writer.write(csvField(booking.getItemName()));
+            writer.write(',');
+            writer.write(String.valueOf(booking.getBookerId()));
+            writer.write(',');
+            writer.write(csvDateTime(booking.getStart()));
+            writer.write(',');
+            writer.write(csvDateTime(booking.getEnd()));
+            writer.write(',');
+            writer.write(String.valueOf(booking.getStatus()));
+            writer.write('\n');
+        }
+    }
+
+    private static String csvDateTime(LocalDateTime value) {
+        return value == null ? "" : DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(value);
+    }
+
+    private static String csvField(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
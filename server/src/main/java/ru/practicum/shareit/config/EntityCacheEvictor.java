@@ -0,0 +1,30 @@
+package ru.practicum.shareit.config;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.Item;
+
+import javax.persistence.Cache;
+import javax.persistence.EntityManagerFactory;
+import java.util.Collection;
+
+/**
+ * Сбрасывает кэш второго уровня там, где данные меняются в обход Hibernate.
+ * Изменения самих User и Item через репозитории Hibernate отражает в кэше сам (READ_WRITE).
+ */
+@Component
+@RequiredArgsConstructor
+public class EntityCacheEvictor {
+    private final EntityManagerFactory entityManagerFactory;
+
+    /**
+     * Вещи удаленного пользователя удаляет каскад ON DELETE CASCADE в базе, Hibernate об этом не знает.
+     * Идентификаторы вещей читаются до удаления владельца, сбрасываются только их записи, а не весь регион.
+     */
+    public void evictItemsOfDeletedOwner(Collection<Long> itemIds) {
+        Cache cache = entityManagerFactory.getCache();
+        for (Long itemId : itemIds) {
+            cache.evict(Item.class, itemId);
+        }
+    }
+}
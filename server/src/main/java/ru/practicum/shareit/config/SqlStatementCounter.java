@@ -0,0 +1,27 @@
+package ru.practicum.shareit.config;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Считает SQL-запросы, которые Hibernate подготовил в текущем потоке.
+ * Счетчик сбрасывает {@link SqlStatementMetricsFilter} на границах HTTP-запроса.
+ */
+public class SqlStatementCounter implements StatementInspector {
+    private static final ThreadLocal<int[]> STATEMENTS = ThreadLocal.withInitial(() -> new int[1]);
+
+    @Override
+    public String inspect(String sql) {
+        STATEMENTS.get()[0]++;
+        return sql;
+    }
+
+    /**
+     * Возвращает число запросов с прошлого сброса и обнуляет счетчик.
+     */
+    static int reset() {
+        int[] statements = STATEMENTS.get();
+        int count = statements[0];
+        statements[0] = 0;
+        return count;
+    }
+}
@@ -6,18 +6,28 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import lombok.ToString;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import ru.practicum.shareit.item.comment.Comment;
 import ru.practicum.shareit.user.User;
 
+import javax.persistence.Cacheable;
 import javax.persistence.Column;
+import javax.persistence.ColumnResult;
+import javax.persistence.ConstructorResult;
 import javax.persistence.Entity;
+import javax.persistence.FetchType;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
 import javax.persistence.JoinColumn;
 import javax.persistence.ManyToOne;
+import javax.persistence.NamedNativeQuery;
+import javax.persistence.SequenceGenerator;
+import javax.persistence.SqlResultSetMapping;
 import javax.persistence.Table;
 import javax.persistence.Transient;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
@@ -33,9 +43,38 @@ import java.util.Objects;
 @Table(name = "items")
 @NoArgsConstructor
 @AllArgsConstructor
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@NamedNativeQuery(name = "Item.findDetailRows", resultSetMapping = "ItemDetailRow", query =
+    "SELECT detail.* FROM (" +
+    "SELECT 'BOOKING' AS kind, b.id AS id, b.booker_id AS user_id, CAST(NULL AS VARCHAR(64)) AS user_name, " +
+    "b.start_date AS start_date, b.end_date AS end_date, CAST(NULL AS VARCHAR(300)) AS text " +
+    "FROM bookings b " +
+    "WHERE ?3 = TRUE AND b.item_id = ?1 AND b.status = 'APPROVED' " +
+    "AND (b.start_date = (SELECT MAX(lb.start_date) FROM bookings lb " +
+    "WHERE lb.item_id = ?1 AND lb.status = 'APPROVED' AND lb.start_date < ?2) " +
+    "OR b.start_date = (SELECT MIN(nb.start_date) FROM bookings nb " +
+    "WHERE nb.item_id = ?1 AND nb.status = 'APPROVED' AND nb.start_date > ?2)) " +
+    "UNION ALL " +
+    "SELECT 'COMMENT', c.id, u.id, u.name, c.created, CAST(NULL AS TIMESTAMP), c.text " +
+    "FROM comments c " +
+    "JOIN users u ON u.id = c.author_id " +
+    "WHERE c.item_id = ?1" +
+    ") detail " +
+    "ORDER BY detail.start_date ASC")
+@SqlResultSetMapping(name = "ItemDetailRow", classes = @ConstructorResult(targetClass = ItemDetailRow.class, columns = {
+    @ColumnResult(name = "kind", type = String.class),
+    @ColumnResult(name = "id", type = Long.class),
+    @ColumnResult(name = "user_id", type = Long.class),
+    @ColumnResult(name = "user_name", type = String.class),
+    @ColumnResult(name = "start_date", type = LocalDateTime.class),
+    @ColumnResult(name = "end_date", type = LocalDateTime.class),
+    @ColumnResult(name = "text", type = String.class)
+}))
 public class Item {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "items_seq")
+    @SequenceGenerator(name = "items_seq", sequenceName = "items_seq", allocationSize = 50)
     @Column(name = "id")
     private Long id;
 
@@ -48,8 +87,9 @@ public class Item {
     @Column(name = "is_available")
     private Boolean available;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "owner_id", referencedColumnName = "id")
+    @ToString.Exclude
     private User owner;
 
     @Column(name = "request_id")
@@ -1,8 +1,11 @@
 package ru.practicum.shareit.item;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
@@ -13,9 +16,15 @@ import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import ru.practicum.shareit.item.bulk.ItemImportReader;
 import ru.practicum.shareit.item.comment.CommentDto;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
+import ru.practicum.shareit.item.dto.ItemImportResultDto;
 import ru.practicum.shareit.item.dto.ItemResponseDto;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Slf4j
@@ -24,6 +33,7 @@ import java.util.List;
 @RequestMapping("/items")
 public class ItemController {
     private final ItemService itemService;
+    private final ObjectMapper objectMapper;
 
     @PostMapping
     public ResponseEntity<ItemResponseDto> addItem(@RequestBody ItemResponseDto itemDto,
@@ -33,6 +43,17 @@ public class ItemController {
         return ResponseEntity.ok(itemService.addItem(itemDto, userId));
     }
 
+    @PostMapping(value = "/bulk", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<ItemImportResultDto> importItems(InputStream body,
+                                                           @RequestHeader("X-Sharer-User-Id") Long userId)
+        throws IOException {
+        log.info("POST [http://localhost:8080/items/bulk] : " +
+            "Запрос импорта вещей пользователя с id: {}", userId);
+        try (ItemImportReader rows = new ItemImportReader(objectMapper, body)) {
+            return ResponseEntity.ok(itemService.importItems(rows, userId));
+        }
+    }
+
     @PostMapping("/{itemId}/comment")
     public ResponseEntity<CommentDto> addComment(@PathVariable Long itemId,
                                                  @RequestBody CommentDto commentDto,
@@ -53,6 +74,18 @@ public class ItemController {
         return ResponseEntity.ok(itemService.updateItem(itemDto, userId));
     }
 
+    @GetMapping("/{itemId}/availability")
+    public ResponseEntity<ItemAvailabilityDto> getAvailability(
+        @RequestHeader("X-Sharer-User-Id") Long userId,
+        @PathVariable Long itemId,
+        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime start,
+        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime end
+    ) {
+        log.info("GET [http://localhost:8080/items/{}/availability] : " +
+            "Запрос календаря вещи, userId: {}, start: {}, end: {}", itemId, userId, start, end);
+        return ResponseEntity.ok(itemService.getAvailability(itemId, start, end));
+    }
+
     @GetMapping("/{itemId}")
     public ResponseEntity<ItemResponseDto> getItemById(@RequestHeader("X-Sharer-User-Id") Long userId,
                                                        @PathVariable Long itemId) {
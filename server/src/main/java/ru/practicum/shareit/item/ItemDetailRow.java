@@ -0,0 +1,41 @@
+package ru.practicum.shareit.item;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+import ru.practicum.shareit.booking.dto.BookingShortDto;
+import ru.practicum.shareit.item.comment.CommentDto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Строка запроса {@link ItemRepository#findDetailRows}: последнее или следующее подтвержденное бронирование
+ * вещи либо отзыв о ней. Для бронирования user - арендатор, для отзыва - автор, start - дата отзыва.
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class ItemDetailRow {
+    public static final String BOOKING = "BOOKING";
+    public static final String COMMENT = "COMMENT";
+
+    private final String kind;
+    private final Long id;
+    private final Long userId;
+    private final String userName;
+    private final LocalDateTime start;
+    private final LocalDateTime end;
+    private final String text;
+
+    public boolean isComment() {
+        return COMMENT.equals(kind);
+    }
+
+    public BookingShortDto toBookingShortDto(Long itemId) {
+        return new BookingShortDto(id, itemId, userId, start, end);
+    }
+
+    public CommentDto toCommentDto() {
+        return new CommentDto(id, text, userName, start);
+    }
+}
@@ -4,6 +4,7 @@ import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 import ru.practicum.shareit.booking.Booking;
 import ru.practicum.shareit.booking.dto.BookingItemDto;
+import ru.practicum.shareit.booking.dto.BookingShortDto;
 import ru.practicum.shareit.item.comment.Comment;
 import ru.practicum.shareit.item.comment.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
@@ -29,4 +30,6 @@ public interface ItemMapper {
 
     @Mapping(target = "bookerId", expression = "java(booking.getBooker().getId())")
     BookingItemDto toBookingItemDto(Booking booking);
+
+    BookingItemDto toBookingItemDto(BookingShortDto booking);
 }
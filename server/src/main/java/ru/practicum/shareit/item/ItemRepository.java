@@ -5,7 +5,10 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import ru.practicum.shareit.item.search.ItemSearchDocument;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -17,13 +20,38 @@ public interface ItemRepository extends JpaRepository<Item, Long> {
         "(LOWER(i.name) LIKE LOWER(CONCAT('%', ?1, '%')) OR LOWER(i.description) LIKE LOWER(CONCAT('%', ?1, '%')))")
     Page<Item> search(String text, Pageable pageable);
 
+    @Query("SELECT i.id FROM Item i WHERE i.id IN ?1")
+    List<Long> findExistingIds(Collection<Long> ids);
+
+    @Query("SELECT i FROM Item i WHERE i.owner.id = ?1")
     List<Item> findAllByOwnerId(Long ownerId);
 
+    @Query("SELECT i FROM Item i WHERE i.owner.id = ?1")
     Page<Item> findAllByOwnerId(Long ownerId, Pageable page);
 
+    boolean existsByOwnerId(Long ownerId);
+
+    @Query("SELECT i.id FROM Item i WHERE i.owner.id = ?1")
+    List<Long> findIdsByOwnerId(Long ownerId);
+
+    @Query("SELECT new ru.practicum.shareit.item.search.ItemSearchDocument(" +
+        "i.id, i.owner.id, i.name, i.description, i.available) " +
+        "FROM Item i " +
+        "WHERE i.id > ?1 " +
+        "ORDER BY i.id ASC")
+    List<ItemSearchDocument> findSearchDocumentsAfter(Long id, Pageable pageable);
+
     Optional<Item> findByIdAndOwner_Id(Long id, Long userId);
 
     List<Item> findByRequestId(Long requestId);
 
     List<Item> findByRequestIdIn(List<Long> ids);
+
+    /**
+     * Бронирования и отзывы для карточки вещи одним запросом (именованный запрос Item.findDetailRows):
+     * последнее и следующее подтвержденные бронирования относительно now, если withBookings, и все отзывы
+     * с именами авторов. Строки упорядочены по времени начала бронирования или созданию отзыва.
+     */
+    @Query(nativeQuery = true)
+    List<ItemDetailRow> findDetailRows(Long itemId, LocalDateTime now, boolean withBookings);
 }
@@ -2,17 +2,25 @@ package ru.practicum.shareit.item;
 
 import org.springframework.data.domain.Pageable;
 import ru.practicum.shareit.item.comment.CommentDto;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
+import ru.practicum.shareit.item.dto.ItemImportResultDto;
 import ru.practicum.shareit.item.dto.ItemResponseDto;
 
+import java.time.LocalDateTime;
+import java.util.Iterator;
 import java.util.List;
 
 public interface ItemService {
     ItemResponseDto addItem(ItemResponseDto itemDto, Long userId);
 
+    ItemImportResultDto importItems(Iterator<ItemResponseDto> rows, Long userId);
+
     ItemResponseDto updateItem(ItemResponseDto itemDto, Long userId);
 
     ItemResponseDto getItemById(Long itemId, Long userId);
 
+    ItemAvailabilityDto getAvailability(Long itemId, LocalDateTime start, LocalDateTime end);
+
     List<ItemResponseDto> findAllItemsByOwner(Long userId, int from, int size);
 
     List<ItemResponseDto> search(String text, Pageable pageable);
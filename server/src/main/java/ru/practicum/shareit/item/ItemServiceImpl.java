@@ -1,14 +1,18 @@
 package ru.practicum.shareit.item;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
-import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingInterval;
+import ru.practicum.shareit.booking.BookingIntervalIndex;
 import ru.practicum.shareit.booking.BookingRepository;
 import ru.practicum.shareit.booking.BookingStatus;
 import ru.practicum.shareit.booking.dto.BookingItemDto;
+import ru.practicum.shareit.booking.dto.BookingShortDto;
 import ru.practicum.shareit.exception.ItemNotFoundException;
 import ru.practicum.shareit.exception.UserNotFoundException;
 import ru.practicum.shareit.exception.ValidationException;
@@ -16,26 +20,46 @@ import ru.practicum.shareit.item.comment.Comment;
 import ru.practicum.shareit.item.comment.CommentDto;
 import ru.practicum.shareit.item.comment.CommentMapper;
 import ru.practicum.shareit.item.comment.CommentRepository;
+import ru.practicum.shareit.item.comment.CommentShortDto;
+import ru.practicum.shareit.item.dto.AvailabilityIntervalDto;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
+import ru.practicum.shareit.item.dto.ItemImportResultDto;
+import ru.practicum.shareit.item.dto.ItemImportRowDto;
 import ru.practicum.shareit.item.dto.ItemResponseDto;
+import ru.practicum.shareit.item.search.ItemSearchIndex;
 import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserExistenceGuard;
 import ru.practicum.shareit.user.UserRepository;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Slf4j
 @Service
+@Timed("shareit.service")
 @RequiredArgsConstructor
 public class ItemServiceImpl implements ItemService {
+    private static final int IMPORT_BATCH_SIZE = 500;
+    private static final int DEFAULT_AVAILABILITY_DAYS = 30;
+
     private final ItemRepository itemRepository;
     private final UserRepository userRepository;
+    private final UserExistenceGuard userExistenceGuard;
     private final CommentRepository commentRepository;
     private final BookingRepository bookingRepository;
     private final ItemMapper itemMapper;
     private final CommentMapper commentMapper;
+    private final ItemSearchIndex itemSearchIndex;
+    private final BookingIntervalIndex bookingIntervalIndex;
 
     @Override
     public ItemResponseDto addItem(ItemResponseDto itemDto, Long userId) {
@@ -46,7 +70,83 @@ public class ItemServiceImpl implements ItemService {
         List<Comment> comments = new ArrayList<>();
         Item item = itemMapper.toItem(itemDto, user, comments);
         log.info("Добавлена вещь: {}, пользователя c id: {}.", item, item.getOwner().getId());
-        return itemMapper.toItemResponseDto(itemRepository.save(item), null, null, new ArrayList<>());
+        Item savedItem = itemRepository.save(item);
+        itemSearchIndex.put(savedItem);
+        return itemMapper.toItemResponseDto(savedItem, null, null, new ArrayList<>());
+    }
+
+    @Override
+    public ItemImportResultDto importItems(Iterator<ItemResponseDto> rows, Long userId) {
+        User owner = userRepository.findById(userId)
+            .orElseThrow(() -> new UserNotFoundException("Пользователь с id: " + userId));
+
+        List<ItemImportRowDto> results = new ArrayList<>();
+        List<Item> batch = new ArrayList<>(IMPORT_BATCH_SIZE);
+        List<Integer> batchRows = new ArrayList<>(IMPORT_BATCH_SIZE);
+        int row = 0;
+        while (rows.hasNext()) {
+            row++;
+            try {
+                ItemResponseDto itemDto = rows.next();
+                itemDtoValidation(itemDto);
+                Item item = itemMapper.toItem(itemDto, owner, new ArrayList<>());
+                item.setId(null);
+                batch.add(item);
+                batchRows.add(row);
+            } catch (ValidationException e) {
+                results.add(ItemImportRowDto.failed(row, e.getMessage()));
+            }
+            if (batch.size() == IMPORT_BATCH_SIZE) {
+                saveImportBatch(batch, batchRows, results);
+            }
+        }
+        saveImportBatch(batch, batchRows, results);
+
+        results.sort(Comparator.comparingInt(ItemImportRowDto::getRow));
+        int imported = (int) results.stream()
+            .filter(result -> result.getId() != null)
+            .count();
+        log.info("Импорт вещей пользователя с id: {}: строк {}, добавлено {}.", userId, row, imported);
+        return ItemImportResultDto.builder()
+            .total(row)
+            .imported(imported)
+            .failed(row - imported)
+            .rows(results)
+            .build();
+    }
+
+    /**
+     * Сохраняет пакет одной транзакцией. Если база отклонила пакет, строки сохраняются по одной,
+     * чтобы ошибка досталась только виновной строке.
+     */
+    private void saveImportBatch(List<Item> batch, List<Integer> batchRows, List<ItemImportRowDto> results) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            List<Item> savedItems = itemRepository.saveAll(batch);
+            for (int i = 0; i < savedItems.size(); i++) {
+                importedItem(savedItems.get(i), batchRows.get(i), results);
+            }
+        } catch (DataAccessException e) {
+            log.warn("Пакет из {} вещей отклонен базой данных, сохранение по одной.", batch.size());
+            for (int i = 0; i < batch.size(); i++) {
+                Item item = batch.get(i);
+                item.setId(null);
+                try {
+                    importedItem(itemRepository.save(item), batchRows.get(i), results);
+                } catch (DataAccessException rowException) {
+                    results.add(ItemImportRowDto.failed(batchRows.get(i), "Вещь не сохранена базой данных."));
+                }
+            }
+        }
+        batch.clear();
+        batchRows.clear();
+    }
+
+    private void importedItem(Item item, int row, List<ItemImportRowDto> results) {
+        itemSearchIndex.put(item);
+        results.add(ItemImportRowDto.imported(row, item.getId()));
     }
 
     @Override
@@ -68,10 +168,8 @@ public class ItemServiceImpl implements ItemService {
             log.info("Редактирование наличия: {}", itemDto.getAvailable());
         }
         itemRepository.save(existingItem);
-        BookingItemDto lastBooking = bookingLast(existingItem);
-        BookingItemDto nextBooking = bookingNext(existingItem);
-        List<CommentDto> comments = getCommentForItem(existingItem);
-        return itemMapper.toItemResponseDto(existingItem, lastBooking, nextBooking, comments);
+        itemSearchIndex.put(existingItem);
+        return toItemDetailDto(existingItem, true);
     }
 
 
@@ -80,20 +178,59 @@ public class ItemServiceImpl implements ItemService {
         Item existingItem = itemRepository.findById(itemId)
             .orElseThrow(() -> new ItemNotFoundException("Не существует вещи с id: " + itemId));
 
-        if (!Objects.equals(userId, existingItem.getOwner().getId())) {
-            return itemMapper.toItemResponseDto(existingItem, null, null, getCommentForItem(existingItem));
-        } else {
-            return itemMapper.toItemResponseDto(existingItem, bookingLast(existingItem),
-                bookingNext(existingItem), getCommentForItem(existingItem));
+        return toItemDetailDto(existingItem, Objects.equals(userId, existingItem.getOwner().getId()));
+    }
+
+    /**
+     * Календарь вещи на [start, end). Прошедшее время не может быть забронировано, поэтому начало
+     * диапазона не раньше текущего момента. Занятыми считаются только подтвержденные бронирования,
+     * свободные интервалы - промежутки между ними.
+     */
+    @Override
+    public ItemAvailabilityDto getAvailability(Long itemId, LocalDateTime start, LocalDateTime end) {
+        itemRepository.findById(itemId)
+            .orElseThrow(() -> new ItemNotFoundException("Не существует вещи с id: " + itemId));
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime from = start == null || start.isBefore(now) ? now : start;
+        LocalDateTime to = end == null ? from.plusDays(DEFAULT_AVAILABILITY_DAYS) : end;
+        if (!to.isAfter(from)) {
+            throw new ValidationException("Окончание диапазона должно быть позже начала и текущего момента.");
         }
+
+        List<AvailabilityIntervalDto> free = new ArrayList<>();
+        List<AvailabilityIntervalDto> busy = new ArrayList<>();
+        LocalDateTime cursor = from;
+        for (BookingInterval interval : bookingIntervalIndex.findIntervals(itemId, from, to)) {
+            if (interval.getStatus() != BookingStatus.APPROVED) {
+                continue;
+            }
+            busy.add(AvailabilityIntervalDto.busy(interval.getStart(), interval.getEnd(), interval.getStatus()));
+            if (interval.getStart().isAfter(cursor)) {
+                free.add(AvailabilityIntervalDto.free(cursor, interval.getStart()));
+            }
+            if (interval.getEnd().isAfter(cursor)) {
+                cursor = interval.getEnd();
+            }
+        }
+        if (to.isAfter(cursor)) {
+            free.add(AvailabilityIntervalDto.free(cursor, to));
+        }
+        return ItemAvailabilityDto.builder()
+            .itemId(itemId)
+            .start(from)
+            .end(to)
+            .free(free)
+            .busy(busy)
+            .build();
     }
 
     @Override
     public List<ItemResponseDto> findAllItemsByOwner(Long userId, int from, int size) {
         Pageable page = PageRequest.of(from / size, size);
 
-        userRepository.findById(userId)
-            .orElseThrow(() -> new UserNotFoundException("Не найден пользователь с id: " + userId));
+        if (!userExistenceGuard.exists(userId)) {
+            throw new UserNotFoundException("Не найден пользователь с id: " + userId);
+        }
 
         List<Item> items = itemRepository.findAllByOwnerId(userId, page).toList();
         return getItemDto(items);
@@ -104,24 +241,95 @@ public class ItemServiceImpl implements ItemService {
         if (text == null || text.isEmpty()) {
             return new ArrayList<>();
         }
+        if (itemSearchIndex.isReady()) {
+            return getItemDto(findPageInOrder(itemSearchIndex.search(text), pageable));
+        }
+        // Пока индекс не построен, ищем запросом к БД, ограниченным страницей.
         List<Item> result = itemRepository.search(text, pageable).toList();
         return getItemDto(result);
     }
 
+    /**
+     * Страница вырезается после проверки id, чтобы id уже удаленных вещей не укорачивали ее,
+     * а загружаются только вещи самой страницы.
+     */
+    private List<Item> findPageInOrder(List<Long> rankedIds, Pageable pageable) {
+        int from = (int) pageable.getOffset();
+        int to = from + pageable.getPageSize();
+        List<Long> ids = findExistingIdsInOrder(rankedIds, to);
+        List<Long> pageIds = ids.subList(Math.min(from, ids.size()), ids.size());
+        Map<Long, Item> items = itemRepository.findAllById(pageIds).stream()
+            .collect(Collectors.toMap(Item::getId, Function.identity()));
+        return pageIds.stream()
+            .map(items::get)
+            .filter(Objects::nonNull)
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * Возвращает первые limit id существующих вещей в порядке ids, пропуская удаленные.
+     */
+    private List<Long> findExistingIdsInOrder(List<Long> ids, int limit) {
+        List<Long> existing = new ArrayList<>();
+        int next = 0;
+        while (existing.size() < limit && next < ids.size()) {
+            List<Long> chunk = ids.subList(next, Math.min(next + limit - existing.size(), ids.size()));
+            next += chunk.size();
+            Set<Long> found = new HashSet<>(itemRepository.findExistingIds(chunk));
+            chunk.stream()
+                .filter(found::contains)
+                .forEach(existing::add);
+        }
+        return existing;
+    }
+
     private List<ItemResponseDto> getItemDto(List<Item> items) {
         List<ItemResponseDto> list = new ArrayList<>();
-        for (Item item : items) {
-            BookingItemDto lastBooking = bookingLast(item);
+        if (items.isEmpty()) {
+            return list;
+        }
+        List<Long> itemIds = items.stream()
+            .map(Item::getId)
+            .collect(Collectors.toList());
+        LocalDateTime now = LocalDateTime.now();
 
-            BookingItemDto nextBooking = bookingNext(item);
+        Map<Long, List<BookingShortDto>> bookings = bookingRepository
+            .findLastAndNextBookingsByItemIds(itemIds, now, BookingStatus.APPROVED)
+            .stream()
+            .collect(Collectors.groupingBy(BookingShortDto::getItemId));
+        Map<Long, List<CommentDto>> comments = commentRepository.findAllByItemIdIn(itemIds)
+            .stream()
+            .collect(Collectors.groupingBy(CommentShortDto::getItemId,
+                Collectors.mapping(commentMapper::toCommentDto, Collectors.toList())));
 
-            List<CommentDto> commentsDto = getCommentForItem(item);
+        for (Item item : items) {
+            List<CommentDto> commentsDto = comments.getOrDefault(item.getId(), new ArrayList<>());
+            List<BookingShortDto> itemBookings = bookings.getOrDefault(item.getId(), new ArrayList<>());
             item.setComments(commentMapper.toCommentList(commentsDto));
-            list.add(itemMapper.toItemResponseDto(item, lastBooking, nextBooking, commentsDto));
+            list.add(itemMapper.toItemResponseDto(item, bookingLast(itemBookings, now),
+                bookingNext(itemBookings, now), commentsDto));
         }
         return list;
     }
 
+    /**
+     * Карточка вещи из одного запроса бронирований и отзывов; последнее и следующее бронирования видит только
+     * владелец.
+     */
+    private ItemResponseDto toItemDetailDto(Item item, boolean withBookings) {
+        LocalDateTime now = LocalDateTime.now();
+        List<BookingShortDto> bookings = new ArrayList<>();
+        List<CommentDto> comments = new ArrayList<>();
+        for (ItemDetailRow row : itemRepository.findDetailRows(item.getId(), now, withBookings)) {
+            if (row.isComment()) {
+                comments.add(row.toCommentDto());
+            } else {
+                bookings.add(row.toBookingShortDto(item.getId()));
+            }
+        }
+        return itemMapper.toItemResponseDto(item, bookingLast(bookings, now), bookingNext(bookings, now), comments);
+    }
+
     @Override
     public CommentDto addComment(Long itemId, CommentDto commentDto, Long userId) {
         commentDtoValidation(commentDto);
@@ -144,35 +352,20 @@ public class ItemServiceImpl implements ItemService {
         return commentMapper.toCommentDto(commentRepository.save(comment));
     }
 
-    private BookingItemDto bookingLast(Item item) {
-        List<Booking> bookings = bookingRepository.findByItemIdAndStartBeforeAndStatusEqualsOrderByStartDesc(
-            item.getId(), LocalDateTime.now(), BookingStatus.APPROVED);
-
-        if (bookings.isEmpty()) {
-            return null;
-        } else {
-            Booking lastBooking = bookings.get(0);
-            return itemMapper.toBookingItemDto(lastBooking);
-        }
+    private BookingItemDto bookingLast(List<BookingShortDto> bookings, LocalDateTime now) {
+        return bookings.stream()
+            .filter(booking -> booking.getStart().isBefore(now))
+            .findFirst()
+            .map(itemMapper::toBookingItemDto)
+            .orElse(null);
     }
 
-    private BookingItemDto bookingNext(Item item) {
-        List<Booking> bookings = bookingRepository.findByItemIdAndStartAfterAndStatusEqualsOrderByStartAsc(
-            item.getId(), LocalDateTime.now(), BookingStatus.APPROVED);
-
-        if (bookings.isEmpty()) {
-            return null;
-        } else {
-            Booking nextBooking = bookings.get(0);
-            return itemMapper.toBookingItemDto(nextBooking);
-        }
-    }
-
-    private List<CommentDto> getCommentForItem(Item item) {
-        return commentRepository.getAllByItemIdOrderByCreatedAsc(item.getId())
-            .stream()
-            .map(commentMapper::toCommentDto)
-            .collect(Collectors.toList());
+    private BookingItemDto bookingNext(List<BookingShortDto> bookings, LocalDateTime now) {
+        return bookings.stream()
+            .filter(booking -> booking.getStart().isAfter(now))
+            .findFirst()
+            .map(itemMapper::toBookingItemDto)
+            .orElse(null);
     }
 
     private void itemDtoValidation(ItemResponseDto itemDto) {
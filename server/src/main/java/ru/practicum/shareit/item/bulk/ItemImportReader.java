@@ -0,0 +1,78 @@
+package ru.practicum.shareit.item.bulk;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.item.dto.ItemResponseDto;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Потоковое чтение вещей для импорта: JSON-массив или NDJSON разбираются по одному объекту,
+ * тело запроса целиком в память не читается.
+ * <p>
+ * Ошибка строки отдается из {@link #next()} как {@link ValidationException}. Если значение синтаксически
+ * корректно, но не подходит по типам, чтение продолжается со следующей строки. После синтаксической ошибки
+ * место следующего объекта неизвестно, поэтому чтение заканчивается.
+ */
+public class ItemImportReader implements Iterator<ItemResponseDto>, Closeable {
+    private final MappingIterator<ItemResponseDto> values;
+    private IOException failure;
+    private boolean broken;
+
+    public ItemImportReader(ObjectMapper objectMapper, InputStream body) throws IOException {
+        this.values = objectMapper.readerFor(ItemResponseDto.class).readValues(body);
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (broken) {
+            return failure != null;
+        }
+        try {
+            return values.hasNextValue();
+        } catch (IOException e) {
+            broken = true;
+            failure = e;
+            return true;
+        }
+    }
+
+    @Override
+    public ItemResponseDto next() {
+        if (failure != null) {
+            IOException e = failure;
+            failure = null;
+            throw malformed(e);
+        }
+        if (broken) {
+            throw new NoSuchElementException();
+        }
+        try {
+            return values.nextValue();
+        } catch (JsonMappingException e) {
+            throw malformed(e);
+        } catch (IOException e) {
+            broken = true;
+            throw malformed(e);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        values.close();
+    }
+
+    private ValidationException malformed(IOException e) {
+        String reason = e instanceof JsonProcessingException
+            ? ((JsonProcessingException) e).getOriginalMessage()
+            : e.getMessage();
+        return new ValidationException("Некорректный JSON: " + reason);
+    }
+}
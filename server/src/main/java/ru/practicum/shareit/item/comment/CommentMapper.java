@@ -12,6 +12,8 @@ public interface CommentMapper {
     @Mapping(target = "authorName", source = "author.name")
     CommentDto toCommentDto(Comment comment);
 
+    CommentDto toCommentDto(CommentShortDto comment);
+
     @Mapping(target = "id", source = "commentDto.id")
     Comment toComment(CommentDto commentDto, Item item, User author);
 
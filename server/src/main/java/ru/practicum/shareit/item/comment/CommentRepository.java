@@ -10,4 +10,11 @@ public interface CommentRepository extends JpaRepository<Comment, Long> {
         "WHERE c.item.id = ?1 " +
         "ORDER BY c.created ASC")
     List<Comment> getAllByItemIdOrderByCreatedAsc(Long id);
+
+    @Query("SELECT new ru.practicum.shareit.item.comment.CommentShortDto(c.id, c.item.id, c.text, a.name, c.created) " +
+        "FROM Comment c " +
+        "JOIN c.author a " +
+        "WHERE c.item.id IN ?1 " +
+        "ORDER BY c.created ASC")
+    List<CommentShortDto> findAllByItemIdIn(List<Long> itemIds);
 }
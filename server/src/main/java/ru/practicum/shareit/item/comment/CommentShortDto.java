@@ -0,0 +1,21 @@
+package ru.practicum.shareit.item.comment;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.time.LocalDateTime;
+
+/**
+ * Отзыв с именем автора и идентификатором вещи для раскладки по списку вещей. Читается проекцией.
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class CommentShortDto {
+    Long id;
+    Long itemId;
+    String text;
+    String authorName;
+    LocalDateTime created;
+}
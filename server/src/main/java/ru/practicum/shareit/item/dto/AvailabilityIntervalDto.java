@@ -0,0 +1,32 @@
+package ru.practicum.shareit.item.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+import ru.practicum.shareit.booking.BookingStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * Интервал календаря вещи. Для занятого интервала указан статус бронирования, которое его занимает.
+ */
+@Getter
+@ToString
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class AvailabilityIntervalDto {
+    LocalDateTime start;
+    LocalDateTime end;
+    BookingStatus status;
+
+    public static AvailabilityIntervalDto free(LocalDateTime start, LocalDateTime end) {
+        return new AvailabilityIntervalDto(start, end, null);
+    }
+
+    public static AvailabilityIntervalDto busy(LocalDateTime start, LocalDateTime end, BookingStatus status) {
+        return new AvailabilityIntervalDto(start, end, status);
+    }
+}
@@ -0,0 +1,23 @@
+package ru.practicum.shareit.item.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Getter
+@Builder
+@ToString
+@NoArgsConstructor
+@AllArgsConstructor
+public class ItemAvailabilityDto {
+    Long itemId;
+    LocalDateTime start;
+    LocalDateTime end;
+    List<AvailabilityIntervalDto> free;
+    List<AvailabilityIntervalDto> busy;
+}
@@ -0,0 +1,32 @@
+package ru.practicum.shareit.item.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.experimental.FieldDefaults;
+
+/**
+ * Результат одной строки импорта: id созданной вещи либо причина отказа.
+ */
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ItemImportRowDto {
+    int row;
+    Long id;
+    String error;
+
+    public static ItemImportRowDto imported(int row, Long id) {
+        return new ItemImportRowDto(row, id, null);
+    }
+
+    public static ItemImportRowDto failed(int row, String error) {
+        return new ItemImportRowDto(row, null, error);
+    }
+}
@@ -0,0 +1,78 @@
+package ru.practicum.shareit.item.search;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Разбивает текст на слова и приводит их к основе отсечением типичных окончаний
+ * русского и английского языков. Основа короче трех символов не укорачивается.
+ */
+final class ItemSearchAnalyzer {
+    private static final int MIN_STEM_LENGTH = 3;
+    private static final String[] RUSSIAN_ENDINGS = {
+        "иями", "ями", "ами", "ого", "его", "ому", "ему", "ыми", "ими", "ых", "их",
+        "ой", "ей", "ий", "ый", "ая", "яя", "ое", "ее", "ые", "ие", "ую", "юю",
+        "ов", "ев", "ах", "ях", "ам", "ям", "ом", "ем",
+        "а", "я", "о", "е", "ы", "и", "у", "ю", "ь", "й"
+    };
+    private static final String[] ENGLISH_ENDINGS = {"ingly", "edly", "ing", "ed", "ly"};
+
+    private ItemSearchAnalyzer() {
+    }
+
+    /**
+     * Слова текста в нижнем регистре без приведения к основе.
+     */
+    static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        for (String token : text.toLowerCase(Locale.ROOT).replace('ё', 'е').split("[^\\p{L}\\p{Nd}]+")) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    static String stem(String token) {
+        if (isCyrillic(token)) {
+            return stripEnding(token, RUSSIAN_ENDINGS);
+        }
+        return stemEnglish(token);
+    }
+
+    private static String stemEnglish(String token) {
+        if (token.endsWith("ies") && token.length() - 3 >= MIN_STEM_LENGTH) {
+            return token.substring(0, token.length() - 3) + "y";
+        }
+        if (token.endsWith("sses") || token.endsWith("xes") || token.endsWith("zes")
+            || token.endsWith("ches") || token.endsWith("shes")) {
+            return token.substring(0, token.length() - 2);
+        }
+        if (token.endsWith("s") && !token.endsWith("ss") && token.length() - 1 >= MIN_STEM_LENGTH) {
+            return token.substring(0, token.length() - 1);
+        }
+        return stripEnding(token, ENGLISH_ENDINGS);
+    }
+
+    private static String stripEnding(String token, String[] endings) {
+        for (String ending : endings) {
+            if (token.endsWith(ending) && token.length() - ending.length() >= MIN_STEM_LENGTH) {
+                return token.substring(0, token.length() - ending.length());
+            }
+        }
+        return token;
+    }
+
+    private static boolean isCyrillic(String token) {
+        for (int i = 0; i < token.length(); i++) {
+            if (Character.UnicodeBlock.of(token.charAt(i)) == Character.UnicodeBlock.CYRILLIC) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,23 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+import ru.practicum.shareit.item.Item;
+
+@Getter
+@ToString
+@AllArgsConstructor
+public class ItemSearchDocument {
+    private final Long id;
+    private final Long ownerId;
+    private final String name;
+    private final String description;
+    private final Boolean available;
+
+    public static ItemSearchDocument of(Item item) {
+        Long ownerId = item.getOwner() == null ? null : item.getOwner().getId();
+        return new ItemSearchDocument(item.getId(), ownerId, item.getName(), item.getDescription(),
+            item.getAvailable());
+    }
+}
@@ -0,0 +1,255 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.item.ItemRepository;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+
+/**
+ * Инвертированный индекс доступных вещей по словам названия и описания.
+ * Строится при старте приложения и обновляется после сохранения вещи и удаления ее владельца.
+ * Слово запроса совпадает с основами слов вещи по префиксу, а со словами вещи - по вхождению,
+ * как в поиске LIKE. Совпадение целой основы и совпадение в названии дают больший вес,
+ * вхождение внутри слова - меньший. Вещь должна содержать все слова запроса.
+ * Пока индекс не построен или выключен, поиск выполняется запросом к БД.
+ */
+@Slf4j
+@Component
+public class ItemSearchIndex {
+    private static final int LOAD_BATCH_SIZE = 1000;
+    private static final float NAME_WEIGHT = 3f;
+    private static final float DESCRIPTION_WEIGHT = 1f;
+    private static final float PREFIX_FACTOR = 0.5f;
+    private static final float INFIX_FACTOR = 0.25f;
+
+    private final ItemRepository itemRepository;
+    private final boolean enabled;
+    private final NavigableMap<String, Map<Long, Float>> postings = new TreeMap<>();
+    private final Map<Long, Map<String, Float>> documents = new HashMap<>();
+    private final Map<Long, Set<String>> documentWords = new HashMap<>();
+    private final Map<String, Map<Long, Float>> wordPostings = new HashMap<>();
+    private final Map<Long, Set<Long>> itemsByOwner = new HashMap<>();
+    private final Set<Long> removedOwnersDuringLoad = new HashSet<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile boolean ready;
+
+    public ItemSearchIndex(ItemRepository itemRepository,
+                           @Value("${shareit.item.search-index.enabled:true}") boolean enabled) {
+        this.itemRepository = itemRepository;
+        this.enabled = enabled;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            long lastId = 0;
+            int count = 0;
+            List<ItemSearchDocument> batch;
+            do {
+                batch = itemRepository.findSearchDocumentsAfter(lastId, PageRequest.of(0, LOAD_BATCH_SIZE));
+                lock.writeLock().lock();
+                try {
+                    for (ItemSearchDocument document : batch) {
+                        // Вещь, сохраненная во время построения, уже проиндексирована в актуальном виде,
+                        // а вещь владельца, удаленного во время построения, не должна вернуться в индекс.
+                        if (!documents.containsKey(document.getId())
+                            && !removedOwnersDuringLoad.contains(document.getOwnerId())) {
+                            index(document);
+                        }
+                    }
+                } finally {
+                    lock.writeLock().unlock();
+                }
+                if (!batch.isEmpty()) {
+                    lastId = batch.get(batch.size() - 1).getId();
+                }
+                count += batch.size();
+            } while (batch.size() == LOAD_BATCH_SIZE);
+            lock.writeLock().lock();
+            try {
+                removedOwnersDuringLoad.clear();
+                ready = true;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            log.info("Построен поисковый индекс вещей, проиндексировано вещей: {}", count);
+        } catch (DataAccessException e) {
+            log.warn("Не удалось построить поисковый индекс вещей, поиск выполняется запросом к БД.", e);
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Возвращает id найденных вещей по убыванию релевантности.
+     */
+    public List<Long> search(String text) {
+        Set<String> terms = new LinkedHashSet<>(ItemSearchAnalyzer.tokenize(text));
+        if (terms.isEmpty()) {
+            return new ArrayList<>();
+        }
+        lock.readLock().lock();
+        try {
+            Map<Long, Float> scores = null;
+            for (String term : terms) {
+                Map<Long, Float> termScores = termScores(term);
+                if (scores == null) {
+                    scores = termScores;
+                } else {
+                    scores.keySet().retainAll(termScores.keySet());
+                    scores.replaceAll((id, score) -> score + termScores.get(id));
+                }
+                if (scores.isEmpty()) {
+                    break;
+                }
+            }
+            return scores.entrySet().stream()
+                .sorted(Map.Entry.<Long, Float>comparingByValue().reversed()
+                    .thenComparing(Map.Entry.<Long, Float>comparingByKey()))
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toList());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void put(Item item) {
+        ItemSearchDocument document = ItemSearchDocument.of(item);
+        afterCommit(() -> apply(document));
+    }
+
+    /**
+     * Вещи удаленного пользователя удаляет каскад ON DELETE CASCADE в базе, из индекса их нужно убрать явно.
+     */
+    public void removeOwner(Long ownerId) {
+        afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                Set<Long> ids = itemsByOwner.remove(ownerId);
+                if (ids != null) {
+                    ids.forEach(this::remove);
+                }
+                if (!ready) {
+                    removedOwnersDuringLoad.add(ownerId);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private void apply(ItemSearchDocument document) {
+        lock.writeLock().lock();
+        try {
+            remove(document.getId());
+            index(document);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Основы с префиксом основы слова запроса берутся из упорядоченного словаря основ, а слова вещей,
+     * содержащие слово запроса внутри, - перебором словаря слов, который намного меньше числа вещей.
+     */
+    private Map<Long, Float> termScores(String token) {
+        String term = ItemSearchAnalyzer.stem(token);
+        Map<Long, Float> scores = new HashMap<>();
+        for (Map.Entry<String, Map<Long, Float>> entry
+            : postings.subMap(term, true, term + Character.MAX_VALUE, true).entrySet()) {
+            float factor = entry.getKey().equals(term) ? 1f : PREFIX_FACTOR;
+            entry.getValue().forEach((id, weight) -> scores.merge(id, weight * factor, Float::sum));
+        }
+        for (Map.Entry<String, Map<Long, Float>> entry : wordPostings.entrySet()) {
+            String word = entry.getKey();
+            if (word.contains(token) && !ItemSearchAnalyzer.stem(word).startsWith(term)) {
+                entry.getValue().forEach((id, weight) -> scores.merge(id, weight * INFIX_FACTOR, Float::sum));
+            }
+        }
+        return scores;
+    }
+
+    private void index(ItemSearchDocument document) {
+        Map<String, Float> weights = new HashMap<>();
+        Map<String, Float> wordWeights = new HashMap<>();
+        if (Boolean.TRUE.equals(document.getAvailable())) {
+            addTerms(weights, wordWeights, document.getName(), NAME_WEIGHT);
+            addTerms(weights, wordWeights, document.getDescription(), DESCRIPTION_WEIGHT);
+        }
+        documents.put(document.getId(), weights);
+        documentWords.put(document.getId(), wordWeights.keySet());
+        wordWeights.forEach((word, weight) ->
+            wordPostings.computeIfAbsent(word, key -> new HashMap<>()).put(document.getId(), weight));
+        if (document.getOwnerId() != null) {
+            itemsByOwner.computeIfAbsent(document.getOwnerId(), key -> new HashSet<>()).add(document.getId());
+        }
+        weights.forEach((term, weight) ->
+            postings.computeIfAbsent(term, key -> new HashMap<>()).put(document.getId(), weight));
+    }
+
+    private void addTerms(Map<String, Float> weights, Map<String, Float> wordWeights, String text, float weight) {
+        for (String token : ItemSearchAnalyzer.tokenize(text)) {
+            wordWeights.merge(token, weight, Float::sum);
+            weights.merge(ItemSearchAnalyzer.stem(token), weight, Float::sum);
+        }
+    }
+
+    private void remove(Long id) {
+        Map<String, Float> weights = documents.remove(id);
+        if (weights == null) {
+            return;
+        }
+        for (String word : documentWords.remove(id)) {
+            Map<Long, Float> ids = wordPostings.get(word);
+            ids.remove(id);
+            if (ids.isEmpty()) {
+                wordPostings.remove(word);
+            }
+        }
+        for (String term : weights.keySet()) {
+            Map<Long, Float> ids = postings.get(term);
+            ids.remove(id);
+            if (ids.isEmpty()) {
+                postings.remove(term);
+            }
+        }
+    }
+}
@@ -3,6 +3,7 @@ package ru.practicum.shareit.request;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
 import java.util.List;
 
@@ -10,5 +11,6 @@ public interface ItemRequestRepository extends JpaRepository<ItemRequest, Long>
 
     Page<ItemRequest> findByRequestorId_IdNot(Long userId, Pageable pageable);
 
+    @Query("SELECT r FROM ItemRequest r WHERE r.requestor.id = ?1 ORDER BY r.created DESC")
     List<ItemRequest> findByRequestorId_IdOrderByCreatedDesc(Long requestorId);
 }
\ No newline at end of file
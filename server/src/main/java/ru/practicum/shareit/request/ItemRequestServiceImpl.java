@@ -1,5 +1,6 @@
 package ru.practicum.shareit.request;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
@@ -13,6 +14,7 @@ import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.dto.ItemRequestResponseDto;
 import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserExistenceGuard;
 import ru.practicum.shareit.user.UserRepository;
 
 import java.time.LocalDateTime;
@@ -23,10 +25,12 @@ import java.util.stream.Collectors;
 
 @Slf4j
 @Service
+@Timed("shareit.service")
 @Transactional(readOnly = true)
 @RequiredArgsConstructor
 public class ItemRequestServiceImpl implements ItemRequestService {
     private final UserRepository userRepository;
+    private final UserExistenceGuard userExistenceGuard;
     private final ItemRequestMapper itemRequestMapper;
     private final ItemRequestRepository itemRequestRepository;
     private final ItemRepository itemRepository;
@@ -45,9 +49,10 @@ public class ItemRequestServiceImpl implements ItemRequestService {
 
     @Override
     public List<ItemRequestResponseDto> findAllItemRequestByRequestorId(Long requestorId) {
-        User user = userRepository.findById(requestorId)
-            .orElseThrow(() -> new UserNotFoundException("Не найден пользователь с id: " + requestorId));
-        log.info("Найден пользователь с id: {}", user.getId());
+        if (!userExistenceGuard.exists(requestorId)) {
+            throw new UserNotFoundException("Не найден пользователь с id: " + requestorId);
+        }
+        log.info("Найден пользователь с id: {}", requestorId);
 
         List<ItemRequest> itemRequests = itemRequestRepository.findByRequestorId_IdOrderByCreatedDesc(requestorId);
         log.info("найдено : {} запросов пользователя", itemRequests.size());
@@ -83,8 +88,9 @@ public class ItemRequestServiceImpl implements ItemRequestService {
 
     @Override
     public List<ItemRequestResponseDto> findAllItemRequests(Long userId, Pageable pageable) {
-        userRepository.findById(userId)
-            .orElseThrow(() -> new UserNotFoundException("Не найден пользователь с id: " + userId));
+        if (!userExistenceGuard.exists(userId)) {
+            throw new UserNotFoundException("Не найден пользователь с id: " + userId);
+        }
 
         Page<ItemRequest> itemRequests = itemRequestRepository.findByRequestorId_IdNot(userId, pageable);
         List<Long> itemRequestIds = itemRequests.stream()
@@ -106,8 +112,9 @@ public class ItemRequestServiceImpl implements ItemRequestService {
 
     @Override
     public ItemRequestResponseDto findItemRequestById(Long userId, Long requestId) {
-        userRepository.findById(userId)
-            .orElseThrow(() -> new UserNotFoundException("Не найден пользователь с id: " + userId));
+        if (!userExistenceGuard.exists(userId)) {
+            throw new UserNotFoundException("Не найден пользователь с id: " + userId);
+        }
 
         ItemRequest itemRequest = itemRequestRepository.findById(requestId)
             .orElseThrow(() -> new UserNotFoundException("Не найден запрос с id: " + requestId));
@@ -0,0 +1,130 @@
+package ru.practicum.shareit.user;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Проверка существования пользователя по id без загрузки сущности.
+ * Множество id загружается при старте приложения и обновляется после добавления и удаления пользователя.
+ * Пока множество не построено, а также для отсутствующих в нем id, проверка выполняется запросом к БД.
+ * Множество видит только удаления, сделанные через этот экземпляр сервера: пользователь, удаленный
+ * другим экземпляром, считается существующим здесь до перезапуска.
+ */
+@Slf4j
+@Component
+public class UserExistenceGuard {
+    private static final int LOAD_BATCH_SIZE = 10_000;
+
+    private final UserRepository userRepository;
+    private final boolean enabled;
+    private final Set<Long> ids = ConcurrentHashMap.newKeySet();
+    private final Set<Long> removedDuringLoad = new HashSet<>();
+    private final Object mutex = new Object();
+    private final AtomicLong removals = new AtomicLong();
+    private volatile boolean ready;
+
+    public UserExistenceGuard(UserRepository userRepository,
+                              @Value("${shareit.user.existence-guard.enabled:true}") boolean enabled) {
+        this.userRepository = userRepository;
+        this.enabled = enabled;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            long lastId = 0;
+            List<Long> batch;
+            do {
+                batch = userRepository.findIdsAfter(lastId, PageRequest.of(0, LOAD_BATCH_SIZE));
+                synchronized (mutex) {
+                    for (Long id : batch) {
+                        // Пользователь, удаленный во время загрузки, не должен вернуться в множество.
+                        if (!removedDuringLoad.contains(id)) {
+                            ids.add(id);
+                        }
+                    }
+                }
+                if (!batch.isEmpty()) {
+                    lastId = batch.get(batch.size() - 1);
+                }
+            } while (batch.size() == LOAD_BATCH_SIZE);
+            synchronized (mutex) {
+                removedDuringLoad.clear();
+                ready = true;
+            }
+            log.info("Загружены id пользователей: {}", ids.size());
+        } catch (DataAccessException e) {
+            log.warn("Не удалось загрузить id пользователей, проверка выполняется запросом к БД.", e);
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public boolean exists(Long userId) {
+        if (userId == null) {
+            return false;
+        }
+        if (ready && ids.contains(userId)) {
+            return true;
+        }
+        // Пользователь мог быть добавлен другим экземпляром сервера.
+        long removalsBefore = removals.get();
+        boolean exists = userRepository.existsById(userId);
+        if (exists && ready) {
+            ids.add(userId);
+            // Удаление, завершившееся во время запроса, могло пройти до добавления id и не убрать его.
+            if (removals.get() != removalsBefore) {
+                ids.remove(userId);
+            }
+        }
+        return exists;
+    }
+
+    public void added(Long userId) {
+        afterCommit(() -> ids.add(userId));
+    }
+
+    public void removed(Long userId) {
+        afterCommit(() -> {
+            synchronized (mutex) {
+                // Счетчик увеличивается до удаления id, чтобы exists увидел его после своего добавления.
+                removals.incrementAndGet();
+                ids.remove(userId);
+                if (!ready) {
+                    removedDuringLoad.add(userId);
+                }
+            }
+        });
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
@@ -1,9 +1,16 @@
 package ru.practicum.shareit.user;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
     boolean existsByEmail(String email);
+
+    @Query("SELECT u.id FROM User u WHERE u.id > ?1 ORDER BY u.id ASC")
+    List<Long> findIdsAfter(Long id, Pageable pageable);
 }
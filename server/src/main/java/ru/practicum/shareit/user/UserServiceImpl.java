@@ -1,10 +1,15 @@
 package ru.practicum.shareit.user;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import ru.practicum.shareit.booking.BookingIntervalIndex;
+import ru.practicum.shareit.config.EntityCacheEvictor;
 import ru.practicum.shareit.exception.UserNotFoundException;
 import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.search.ItemSearchIndex;
 import ru.practicum.shareit.user.dto.UserDto;
 
 import java.util.ArrayList;
@@ -12,18 +17,25 @@ import java.util.List;
 
 @Slf4j
 @Service
+@Timed("shareit.service")
 @RequiredArgsConstructor
 public class UserServiceImpl implements UserService {
     private final UserRepository userRepository;
+    private final ItemRepository itemRepository;
     private final UserMapper userMapper;
+    private final EntityCacheEvictor entityCacheEvictor;
+    private final UserExistenceGuard userExistenceGuard;
+    private final ItemSearchIndex itemSearchIndex;
+    private final BookingIntervalIndex bookingIntervalIndex;
 
     @Override
     public UserDto addUser(UserDto userDto) {
         if (userDto.getEmail() == null || userDto.getEmail().length() == 0) {
             throw new ValidationException("Некорректный ввод. Пустое поле email.");
         }
-        User user = userMapper.toUser(userDto);
-        return userMapper.toUserDto(userRepository.save(user));
+        User user = userRepository.save(userMapper.toUser(userDto));
+        userExistenceGuard.added(user.getId());
+        return userMapper.toUserDto(user);
     }
 
 
@@ -63,6 +75,11 @@ public class UserServiceImpl implements UserService {
 
     @Override
     public void deleteUserById(Long userId) {
+        List<Long> itemIds = itemRepository.findIdsByOwnerId(userId);
         userRepository.deleteById(userId);
+        userExistenceGuard.removed(userId);
+        entityCacheEvictor.evictItemsOfDeletedOwner(itemIds);
+        itemSearchIndex.removeOwner(userId);
+        bookingIntervalIndex.removeBooker(userId);
     }
 }
@@ -1,24 +1,18 @@
-DROP TABLE IF EXISTS comments CASCADE;
-DROP TABLE IF EXISTS bookings CASCADE;
-DROP TABLE IF EXISTS requests CASCADE;
-DROP TABLE IF EXISTS items CASCADE;
-DROP TABLE IF EXISTS users CASCADE;
-
-CREATE TABLE IF NOT EXISTS USERS (
+CREATE TABLE USERS (
  id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
  name VARCHAR(64) NOT NULL,
  email VARCHAR(300) NOT NULL,
  CONSTRAINT UQ_USER_EMAIL UNIQUE (email)
 );
 
-CREATE TABLE IF NOT EXISTS ITEM_REQUESTS (
+CREATE TABLE ITEM_REQUESTS (
  id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
  description VARCHAR(300) NOT NULL DEFAULT '',
  requestor_id BIGINT REFERENCES USERS (id),
  created TIMESTAMP WITHOUT TIME ZONE NOT NULL
 );
 
-CREATE TABLE IF NOT EXISTS ITEMS (
+CREATE TABLE ITEMS (
  id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
  name VARCHAR(64) NOT NULL,
  description VARCHAR(300) NOT NULL DEFAULT '',
@@ -28,7 +22,7 @@ CREATE TABLE IF NOT EXISTS ITEMS (
 CONSTRAINT uq_name UNIQUE (owner_id, name)
 );
 
-CREATE TABLE IF NOT EXISTS BOOKINGS (
+CREATE TABLE BOOKINGS (
  id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
  start_date TIMESTAMP WITHOUT TIME ZONE NOT NULL,
  end_date TIMESTAMP WITHOUT TIME ZONE NOT NULL,
@@ -37,7 +31,7 @@ CREATE TABLE IF NOT EXISTS BOOKINGS (
  status VARCHAR(20) NOT NULL
 );
 
-CREATE TABLE IF NOT EXISTS COMMENTS (
+CREATE TABLE COMMENTS (
  id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
  text VARCHAR(300) NOT NULL DEFAULT '',
  item_id BIGINT REFERENCES ITEMS (id) ON DELETE CASCADE,
@@ -0,0 +1,17 @@
+-- Списки бронирований арендатора (BookingSearchRepository, countAllByItemIdAndBookerIdAndEndBefore)
+CREATE INDEX ix_bookings_booker_start ON BOOKINGS (booker_id, start_date DESC, id DESC);
+
+-- Списки бронирований владельца через items.owner_id и интервалы бронирований вещи (findIntervalsByItemId)
+CREATE INDEX ix_bookings_item_start ON BOOKINGS (item_id, start_date DESC, id DESC);
+
+-- Последнее и следующее подтвержденное бронирование вещи (findLastAndNextBookings*)
+CREATE INDEX ix_bookings_item_status_start ON BOOKINGS (item_id, status, start_date);
+
+-- Вещи, созданные по запросу (findByRequestId, findByRequestIdIn)
+CREATE INDEX ix_items_request ON ITEMS (request_id);
+
+-- Комментарии к вещам (getAllByItemIdOrderByCreatedAsc, findAllByItemIdIn)
+CREATE INDEX ix_comments_item_created ON COMMENTS (item_id, created);
+
+-- Собственные запросы пользователя (findByRequestorId_IdOrderByCreatedDesc)
+CREATE INDEX ix_item_requests_requestor_created ON ITEM_REQUESTS (requestor_id, created DESC);
@@ -0,0 +1,7 @@
+-- Hibernate pooled-оптимизатор считает значение последовательности верхней границей блока из 50 id,
+-- поэтому для уже заполненных таблиц последовательность сдвигается на 50 после максимального id.
+SELECT setval('users_seq', COALESCE(MAX(id), 0) + 50, false) FROM users;
+SELECT setval('item_requests_seq', COALESCE(MAX(id), 0) + 50, false) FROM item_requests;
+SELECT setval('items_seq', COALESCE(MAX(id), 0) + 50, false) FROM items;
+SELECT setval('bookings_seq', COALESCE(MAX(id), 0) + 50, false) FROM bookings;
+SELECT setval('comments_seq', COALESCE(MAX(id), 0) + 50, false) FROM comments;
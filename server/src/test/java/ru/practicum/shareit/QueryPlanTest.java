@@ -0,0 +1,221 @@
+package ru.practicum.shareit;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.function.Executable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import ru.practicum.shareit.booking.BookingCursor;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.BookingRole;
+import ru.practicum.shareit.booking.BookingState;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.comment.CommentRepository;
+import ru.practicum.shareit.request.ItemRequestRepository;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * Проверяет по EXPLAIN, что основные запросы репозиториев используют индексы из миграций,
+ * а не полный просмотр таблицы. Проверяется SQL, который Hibernate сгенерировал при вызове метода репозитория.
+ */
+@DataJpaTest
+@Import(QueryPlanTest.SqlCaptureConfig.class)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class QueryPlanTest {
+    private static final int USERS = 100;
+    private static final int REQUESTS = 200;
+    private static final int ITEMS = 500;
+    private static final int BOOKINGS = 5000;
+    private static final int COMMENTS = 1000;
+    private static final LocalDateTime NOW = LocalDateTime.of(2030, 1, 1, 0, 0);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TestEntityManager entityManager;
+    private final SqlCapture sqlCapture;
+    private final BookingRepository bookingRepository;
+    private final ItemRepository itemRepository;
+    private final CommentRepository commentRepository;
+    private final ItemRequestRepository itemRequestRepository;
+
+    @Autowired
+    QueryPlanTest(DataSource dataSource, TestEntityManager entityManager, SqlCapture sqlCapture,
+                  BookingRepository bookingRepository, ItemRepository itemRepository,
+                  CommentRepository commentRepository, ItemRequestRepository itemRequestRepository) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.entityManager = entityManager;
+        this.sqlCapture = sqlCapture;
+        this.bookingRepository = bookingRepository;
+        this.itemRepository = itemRepository;
+        this.commentRepository = commentRepository;
+        this.itemRequestRepository = itemRequestRepository;
+    }
+
+    @BeforeEach
+    public void beforeEach() {
+        LocalDateTime start = NOW;
+
+        List<Object[]> users = new ArrayList<>();
+        for (long id = 1; id <= USERS; id++) {
+            users.add(new Object[]{id, "user" + id, "user" + id + "@yandex.ru"});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO users (id, name, email) VALUES (?, ?, ?)", users);
+
+        List<Object[]> requests = new ArrayList<>();
+        for (long id = 1; id <= REQUESTS; id++) {
+            requests.add(new Object[]{id, "request" + id, id % USERS + 1, Timestamp.valueOf(start.minusHours(id))});
+        }
+        jdbcTemplate.batchUpdate(
+            "INSERT INTO item_requests (id, description, requestor_id, created) VALUES (?, ?, ?, ?)", requests);
+
+        List<Object[]> items = new ArrayList<>();
+        for (long id = 1; id <= ITEMS; id++) {
+            Long requestId = id % 5 == 0 ? id % REQUESTS + 1 : null;
+            items.add(new Object[]{id, "item" + id, "description" + id, true, id % USERS + 1, requestId});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO items (id, name, description, is_available, owner_id, request_id) " +
+            "VALUES (?, ?, ?, ?, ?, ?)", items);
+
+        List<Object[]> bookings = new ArrayList<>();
+        for (long id = 1; id <= BOOKINGS; id++) {
+            LocalDateTime bookingStart = start.plusDays(id / ITEMS - 5);
+            bookings.add(new Object[]{id, Timestamp.valueOf(bookingStart), Timestamp.valueOf(bookingStart.plusHours(12)),
+                id % ITEMS + 1, id % USERS + 1, id % 3 == 0 ? "WAITING" : "APPROVED"});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO bookings (id, start_date, end_date, item_id, booker_id, status) " +
+            "VALUES (?, ?, ?, ?, ?, ?)", bookings);
+
+        List<Object[]> comments = new ArrayList<>();
+        for (long id = 1; id <= COMMENTS; id++) {
+            comments.add(new Object[]{id, "comment" + id, id % ITEMS + 1, id % USERS + 1,
+                Timestamp.valueOf(start.minusMinutes(id))});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO comments (id, text, item_id, author_id, created) VALUES (?, ?, ?, ?, ?)",
+            comments);
+
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    @Test
+    @DisplayName("Основные запросы выполняются без полного просмотра таблиц")
+    public void hotQueriesShouldNotScanTablesTest() {
+        List<Executable> checks = new ArrayList<>();
+        hotQueries().forEach((name, query) -> {
+            List<String> statements = captureSql(query);
+            checks.add(() -> assertFalse(statements.isEmpty(), name + ": запрос не выполнен"));
+            for (String sql : statements) {
+                checks.add(() -> {
+                    String plan = jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class);
+                    assertFalse(plan.contains(".tableScan"), name + ": полный просмотр таблицы\n" + plan);
+                });
+            }
+        });
+        assertAll(checks);
+    }
+
+    private List<String> captureSql(Runnable query) {
+        entityManager.clear();
+        sqlCapture.start();
+        try {
+            query.run();
+            return sqlCapture.statements();
+        } finally {
+            sqlCapture.stop();
+        }
+    }
+
+    private Map<String, Runnable> hotQueries() {
+        Map<String, Runnable> queries = new LinkedHashMap<>();
+        queries.put("Бронирования арендатора",
+            () -> bookingRepository.findAllFrom(BookingRole.BOOKER, 7L, BookingState.ALL, PageRequest.of(0, 10)));
+        queries.put("Бронирования арендатора после курсора",
+            () -> bookingRepository.findAllAfter(BookingRole.BOOKER, 7L, BookingState.ALL,
+                new BookingCursor(NOW, 100L), 10));
+        queries.put("Бронирования владельца",
+            () -> bookingRepository.findAllFrom(BookingRole.OWNER, 7L, BookingState.ALL, PageRequest.of(0, 10)));
+        queries.put("Последнее и следующее бронирования вещи",
+            () -> bookingRepository.findLastAndNextBookings(7L, NOW, BookingStatus.APPROVED));
+        queries.put("Последнее и следующее бронирования вещей владельца",
+            () -> bookingRepository.findLastAndNextBookingsByItemIds(List.of(1L, 2L, 3L), NOW,
+                BookingStatus.APPROVED));
+        queries.put("Карточка вещи",
+            () -> itemRepository.findDetailRows(7L, NOW, true));
+        queries.put("Интервалы бронирований вещи",
+            () -> bookingRepository.findIntervalsByItemId(7L, NOW));
+        queries.put("Пересечение бронирований вещи",
+            () -> bookingRepository.hasOverlappingBookings1(7L, NOW, NOW.plusDays(1)));
+        queries.put("Завершенные бронирования вещи пользователем",
+            () -> bookingRepository.countAllByItemIdAndBookerIdAndEndBefore(7L, 8L, NOW));
+        queries.put("Вещи владельца",
+            () -> itemRepository.findAllByOwnerId(7L));
+        queries.put("Вещи по запросам",
+            () -> itemRepository.findByRequestIdIn(List.of(1L, 2L, 3L)));
+        queries.put("Комментарии к вещам",
+            () -> commentRepository.findAllByItemIdIn(List.of(1L, 2L, 3L)));
+        queries.put("Запросы пользователя",
+            () -> itemRequestRepository.findByRequestorId_IdOrderByCreatedDesc(7L));
+        return queries;
+    }
+
+    /**
+     * Запоминает SQL, который Hibernate подготовил в текущем потоке, пока включен.
+     */
+    static class SqlCapture implements StatementInspector {
+        private final ThreadLocal<List<String>> statements = new ThreadLocal<>();
+
+        @Override
+        public String inspect(String sql) {
+            List<String> captured = statements.get();
+            if (captured != null) {
+                captured.add(sql);
+            }
+            return sql;
+        }
+
+        void start() {
+            statements.set(new ArrayList<>());
+        }
+
+        List<String> statements() {
+            return List.copyOf(statements.get());
+        }
+
+        void stop() {
+            statements.remove();
+        }
+    }
+
+    @TestConfiguration
+    static class SqlCaptureConfig {
+        @Bean
+        SqlCapture sqlCapture() {
+            return new SqlCapture();
+        }
+
+        @Bean
+        HibernatePropertiesCustomizer sqlCaptureCustomizer(SqlCapture sqlCapture) {
+            return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, sqlCapture);
+        }
+    }
+}
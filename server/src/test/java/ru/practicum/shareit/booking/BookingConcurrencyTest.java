@@ -0,0 +1,173 @@
+package ru.practicum.shareit.booking;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.booking.dto.BookingRequestDto;
+import ru.practicum.shareit.exception.ConflictException;
+import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.item.dto.ItemResponseDto;
+import ru.practicum.shareit.user.UserService;
+import ru.practicum.shareit.user.dto.UserDto;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class BookingConcurrencyTest {
+    private static final int THREADS = 16;
+
+    private final BookingService bookingService;
+    private final BookingRepository bookingRepository;
+    private final ItemService itemService;
+    private final UserService userService;
+
+    private final LocalDateTime start = LocalDateTime.now().plusDays(1);
+    private Long itemId;
+    private Long ownerId;
+    private Long bookerId;
+
+    @BeforeEach
+    public void beforeEach() {
+        UserDto owner = userService.addUser(UserDto.builder()
+            .name("owner")
+            .email("owner@yandex.ru")
+            .build());
+        UserDto booker = userService.addUser(UserDto.builder()
+            .name("booker")
+            .email("booker@yandex.ru")
+            .build());
+        ItemResponseDto item = itemService.addItem(ItemResponseDto.builder()
+            .name("item")
+            .description("description")
+            .available(true)
+            .build(), owner.getId());
+        itemId = item.getId();
+        ownerId = owner.getId();
+        bookerId = booker.getId();
+    }
+
+    /**
+     * Бронирования фиксируются в общей базе, поэтому пользователи удаляются вместе с вещью и бронированиями.
+     */
+    @AfterEach
+    public void afterEach() {
+        userService.deleteUserById(bookerId);
+        userService.deleteUserById(ownerId);
+    }
+
+    @Nested
+    @DisplayName("Одновременное бронирование одной вещи")
+    class ConcurrentBooking {
+        @Test
+        @DisplayName("Одинаковый период бронируется только один раз")
+        public void shouldBookSamePeriodOnce() throws Exception {
+            List<Boolean> results = runConcurrently(i -> request(start, start.plusHours(2)));
+
+            assertEquals(1, results.stream().filter(Boolean::booleanValue).count());
+            assertEquals(1, bookingRepository.findIntervalsByItemId(itemId, LocalDateTime.now()).size());
+        }
+
+        @Test
+        @DisplayName("Пересекающиеся периоды не сохраняются")
+        public void shouldNotSaveOverlappingPeriods() throws Exception {
+            List<Boolean> results = runConcurrently(i -> request(start.plusHours(i), start.plusHours(i + 3)));
+
+            List<BookingInterval> intervals = bookingRepository.findIntervalsByItemId(itemId, LocalDateTime.now());
+            assertEquals(results.stream().filter(Boolean::booleanValue).count(), intervals.size());
+            assertFalse(intervals.isEmpty());
+            for (int i = 1; i < intervals.size(); i++) {
+                BookingInterval previous = intervals.get(i - 1);
+                BookingInterval current = intervals.get(i);
+                assertFalse(previous.overlaps(current.getStart(), current.getEnd()),
+                    "Пересечение бронирований " + previous + " и " + current);
+            }
+        }
+    }
+
+    @Nested
+    @DisplayName("Удаление пользователя")
+    class DeleteUser {
+        @Test
+        @DisplayName("После удаления арендатора его период снова доступен")
+        public void shouldBookPeriodOfDeletedBooker() {
+            UserDto deleted = userService.addUser(UserDto.builder()
+                .name("deleted")
+                .email("deleted@yandex.ru")
+                .build());
+            bookingService.addBooking(request(start, start.plusHours(2)), deleted.getId());
+
+            userService.deleteUserById(deleted.getId());
+
+            bookingService.addBooking(request(start, start.plusHours(2)), bookerId);
+            assertEquals(1, bookingRepository.findIntervalsByItemId(itemId, LocalDateTime.now()).size());
+        }
+    }
+
+    private BookingRequestDto request(LocalDateTime bookingStart, LocalDateTime bookingEnd) {
+        return BookingRequestDto.builder()
+            .itemId(itemId)
+            .start(bookingStart)
+            .end(bookingEnd)
+            .build();
+    }
+
+    private List<Boolean> runConcurrently(RequestFactory factory) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch ready = new CountDownLatch(THREADS);
+        CountDownLatch go = new CountDownLatch(1);
+        try {
+            List<Future<Boolean>> futures = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                BookingRequestDto bookingDto = factory.create(i);
+                Callable<Boolean> task = () -> {
+                    ready.countDown();
+                    go.await();
+                    try {
+                        bookingService.addBooking(bookingDto, bookerId);
+                        return true;
+                    } catch (ConflictException e) {
+                        return false;
+                    }
+                };
+                futures.add(executor.submit(task));
+            }
+            assertTrue(ready.await(10, TimeUnit.SECONDS));
+            go.countDown();
+
+            List<Boolean> results = new ArrayList<>();
+            for (Future<Boolean> future : futures) {
+                try {
+                    results.add(future.get(30, TimeUnit.SECONDS));
+                } catch (ExecutionException e) {
+                    throw new AssertionError("Неожиданная ошибка бронирования", e.getCause());
+                }
+            }
+            return results;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private interface RequestFactory {
+        BookingRequestDto create(int index);
+    }
+}
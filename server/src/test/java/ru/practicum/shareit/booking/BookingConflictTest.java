@@ -0,0 +1,123 @@
+package ru.practicum.shareit.booking;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.exception.ConstraintViolationException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import ru.practicum.shareit.booking.dto.BookingRequestDto;
+import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.item.dto.ItemResponseDto;
+import ru.practicum.shareit.user.UserService;
+import ru.practicum.shareit.user.dto.UserDto;
+
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Пересечение периодов отклоняется кодом 409 и индексом, и ограничением ex_booking_item_period.
+ * Ограничение есть только в миграции для PostgreSQL, поэтому его ошибка воспроизводится через репозиторий.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class BookingConflictTest {
+    private static final String CONFLICT_MESSAGE = "В данный момент бронирование не доступно.";
+
+    @SpyBean
+    private BookingRepository bookingRepository;
+
+    private final MockMvc mockMvc;
+    private final ObjectMapper objectMapper;
+    private final ItemService itemService;
+    private final UserService userService;
+
+    private final LocalDateTime start = LocalDateTime.now().plusDays(1);
+    private Long itemId;
+    private Long ownerId;
+    private Long bookerId;
+
+    @BeforeEach
+    public void beforeEach() {
+        UserDto owner = userService.addUser(UserDto.builder()
+            .name("owner")
+            .email("conflict-owner@yandex.ru")
+            .build());
+        UserDto booker = userService.addUser(UserDto.builder()
+            .name("booker")
+            .email("conflict-booker@yandex.ru")
+            .build());
+        ItemResponseDto item = itemService.addItem(ItemResponseDto.builder()
+            .name("item")
+            .description("description")
+            .available(true)
+            .build(), owner.getId());
+        itemId = item.getId();
+        ownerId = owner.getId();
+        bookerId = booker.getId();
+    }
+
+    @AfterEach
+    public void afterEach() {
+        userService.deleteUserById(bookerId);
+        userService.deleteUserById(ownerId);
+    }
+
+    @Nested
+    @DisplayName("Пересечение периодов бронирования")
+    class Overlap {
+        @Test
+        @DisplayName("Пересечение, найденное индексом, возвращает 409")
+        public void shouldReturnConflictForOverlapFoundByIndex() throws Exception {
+            addBooking(start, start.plusHours(2))
+                .andExpect(status().isOk());
+
+            addBooking(start.plusHours(1), start.plusHours(3))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.error").value(CONFLICT_MESSAGE));
+        }
+
+        @Test
+        @DisplayName("Нарушение ограничения на пересечение в БД возвращает 409")
+        public void shouldReturnConflictForExclusionConstraintViolation() throws Exception {
+            SQLException cause = new SQLException("ERROR: conflicting key value violates exclusion constraint " +
+                "\"ex_booking_item_period\"", "23P01");
+            doThrow(new DataIntegrityViolationException("could not execute statement",
+                new ConstraintViolationException("could not execute statement", cause, "ex_booking_item_period")))
+                .when(bookingRepository).saveAndFlush(any());
+
+            addBooking(start, start.plusHours(2))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.error").value(CONFLICT_MESSAGE));
+        }
+    }
+
+    private ResultActions addBooking(LocalDateTime bookingStart, LocalDateTime bookingEnd) throws Exception {
+        BookingRequestDto bookingDto = BookingRequestDto.builder()
+            .itemId(itemId)
+            .start(bookingStart)
+            .end(bookingEnd)
+            .build();
+        return mockMvc.perform(post("/bookings")
+            .header("X-Sharer-User-Id", bookerId)
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(objectMapper.writeValueAsString(bookingDto)));
+    }
+}
@@ -13,8 +13,12 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.booking.dto.BookingDecisionDto;
+import ru.practicum.shareit.booking.dto.BookingDecisionResultDto;
+import ru.practicum.shareit.booking.dto.BookingExportDto;
 import ru.practicum.shareit.booking.dto.BookingRequestDto;
 import ru.practicum.shareit.booking.dto.BookingResponseDto;
 import ru.practicum.shareit.item.dto.ItemResponseDto;
@@ -23,7 +27,10 @@ import ru.practicum.shareit.user.dto.UserDto;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -32,6 +39,7 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(controllers = BookingController.class)
@@ -152,6 +160,31 @@ class BookingControllerTest {
                 ArgumentMatchers.eq(true));
         }
 
+        @Test
+        @DisplayName("Пакетное подтверждение и отклонение бронирований")
+        public void methodPatch_DecisionsTest() throws Exception {
+            List<BookingDecisionDto> decisions = List.of(
+                BookingDecisionDto.builder().bookingId(1L).approved(true).build(),
+                BookingDecisionDto.builder().bookingId(2L).approved(false).build());
+            List<BookingDecisionResultDto> results = List.of(
+                BookingDecisionResultDto.applied(1L, BookingStatus.APPROVED),
+                BookingDecisionResultDto.failed(2L, "Бронирование уже подтверждено."));
+
+            when(bookingService.approveBookings(ArgumentMatchers.anyList(), ArgumentMatchers.eq(user1.getId())))
+                .thenReturn(results);
+
+            mockMvc.perform(patch("/bookings")
+                    .header("X-Sharer-User-Id", user1.getId())
+                    .content(objectMapper.writeValueAsString(decisions))
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(content().json(objectMapper.writeValueAsString(results)));
+
+            verify(bookingService, times(1)).approveBookings(ArgumentMatchers.anyList(),
+                ArgumentMatchers.eq(user1.getId()));
+        }
+
         @Test
         @DisplayName("Отказ бронирования")
         public void methodPatch_RejectTest() throws Exception {
@@ -310,5 +343,91 @@ class BookingControllerTest {
                     ArgumentMatchers.any(),
                     ArgumentMatchers.any());
         }
+
+        @Test
+        @DisplayName("Получение бронирования пользователем по курсору, state: ALL, size: 10")
+        public void methodGet_WithCursorByUserTest() throws Exception {
+            LocalDateTime cursorStart = LocalDateTime.of(2030, 1, 1, 12, 0);
+            when(bookingService.findAllBookingByUserIdAfter(
+                ArgumentMatchers.eq(userDto2.getId()),
+                ArgumentMatchers.eq(BookingState.ALL),
+                ArgumentMatchers.argThat(cursor -> cursor.getStart().equals(cursorStart) && cursor.getId() == 5L),
+                ArgumentMatchers.eq(size)))
+                .thenReturn(List.of(bookingResponseDto1));
+
+            mockMvc.perform(get("/bookings?state={state}&size={size}&after={after}", "ALL", size,
+                    "2030-01-01T12:00:00,5")
+                    .header("X-Sharer-User-Id", user2.getId()))
+                .andExpect(status().isOk())
+                .andExpect(content().json(objectMapper.writeValueAsString(List.of(bookingResponseDto1))));
+
+            verify(bookingService, never())
+                .findAllBookingByUserId(ArgumentMatchers.any(), ArgumentMatchers.any(), ArgumentMatchers.any());
+        }
+
+        @Test
+        @DisplayName("Получение бронирования владельцем по курсору, state: WAITING, size: 10")
+        public void methodGet_WithCursorByOwnerTest() throws Exception {
+            when(bookingService.findAllBookingByOwnerIdAfter(
+                ArgumentMatchers.eq(itemDto.getOwnerId()),
+                ArgumentMatchers.eq(BookingState.WAITING),
+                ArgumentMatchers.any(BookingCursor.class),
+                ArgumentMatchers.eq(size)))
+                .thenReturn(List.of(bookingResponseDto2));
+
+            mockMvc.perform(get("/bookings/owner?state={state}&size={size}&after={after}", "WAITING", size,
+                    "2030-01-01T12:00:00,5")
+                    .header("X-Sharer-User-Id", user1.getId()))
+                .andExpect(status().isOk())
+                .andExpect(content().json(objectMapper.writeValueAsString(List.of(bookingResponseDto2))));
+        }
+
+        @Test
+        @DisplayName("Получение бронирования по некорректному курсору")
+        public void methodGet_ThrowExceptionIfCursorInvalidTest() throws Exception {
+            mockMvc.perform(get("/bookings?size={size}&after={after}", size, "yesterday")
+                    .header("X-Sharer-User-Id", user2.getId()))
+                .andExpect(status().is4xxClientError());
+
+            verify(bookingService, never()).findAllBookingByUserIdAfter(
+                ArgumentMatchers.any(), ArgumentMatchers.any(), ArgumentMatchers.any(), ArgumentMatchers.anyInt());
+        }
+    }
+
+    @Nested
+    @DisplayName("GET export")
+    public class MethodGetExport {
+        private final BookingExportDto exportDto = new BookingExportDto(1L, 1L, "item", user2.getId(),
+            LocalDateTime.of(2030, 1, 1, 10, 0), LocalDateTime.of(2030, 1, 2, 10, 0), BookingStatus.APPROVED);
+
+        @Test
+        @DisplayName("Выгрузка бронирований владельца в CSV")
+        public void methodGet_ExportByOwnerCsvTest() throws Exception {
+            doAnswer(invocation -> {
+                Consumer<Stream<BookingExportDto>> sink = invocation.getArgument(3);
+                sink.accept(Stream.of(exportDto));
+                return null;
+            }).when(bookingService).exportBookings(ArgumentMatchers.eq(BookingRole.OWNER),
+                ArgumentMatchers.eq(user1.getId()), ArgumentMatchers.eq(BookingState.ALL), ArgumentMatchers.any());
+
+            mockMvc.perform(get("/bookings/owner/export?format={format}", "csv")
+                    .header("X-Sharer-User-Id", user1.getId()))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"bookings.csv\""))
+                .andExpect(content().contentTypeCompatibleWith("text/csv"))
+                .andExpect(content().string("id,itemId,itemName,bookerId,start,end,status\n"
+                    + "1,1,item,2,2030-01-01T10:00:00,2030-01-02T10:00:00,APPROVED\n"));
+        }
+
+        @Test
+        @DisplayName("Выгрузка бронирований в неизвестном формате")
+        public void methodGet_ThrowExceptionIfFormatUnknownTest() throws Exception {
+            mockMvc.perform(get("/bookings/export?format={format}", "xml")
+                    .header("X-Sharer-User-Id", user2.getId()))
+                .andExpect(status().is4xxClientError());
+
+            verify(bookingService, never()).exportBookings(ArgumentMatchers.any(), ArgumentMatchers.any(),
+                ArgumentMatchers.any(), ArgumentMatchers.any());
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,232 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.user.User;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeast;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static ru.practicum.shareit.booking.BookingStatus.APPROVED;
+import static ru.practicum.shareit.booking.BookingStatus.REJECTED;
+import static ru.practicum.shareit.booking.BookingStatus.WAITING;
+
+@ExtendWith(MockitoExtension.class)
+class BookingIntervalIndexTest {
+    @Mock
+    private BookingRepository bookingRepository;
+
+    private BookingIntervalIndex bookingIntervalIndex;
+
+    private final LocalDateTime now = LocalDateTime.now();
+    private final User owner = User.builder()
+        .id(1L)
+        .name("One")
+        .email("one@yandex.ru")
+        .build();
+    private final User booker = User.builder()
+        .id(2L)
+        .name("Two")
+        .email("two@yandex.ru")
+        .build();
+    private final Item item = Item.builder()
+        .id(1L)
+        .name("item")
+        .description("description")
+        .available(true)
+        .owner(owner)
+        .build();
+    private final BookingInterval interval = new BookingInterval(1L, 2L, now.plusDays(1), now.plusDays(3), APPROVED);
+
+    @BeforeEach
+    public void beforeEach() {
+        bookingIntervalIndex = new BookingIntervalIndex(bookingRepository, 1000, Duration.ofMinutes(30));
+    }
+
+    @Nested
+    class HasOverlap {
+        @Test
+        public void shouldLoadItemIntervalsOnce() {
+            when(bookingRepository.findIntervalsByItemId(eq(item.getId()), any())).thenReturn(List.of(interval));
+
+            bookingIntervalIndex.hasOverlap(item.getId(), now.plusDays(5), now.plusDays(6));
+            bookingIntervalIndex.hasOverlap(item.getId(), now.plusDays(7), now.plusDays(8));
+
+            verify(bookingRepository, times(1)).findIntervalsByItemId(eq(item.getId()), any());
+            verify(bookingRepository, never()).hasOverlappingBookings1(any(), any(), any());
+        }
+
+        @Test
+        public void shouldDetectOverlap() {
+            when(bookingRepository.findIntervalsByItemId(eq(item.getId()), any())).thenReturn(List.of(interval));
+
+            assertTrue(bookingIntervalIndex.hasOverlap(item.getId(), now.plusDays(2), now.plusDays(4)));
+            assertTrue(bookingIntervalIndex.hasOverlap(item.getId(), now, now.plusDays(2)));
+            assertTrue(bookingIntervalIndex.hasOverlap(item.getId(), now.plusDays(2), now.plusDays(2).plusHours(1)));
+            assertTrue(bookingIntervalIndex.hasOverlap(item.getId(), now, now.plusDays(4)));
+        }
+
+        @Test
+        public void shouldNotDetectOverlapForAdjacentIntervals() {
+            when(bookingRepository.findIntervalsByItemId(eq(item.getId()), any())).thenReturn(List.of(interval));
+
+            assertFalse(bookingIntervalIndex.hasOverlap(item.getId(), now, now.plusDays(1)));
+            assertFalse(bookingIntervalIndex.hasOverlap(item.getId(), now.plusDays(3), now.plusDays(4)));
+        }
+
+        @Test
+        public void shouldFallbackToDatabaseForOverlappingIntervals() {
+            BookingInterval overlapping = new BookingInterval(2L, 2L, now.plusDays(2), now.plusDays(4), REJECTED);
+            when(bookingRepository.findIntervalsByItemId(eq(item.getId()), any()))
+                .thenReturn(List.of(interval, overlapping));
+            when(bookingRepository.hasOverlappingBookings1(any(), any(), any())).thenReturn(true);
+
+            assertTrue(bookingIntervalIndex.hasOverlap(item.getId(), now.plusDays(5), now.plusDays(6)));
+            verify(bookingRepository, times(1)).hasOverlappingBookings1(any(), any(), any());
+        }
+    }
+
+    @Nested
+    class Put {
+        @Test
+        public void shouldAddSavedBookingToLoadedItem() {
+            when(bookingRepository.findIntervalsByItemId(eq(item.getId()), any())).thenReturn(List.of());
+            assertFalse(bookingIntervalIndex.hasOverlap(item.getId(), now.plusDays(1), now.plusDays(2)));
+
+            bookingIntervalIndex.put(booking(5L, now.plusDays(1), now.plusDays(2), WAITING));
+
+            assertTrue(bookingIntervalIndex.hasOverlap(item.getId(), now.plusDays(1), now.plusDays(2)));
+            verify(bookingRepository, times(1)).findIntervalsByItemId(eq(item.getId()), any());
+        }
+
+        @Test
+        public void shouldReplaceIntervalOnStatusChange() {
+            when(bookingRepository.findIntervalsByItemId(eq(item.getId()), any())).thenReturn(List.of(interval));
+            assertTrue(bookingIntervalIndex.hasOverlap(item.getId(), now.plusDays(2), now.plusDays(4)));
+
+            bookingIntervalIndex.put(booking(interval.getId(), interval.getStart(), interval.getEnd(), REJECTED));
+
+            assertTrue(bookingIntervalIndex.hasOverlap(item.getId(), now.plusDays(2), now.plusDays(4)));
+            verify(bookingRepository, never()).hasOverlappingBookings1(any(), any(), any());
+        }
+
+        @Test
+        public void shouldNotLoadItemOnPut() {
+            bookingIntervalIndex.put(booking(5L, now.plusDays(1), now.plusDays(2), WAITING));
+
+            verify(bookingRepository, never()).findIntervalsByItemId(any(), any());
+        }
+    }
+
+    @Nested
+    class FindIntervals {
+        @Test
+        public void shouldReturnIntervalsOverlappingRange() {
+            BookingInterval later = new BookingInterval(2L, 2L, now.plusDays(5), now.plusDays(6), WAITING);
+            BookingInterval outside = new BookingInterval(3L, 2L, now.plusDays(9), now.plusDays(10), APPROVED);
+            when(bookingRepository.findIntervalsByItemId(eq(item.getId()), any()))
+                .thenReturn(List.of(interval, later, outside));
+
+            List<BookingInterval> found = bookingIntervalIndex.findIntervals(item.getId(), now.plusDays(2),
+                now.plusDays(9));
+
+            assertEquals(List.of(interval, later), found);
+        }
+
+        @Test
+        public void shouldSeeBookingAddedAfterLoad() {
+            when(bookingRepository.findIntervalsByItemId(eq(item.getId()), any())).thenReturn(List.of());
+            assertTrue(bookingIntervalIndex.findIntervals(item.getId(), now, now.plusDays(3)).isEmpty());
+
+            bookingIntervalIndex.put(booking(5L, now.plusDays(1), now.plusDays(2), WAITING));
+
+            assertEquals(1, bookingIntervalIndex.findIntervals(item.getId(), now, now.plusDays(3)).size());
+            verify(bookingRepository, times(1)).findIntervalsByItemId(eq(item.getId()), any());
+        }
+
+        @Test
+        public void shouldQueryDatabaseForOverlappingIntervals() {
+            BookingInterval overlapping = new BookingInterval(2L, 2L, now.plusDays(2), now.plusDays(4), REJECTED);
+            BookingInterval outside = new BookingInterval(3L, 2L, now.plusDays(9), now.plusDays(10), APPROVED);
+            when(bookingRepository.findIntervalsByItemId(eq(item.getId()), any()))
+                .thenReturn(List.of(interval, overlapping))
+                .thenReturn(List.of(interval, overlapping, outside));
+
+            List<BookingInterval> found = bookingIntervalIndex.findIntervals(item.getId(), now, now.plusDays(5));
+
+            assertEquals(List.of(interval, overlapping), found);
+            verify(bookingRepository, times(2)).findIntervalsByItemId(eq(item.getId()), any());
+        }
+    }
+
+    @Nested
+    class RemoveBooker {
+        @Test
+        public void shouldReloadItemWithBookingsOfRemovedBooker() {
+            when(bookingRepository.findIntervalsByItemId(eq(item.getId()), any()))
+                .thenReturn(List.of(interval))
+                .thenReturn(List.of());
+            assertTrue(bookingIntervalIndex.hasOverlap(item.getId(), now.plusDays(1), now.plusDays(2)));
+
+            bookingIntervalIndex.removeBooker(booker.getId());
+
+            assertFalse(bookingIntervalIndex.hasOverlap(item.getId(), now.plusDays(1), now.plusDays(2)));
+            verify(bookingRepository, times(2)).findIntervalsByItemId(eq(item.getId()), any());
+        }
+
+        @Test
+        public void shouldKeepItemsWithoutBookingsOfRemovedBooker() {
+            when(bookingRepository.findIntervalsByItemId(eq(item.getId()), any())).thenReturn(List.of(interval));
+            bookingIntervalIndex.hasOverlap(item.getId(), now.plusDays(5), now.plusDays(6));
+
+            bookingIntervalIndex.removeBooker(owner.getId());
+
+            assertTrue(bookingIntervalIndex.hasOverlap(item.getId(), now.plusDays(1), now.plusDays(2)));
+            verify(bookingRepository, times(1)).findIntervalsByItemId(eq(item.getId()), any());
+        }
+    }
+
+    @Nested
+    class Bound {
+        @Test
+        public void shouldEvictItemsAboveMaxItems() {
+            bookingIntervalIndex = new BookingIntervalIndex(bookingRepository, 1, Duration.ofMinutes(30));
+            when(bookingRepository.findIntervalsByItemId(any(), any())).thenReturn(List.of());
+
+            for (int round = 0; round < 2; round++) {
+                for (long itemId = 1; itemId <= 3; itemId++) {
+                    bookingIntervalIndex.hasOverlap(itemId, now.plusDays(1), now.plusDays(2));
+                }
+            }
+
+            verify(bookingRepository, atLeast(5)).findIntervalsByItemId(any(), any());
+        }
+    }
+
+    private Booking booking(Long id, LocalDateTime start, LocalDateTime end, BookingStatus status) {
+        return Booking.builder()
+            .id(id)
+            .start(start)
+            .end(end)
+            .item(item)
+            .booker(booker)
+            .status(status)
+            .build();
+    }
+}
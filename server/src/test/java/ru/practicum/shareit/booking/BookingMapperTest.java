@@ -9,6 +9,7 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import ru.practicum.shareit.booking.dto.BookingRequestDto;
 import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.booking.dto.BookingViewDto;
 import ru.practicum.shareit.item.Item;
 import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.user.UserMapper;
@@ -17,6 +18,7 @@ import java.time.LocalDateTime;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.when;
 import static ru.practicum.shareit.booking.BookingStatus.APPROVED;
@@ -108,9 +110,36 @@ class BookingMapperTest {
 
         @Test
         void shouldReturnNull() {
-            BookingResponseDto bookingResponseDto = bookingMapper.toBookingResponseDto(null);
+            BookingResponseDto bookingResponseDto = bookingMapper.toBookingResponseDto((Booking) null);
 
             assertNull(bookingResponseDto);
         }
     }
+
+    @Nested
+    @DisplayName("Маппинг проекции в BookingResponseDto")
+    class ToBookingResponseDtoFromView {
+        @Test
+        void shouldReturnBookingResponseDto() {
+            BookingViewDto view = new BookingViewDto(1L, LocalDateTime.now().minusDays(2),
+                LocalDateTime.now().minusDays(1), APPROVED, 2L, "item", "description", true, 3L, 4L, 5L, "Five",
+                "five@yandex.ru");
+
+            BookingResponseDto bookingResponseDto = bookingMapper.toBookingResponseDto(view);
+
+            assertEquals(view.getId(), bookingResponseDto.getId());
+            assertEquals(view.getStart(), bookingResponseDto.getStart());
+            assertEquals(view.getEnd(), bookingResponseDto.getEnd());
+            assertEquals(APPROVED, bookingResponseDto.getStatus());
+            assertEquals(view.getItemId(), bookingResponseDto.getItem().getId());
+            assertEquals(view.getItemName(), bookingResponseDto.getItem().getName());
+            assertEquals(view.getItemDescription(), bookingResponseDto.getItem().getDescription());
+            assertEquals(view.getItemAvailable(), bookingResponseDto.getItem().getAvailable());
+            assertEquals(view.getItemRequestId(), bookingResponseDto.getItem().getRequestId());
+            assertTrue(bookingResponseDto.getItem().getComments().isEmpty());
+            assertEquals(view.getBookerId(), bookingResponseDto.getBooker().getId());
+            assertEquals(view.getBookerName(), bookingResponseDto.getBooker().getName());
+            assertEquals(view.getBookerEmail(), bookingResponseDto.getBooker().getEmail());
+        }
+    }
 }
\ No newline at end of file
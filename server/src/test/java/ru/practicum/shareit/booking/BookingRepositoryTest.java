@@ -1,16 +1,22 @@
 package ru.practicum.shareit.booking;
 
 import lombok.RequiredArgsConstructor;
+import org.hibernate.Hibernate;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.test.annotation.DirtiesContext;
+import ru.practicum.shareit.booking.dto.BookingExportDto;
+import ru.practicum.shareit.booking.dto.BookingShortDto;
+import ru.practicum.shareit.booking.dto.BookingViewDto;
 import ru.practicum.shareit.item.Item;
 import ru.practicum.shareit.item.ItemRepository;
 import ru.practicum.shareit.user.User;
@@ -19,6 +25,7 @@ import ru.practicum.shareit.user.UserRepository;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
@@ -32,6 +39,7 @@ class BookingRepositoryTest {
     private final ItemRepository itemRepository;
     private final UserRepository userRepository;
     private final BookingRepository bookingRepository;
+    private final TestEntityManager entityManager;
 
     private final int from = 0;
     private final int size = 10;
@@ -99,440 +107,376 @@ class BookingRepositoryTest {
     }
 
     @Nested
-    @DisplayName("Получить вещь по id, с датой начала до указанной, status: APPROVED, сортировка: Desc")
-    class FindByItemIdAndStartBeforeAndStatusEqualsOrderByStartDesc {
+    @DisplayName("Последнее и следующее бронирование вещи одним запросом")
+    class FindLastAndNextBookings {
         @Test
-        @DisplayName("Положительный тест")
-        public void shouldGetLastBookingsTest() {
-            List<Booking> result = bookingRepository.findByItemIdAndStartBeforeAndStatusEqualsOrderByStartDesc(
-                item1.getId(),
-                localDateTime,
-                BookingStatus.APPROVED);
+        @DisplayName("Положительный тест: status: APPROVED, только последнее")
+        public void shouldGetLastBookingTest() {
+            List<BookingShortDto> result = bookingRepository.findLastAndNextBookings(
+                item1.getId(), localDateTime, BookingStatus.APPROVED);
 
-            assertEquals(2, result.size());
+            assertEquals(1, result.size());
             assertEquals(bookingCurrent.getId(), result.get(0).getId());
-            assertEquals(bookingPast.getId(), result.get(1).getId());
+            assertEquals(item1.getId(), result.get(0).getItemId());
+            assertEquals(user2.getId(), result.get(0).getBookerId());
         }
 
         @Test
-        @DisplayName("Негативный тест")
-        public void shouldGetEmptyTest() {
-            List<Booking> result = bookingRepository.findByItemIdAndStartBeforeAndStatusEqualsOrderByStartDesc(
-                item1.getId(), localDateTime.minusYears(15), BookingStatus.APPROVED);
+        @DisplayName("Положительный тест: status: APPROVED, последнее и следующее")
+        public void shouldGetLastAndNextBookingsTest() {
+            List<BookingShortDto> result = bookingRepository.findLastAndNextBookings(
+                item1.getId(), localDateTime.minusYears(7), BookingStatus.APPROVED);
 
-            assertTrue(result.isEmpty());
+            assertEquals(2, result.size());
+            assertEquals(bookingPast.getId(), result.get(0).getId());
+            assertEquals(bookingCurrent.getId(), result.get(1).getId());
         }
-    }
 
-    @Nested
-    @DisplayName("Получить вещь по id, с датой начала после указанной, status: WAITING, сортировка: Asc")
-    class FindByItemIdAndStartAfterAndStatusEqualsOrderByStartAsc {
         @Test
-        @DisplayName("Положительный тест")
-        public void shouldGetNextBookingsTest() {
-            List<Booking> result = bookingRepository.findByItemIdAndStartAfterAndStatusEqualsOrderByStartAsc(
-                item1.getId(),
-                localDateTime,
-                BookingStatus.WAITING);
+        @DisplayName("Положительный тест: status: WAITING, только следующее")
+        public void shouldGetNextBookingTest() {
+            List<BookingShortDto> result = bookingRepository.findLastAndNextBookings(
+                item1.getId(), localDateTime, BookingStatus.WAITING);
 
             assertEquals(1, result.size());
             assertEquals(bookingFuture.getId(), result.get(0).getId());
+            assertEquals(bookingFuture.getStart(), result.get(0).getStart());
+            assertEquals(bookingFuture.getEnd(), result.get(0).getEnd());
         }
 
         @Test
         @DisplayName("Негативный тест")
         public void shouldGetEmptyTest() {
-            List<Booking> result = bookingRepository.findByItemIdAndStartAfterAndStatusEqualsOrderByStartAsc(
-                item1.getId(),
-                localDateTime,
-                BookingStatus.APPROVED);
+            List<BookingShortDto> result = bookingRepository.findLastAndNextBookings(
+                item1.getId(), localDateTime, BookingStatus.CANCELED);
 
             assertTrue(result.isEmpty());
         }
     }
 
     @Nested
-    @DisplayName("Получить вещь по booker id, сортировка: Desc")
-    class FindByBookerIdOrderByStartDesc {
+    @DisplayName("Последние и следующие бронирования для списка вещей")
+    class FindLastAndNextBookingsByItemIds {
         @Test
         @DisplayName("Положительный тест")
-        public void shouldGetAllTest() {
-            List<Booking> result = bookingRepository
-                .findByBookerId(user2.getId(), pageable)
-                .get().collect(Collectors.toList());
+        public void shouldGetLastAndNextBookingsTest() {
+            List<BookingShortDto> result = bookingRepository.findLastAndNextBookingsByItemIds(
+                List.of(item1.getId()), localDateTime.minusYears(7), BookingStatus.APPROVED);
 
-            assertEquals(4, result.size());
-            assertEquals(bookingRejected.getId(), result.get(0).getId());
-            assertEquals(bookingFuture.getId(), result.get(1).getId());
-            assertEquals(bookingCurrent.getId(), result.get(2).getId());
-            assertEquals(bookingPast.getId(), result.get(3).getId());
+            assertEquals(2, result.size());
+            assertEquals(bookingPast.getId(), result.get(0).getId());
+            assertEquals(bookingCurrent.getId(), result.get(1).getId());
         }
 
         @Test
         @DisplayName("Негативный тест")
         public void shouldGetEmptyTest() {
-            List<Booking> result = bookingRepository.findByBookerId(user1.getId(), pageable)
-                .get().collect(Collectors.toList());
+            List<BookingShortDto> result = bookingRepository.findLastAndNextBookingsByItemIds(
+                List.of(9999L), localDateTime, BookingStatus.APPROVED);
 
             assertTrue(result.isEmpty());
         }
     }
 
     @Nested
-    @DisplayName("Получить вещь по booker id, " +
-        "с датой начала перед указанной и датой окончания после указанной, " +
-        "сортировка: Asc")
-    class FindByBookerIdAndStartBeforeAndEndAfterOrderByStartAsc {
+    @DisplayName("Бронирования арендатора и владельца по состоянию, сортировка: start Desc, id Desc")
+    class FindAllFrom {
+        private final LocalDateTime now = LocalDateTime.now();
+
         @Test
-        @DisplayName("Положительный тест")
-        public void shouldGetCurrentTest() {
-            List<Booking> result = bookingRepository
-                .findByBookerIdAndStartBeforeAndEndAfter(
-                    user2.getId(),
-                    localDateTime,
-                    localDateTime,
-                    pageable).get().collect(Collectors.toList());
+        @DisplayName("Положительный тест: booker, state: ALL")
+        public void shouldGetAllByBookerTest() {
+            Slice<BookingViewDto> result = bookingRepository.findAllFrom(BookingRole.BOOKER, user2.getId(),
+                BookingState.ALL, pageable);
 
-            assertEquals(1, result.size());
-            assertEquals(bookingCurrent.getId(), result.get(0).getId());
+            assertEquals(List.of(bookingRejected.getId(), bookingFuture.getId(), bookingCurrent.getId(),
+                bookingPast.getId()), ids(result));
+            assertFalse(result.hasNext());
         }
 
         @Test
-        @DisplayName("Негативный тест")
-        public void shouldGetEmptyTest() {
-            List<Booking> result = bookingRepository
-                .findByBookerIdAndStartBeforeAndEndAfter(user1.getId(), localDateTime,
-                    localDateTime, pageable).get().collect(Collectors.toList());
+        @DisplayName("Положительный тест: booker, state: ALL, from: 0 и 2, size: 2")
+        public void shouldGetPagesByBookerTest() {
+            Slice<BookingViewDto> firstPage = bookingRepository.findAllFrom(BookingRole.BOOKER, user2.getId(),
+                BookingState.ALL, PageRequest.of(0, 2));
+            Slice<BookingViewDto> secondPage = bookingRepository.findAllFrom(BookingRole.BOOKER, user2.getId(),
+                BookingState.ALL, PageRequest.of(1, 2));
 
-            assertTrue(result.isEmpty());
+            assertEquals(List.of(bookingRejected.getId(), bookingFuture.getId()), ids(firstPage));
+            assertTrue(firstPage.hasNext());
+            assertEquals(List.of(bookingCurrent.getId(), bookingPast.getId()), ids(secondPage));
+            assertFalse(secondPage.hasNext());
         }
-    }
 
-    @Nested
-    @DisplayName("Получить вещь по booker id, с окончанием до указанной даты, status: APPROVED, сортировка: Desc")
-    class FindByBookerIdAndEndBeforeAndStatusEqualsOrderByStartDesc {
         @Test
-        @DisplayName("Положительный тест")
-        public void shouldGetPastTest() {
-            List<Booking> result = bookingRepository
-                .findByBookerIdAndEndBeforeAndStatusEquals(
-                    user2.getId(),
-                    localDateTime,
-                    BookingStatus.APPROVED,
-                    pageable).get().collect(Collectors.toList());
-
-            assertEquals(1, result.size());
-            assertEquals(bookingPast.getId(), result.get(0).getId());
+        @DisplayName("Положительный тест: booker, state: PAST, WAITING, REJECTED")
+        public void shouldGetByStatusByBookerTest() {
+            assertEquals(List.of(bookingCurrent.getId(), bookingPast.getId()), ids(bookingRepository
+                .findAllFrom(BookingRole.BOOKER, user2.getId(), BookingState.PAST, pageable)));
+            assertEquals(List.of(bookingFuture.getId()), ids(bookingRepository
+                .findAllFrom(BookingRole.BOOKER, user2.getId(), BookingState.WAITING, pageable)));
+            assertEquals(List.of(bookingRejected.getId()), ids(bookingRepository
+                .findAllFrom(BookingRole.BOOKER, user2.getId(), BookingState.REJECTED, pageable)));
         }
 
         @Test
-        @DisplayName("Негативный тест")
-        public void shouldGetEmptyTest() {
-            List<Booking> result = bookingRepository
-                .findByBookerIdAndEndBeforeAndStatusEquals(
-                    user1.getId(),
-                    localDateTime,
-                    BookingStatus.APPROVED,
-                    pageable).get().collect(Collectors.toList());
+        @DisplayName("Положительный тест: owner, state: CURRENT и FUTURE")
+        public void shouldGetCurrentAndFutureByOwnerTest() {
+            Booking current = bookingRepository.save(Booking.builder()
+                .start(now.minusDays(1))
+                .end(now.plusDays(1))
+                .item(item1)
+                .booker(user2)
+                .status(BookingStatus.APPROVED)
+                .build());
+            Booking future = bookingRepository.save(Booking.builder()
+                .start(now.plusDays(2))
+                .end(now.plusDays(3))
+                .item(item1)
+                .booker(user2)
+                .status(BookingStatus.WAITING)
+                .build());
 
-            assertTrue(result.isEmpty());
+            assertEquals(List.of(current.getId()), ids(bookingRepository
+                .findAllFrom(BookingRole.OWNER, user1.getId(), BookingState.CURRENT, pageable)));
+            assertEquals(List.of(future.getId()), ids(bookingRepository
+                .findAllFrom(BookingRole.OWNER, user1.getId(), BookingState.FUTURE, pageable)));
         }
-    }
 
-    @Nested
-    @DisplayName("Получить вещь по booker id, с началом после указанной даты, сортировка: Desc")
-    class FindByBookerIdAndStartAfterOrderByStartDesc {
         @Test
-        @DisplayName("Положительный тест")
-        public void shouldGetFutureTest() {
-            List<Booking> result = bookingRepository
-                .findByBookerIdAndStartAfter(
-                    user2.getId(),
-                    localDateTime,
-                    pageable)
-                .get().collect(Collectors.toList());
+        @DisplayName("Положительный тест: owner, state: ALL, вещь и арендатор загружены")
+        public void shouldGetAllByOwnerTest() {
+            Slice<BookingViewDto> result = bookingRepository.findAllFrom(BookingRole.OWNER, user1.getId(),
+                BookingState.ALL, pageable);
 
-            assertEquals(2, result.size());
-            assertEquals(bookingRejected.getId(), result.get(0).getId());
-            assertEquals(bookingFuture.getId(), result.get(1).getId());
+            assertEquals(4, result.getNumberOfElements());
+            for (BookingViewDto booking : result) {
+                assertEquals(item1.getName(), booking.getItemName());
+                assertEquals(user1.getId(), booking.getItemOwnerId());
+                assertEquals(user2.getId(), booking.getBookerId());
+                assertEquals(user2.getEmail(), booking.getBookerEmail());
+            }
         }
 
         @Test
         @DisplayName("Негативный тест")
         public void shouldGetEmptyTest() {
-            List<Booking> result = bookingRepository
-                .findByBookerIdAndStartAfter(
-                    user1.getId(),
-                    localDateTime,
-                    pageable)
-                .get().collect(Collectors.toList());
-
-            assertTrue(result.isEmpty());
+            assertTrue(bookingRepository.findAllFrom(BookingRole.BOOKER, user1.getId(), BookingState.ALL, pageable)
+                .isEmpty());
+            assertTrue(bookingRepository.findAllFrom(BookingRole.OWNER, user2.getId(), BookingState.ALL, pageable)
+                .isEmpty());
         }
     }
 
     @Nested
-    @DisplayName("Получить вещь по booker id, status: WAITING, сортировка: Desc")
-    class FindByBookerIdAndStatusEqualsOrderByStartDesc {
-        @Test
-        @DisplayName("Положительный тест")
-        public void shouldGetWaitingTest() {
-            List<Booking> result = bookingRepository
-                .findByBookerIdAndStatusEquals(
-                    user2.getId(),
-                    BookingStatus.WAITING,
-                    pageable)
-                .get().collect(Collectors.toList());
-
-            assertEquals(1, result.size());
-            assertEquals(bookingFuture.getId(), result.get(0).getId());
-        }
-
+    @DisplayName("Подсчет бронирований по id вещи, booker id, дата окончания")
+    class CountAllByItemIdAndBookerIdAndEndBefore {
         @Test
         @DisplayName("Положительный тест")
-        public void shouldGetRejectedTest() {
-            List<Booking> result = bookingRepository
-                .findByBookerIdAndStatusEquals(
-                    user2.getId(),
-                    BookingStatus.REJECTED,
-                    pageable)
-                .get().collect(Collectors.toList());
+        public void shouldCountBookingsBeforeEndTest() {
+            Long count = bookingRepository.countAllByItemIdAndBookerIdAndEndBefore(
+                item1.getId(), user2.getId(), localDateTime.minusYears(8)
+            );
 
-            assertEquals(1, result.size());
-            assertEquals(bookingRejected.getId(), result.get(0).getId());
+            assertEquals(1, count);
         }
 
         @Test
         @DisplayName("Негативный тест")
-        public void shouldGetEmptyTest() {
-            List<Booking> result = bookingRepository
-                .findByBookerIdAndStatusEquals(user1.getId(), BookingStatus.WAITING, pageable)
-                .get().collect(Collectors.toList());
+        public void shouldCountNoBookingsTest() {
+            Long count = bookingRepository.countAllByItemIdAndBookerIdAndEndBefore(
+                item1.getId(), user2.getId(), localDateTime.minusYears(12)
+            );
 
-            assertTrue(result.isEmpty());
+            assertEquals(0, count);
         }
+
     }
 
     @Nested
-    @DisplayName("Получить вещь по owner id, сортировка: Desc")
-    class FindByItemOwnerIdOrderByStartDesc {
-        @Test
-        @DisplayName("Положительный тест")
-        public void shouldGetAllTest() {
-            List<Booking> result = bookingRepository.findByItemOwnerId(
-                    user1.getId(),
-                    pageable)
-                .get().collect(Collectors.toList());
-
-            assertEquals(4, result.size());
-            assertEquals(bookingRejected.getId(), result.get(0).getId());
-            assertEquals(bookingFuture.getId(), result.get(1).getId());
-            assertEquals(bookingCurrent.getId(), result.get(2).getId());
-            assertEquals(bookingPast.getId(), result.get(3).getId());
-        }
+    @DisplayName("Бронирования после курсора (start, id), сортировка: start Desc, id Desc")
+    class FindAllAfter {
+        private final BookingCursor first = new BookingCursor(localDateTime.plusYears(100), Long.MAX_VALUE);
 
         @Test
-        @DisplayName("Негативный тест")
-        public void shouldGetEmptyTest() {
-            List<Booking> result = bookingRepository.findByItemOwnerId(user2.getId(), pageable)
-                .get().collect(Collectors.toList());
+        @DisplayName("Положительный тест: booker, state: ALL, постранично")
+        public void shouldGetPagesByBookerTest() {
+            Slice<BookingViewDto> firstPage = bookingRepository.findAllAfter(BookingRole.BOOKER, user2.getId(),
+                BookingState.ALL, first, 2);
 
-            assertTrue(result.isEmpty());
-        }
-    }
+            assertEquals(List.of(bookingRejected.getId(), bookingFuture.getId()), ids(firstPage));
+            assertTrue(firstPage.hasNext());
 
-    @Nested
-    @DisplayName("Получить вещь по owner id, " +
-        "с датой начала перед указанной и датой окончания после указанной, " +
-        "сортировка: Desc")
-    class FindByItemOwnerIdAndStartBeforeAndEndAfterOrderByStartDesc {
-        @Test
-        @DisplayName("Положительный тест")
-        public void shouldGetCurrentTest() {
-            List<Booking> result = bookingRepository.findByItemOwnerIdAndStartBeforeAndEndAfter(
-                user1.getId(),
-                localDateTime,
-                localDateTime,
-                pageable).get().collect(Collectors.toList());
+            BookingViewDto last = firstPage.getContent().get(1);
+            Slice<BookingViewDto> secondPage = bookingRepository.findAllAfter(BookingRole.BOOKER, user2.getId(),
+                BookingState.ALL, new BookingCursor(last.getStart(), last.getId()), 2);
 
-            assertEquals(1, result.size());
-            assertEquals(bookingCurrent.getId(), result.get(0).getId());
+            assertEquals(List.of(bookingCurrent.getId(), bookingPast.getId()), ids(secondPage));
+            assertFalse(secondPage.hasNext());
         }
 
         @Test
-        @DisplayName("Негативный тест")
-        public void shouldGetEmptyTest() {
-            List<Booking> result = bookingRepository.findByItemOwnerIdAndStartBeforeAndEndAfter(
-                user2.getId(), localDateTime, localDateTime, pageable).get().collect(Collectors.toList());
+        @DisplayName("Положительный тест: одинаковое время начала упорядочено по id")
+        public void shouldSeekByIdOnEqualStartTest() {
+            Booking sameStart = bookingRepository.save(Booking.builder()
+                .start(bookingFuture.getStart())
+                .end(bookingFuture.getEnd())
+                .item(item1)
+                .booker(user2)
+                .status(BookingStatus.WAITING)
+                .build());
 
-            assertTrue(result.isEmpty());
+            Slice<BookingViewDto> result = bookingRepository.findAllAfter(BookingRole.BOOKER, user2.getId(),
+                BookingState.WAITING, new BookingCursor(sameStart.getStart(), sameStart.getId()), 10);
+
+            assertEquals(List.of(bookingFuture.getId()), ids(result));
         }
-    }
 
-    @Nested
-    @DisplayName("Получить вещь по owner id, с окончанием до указанной даты, status: APPROVED, сортировка: Desc")
-    class FindByItemOwnerIdAndEndBeforeAndStatusEqualsOrderByStartDesc {
         @Test
-        @DisplayName("Положительный тест")
-        public void shouldGetPastTest() {
-            List<Booking> result = bookingRepository.findByItemOwnerIdAndEndBeforeAndStatusEquals(
-                user1.getId(),
-                localDateTime,
-                BookingStatus.APPROVED,
-                pageable).get().collect(Collectors.toList());
+        @DisplayName("Положительный тест: owner, state: PAST")
+        public void shouldGetPastByOwnerTest() {
+            Slice<BookingViewDto> result = bookingRepository.findAllAfter(BookingRole.OWNER, user1.getId(),
+                BookingState.PAST, first, 10);
 
-            assertEquals(1, result.size());
-            assertEquals(bookingPast.getId(), result.get(0).getId());
+            assertEquals(List.of(bookingCurrent.getId(), bookingPast.getId()), ids(result));
+            assertFalse(result.hasNext());
         }
 
         @Test
         @DisplayName("Негативный тест")
         public void shouldGetEmptyTest() {
-            List<Booking> result = bookingRepository.findByItemOwnerIdAndEndBeforeAndStatusEquals(
-                user2.getId(), localDateTime, BookingStatus.APPROVED, pageable).get().collect(Collectors.toList());
+            Slice<BookingViewDto> result = bookingRepository.findAllAfter(BookingRole.BOOKER, user1.getId(),
+                BookingState.ALL, first, 10);
 
             assertTrue(result.isEmpty());
         }
     }
 
     @Nested
-    @DisplayName("Получить вещь по owner id, с началом после указанной даты, сортировка: Desc")
-    class FindByItemOwnerIdAndStartAfterOrderByStartDesc {
+    @DisplayName("Интервалы бронирований вещи, заканчивающиеся после указанной даты")
+    class FindIntervalsByItemId {
         @Test
         @DisplayName("Положительный тест")
-        public void shouldGetFutureTest() {
-            List<Booking> result = bookingRepository.findByItemOwnerIdAndStartAfter(user1.getId(),
-                localDateTime, pageable).get().collect(Collectors.toList());
+        public void shouldFindIntervalsTest() {
+            List<BookingInterval> result = bookingRepository.findIntervalsByItemId(item1.getId(), localDateTime);
 
-            assertEquals(2, result.size());
-            assertEquals(bookingRejected.getId(), result.get(0).getId());
+            assertEquals(3, result.size());
+            assertEquals(bookingCurrent.getId(), result.get(0).getId());
             assertEquals(bookingFuture.getId(), result.get(1).getId());
+            assertEquals(bookingRejected.getId(), result.get(2).getId());
+            assertEquals(BookingStatus.REJECTED, result.get(2).getStatus());
         }
 
         @Test
         @DisplayName("Негативный тест")
-        public void shouldGetEmptyTest() {
-            List<Booking> result = bookingRepository.findByItemOwnerIdAndStartAfter(user2.getId(),
-                localDateTime, pageable).get().collect(Collectors.toList());
+        public void shouldFindNoIntervalsTest() {
+            List<BookingInterval> result = bookingRepository.findIntervalsByItemId(
+                item1.getId(), localDateTime.plusYears(11));
 
             assertTrue(result.isEmpty());
         }
+
     }
 
     @Nested
-    @DisplayName("Получить вещь по owner id, status: WAITING, сортировка: Desc")
-    class FindByItemOwnerIdAndStatusEqualsOrderByStartDesc {
+    @DisplayName("Бронирование по id проекцией с вещью и арендатором")
+    class FindViewById {
         @Test
         @DisplayName("Положительный тест")
-        public void shouldGetWaitingTest() {
-            List<Booking> result = bookingRepository.findByItemOwnerIdAndStatusEquals(
-                user1.getId(),
-                BookingStatus.WAITING,
-                pageable).get().collect(Collectors.toList());
+        public void shouldFindViewTest() {
+            BookingViewDto booking = bookingRepository.findViewById(bookingCurrent.getId()).orElseThrow();
 
-            assertEquals(1, result.size());
-            assertEquals(bookingFuture.getId(), result.get(0).getId());
-        }
-
-        @Test
-        @DisplayName("Положительный тест")
-        public void shouldGetRejectedTest() {
-            List<Booking> result = bookingRepository.findByItemOwnerIdAndStatusEquals(user1.getId(),
-                BookingStatus.REJECTED, pageable).get().collect(Collectors.toList());
-
-            assertEquals(1, result.size());
-            assertEquals(bookingRejected.getId(), result.get(0).getId());
+            assertEquals(bookingCurrent.getStart(), booking.getStart());
+            assertEquals(bookingCurrent.getEnd(), booking.getEnd());
+            assertEquals(BookingStatus.APPROVED, booking.getStatus());
+            assertEquals(item1.getId(), booking.getItemId());
+            assertEquals(item1.getDescription(), booking.getItemDescription());
+            assertEquals(user1.getId(), booking.getItemOwnerId());
+            assertEquals(user2.getName(), booking.getBookerName());
         }
 
         @Test
         @DisplayName("Негативный тест")
-        public void shouldGetEmptyTest() {
-            List<Booking> result = bookingRepository.findByItemOwnerIdAndStatusEquals(user2.getId(),
-                BookingStatus.WAITING, pageable).get().collect(Collectors.toList());
-
-            assertTrue(result.isEmpty());
+        public void shouldNotFindViewTest() {
+            assertTrue(bookingRepository.findViewById(9999L).isEmpty());
         }
     }
 
     @Nested
-    @DisplayName("Подсчет бронирований по id вещи, booker id, дата окончания")
-    class CountAllByItemIdAndBookerIdAndEndBefore {
+    @DisplayName("Бронирование по id загружается вместе с вещью и арендатором")
+    class FindById {
         @Test
         @DisplayName("Положительный тест")
-        public void shouldCountBookingsBeforeEndTest() {
-            Long count = bookingRepository.countAllByItemIdAndBookerIdAndEndBefore(
-                item1.getId(), user2.getId(), localDateTime.minusYears(8)
-            );
+        public void shouldFetchItemAndBookerTest() {
+            entityManager.flush();
+            entityManager.clear();
 
-            assertEquals(1, count);
-        }
-
-        @Test
-        @DisplayName("Негативный тест")
-        public void shouldCountNoBookingsTest() {
-            Long count = bookingRepository.countAllByItemIdAndBookerIdAndEndBefore(
-                item1.getId(), user2.getId(), localDateTime.minusYears(12)
-            );
+            Booking booking = bookingRepository.findById(bookingFuture.getId()).orElseThrow();
 
-            assertEquals(0, count);
+            assertTrue(Hibernate.isInitialized(booking.getItem()));
+            assertTrue(Hibernate.isInitialized(booking.getBooker()));
+            assertFalse(Hibernate.isInitialized(booking.getItem().getOwner()));
+            assertEquals(user1.getId(), booking.getItem().getOwner().getId());
         }
-
     }
 
     @Nested
-    @DisplayName("Получить бронирование по id вещи, временному диапазону, status: APPROVED")
-    class FindBookingsByItemIdAndTimeRangeAndStatus {
+    @DisplayName("Бронирования по списку id вместе с вещью и арендатором")
+    class FindAllWithItemByIdIn {
         @Test
         @DisplayName("Положительный тест")
-        public void shouldFindBookingsInTimeRangeAndStatusTest() {
-            List<Booking> result = bookingRepository.findBookingsByItemIdAndTimeRangeAndStatus(
-                item1.getId(),
-                localDateTime.minusYears(6),
-                localDateTime.plusYears(6),
-                BookingStatus.APPROVED
-            );
-
-            assertEquals(1, result.size());
-        }
-
-        @Test
-        @DisplayName("Негативный тест")
-        public void shouldFindNoBookingsTest() {
-            List<Booking> result = bookingRepository.findBookingsByItemIdAndTimeRangeAndStatus(
-                item1.getId(), localDateTime.minusYears(12), localDateTime.minusYears(10), BookingStatus.APPROVED
-            );
+        public void shouldFindBookingsWithOwnerTest() {
+            List<Booking> result = bookingRepository.findAllWithItemByIdIn(
+                List.of(bookingFuture.getId(), bookingRejected.getId(), 9999L));
 
-            assertTrue(result.isEmpty());
+            assertEquals(List.of(bookingFuture.getId(), bookingRejected.getId()), result.stream()
+                .map(Booking::getId)
+                .sorted()
+                .collect(Collectors.toList()));
+            assertEquals(user1.getId(), result.get(0).getItem().getOwner().getId());
         }
-
     }
 
     @Nested
-    @DisplayName("Получить бронирование по id вещи, временному диапазону, status: APPROVED")
-    class FindByItemIdAndTimeRangeAndStatus {
+    @DisplayName("Выгрузка бронирований курсором")
+    class StreamAll {
+        private List<Long> exportedIds(BookingRole role, Long userId, BookingState state) {
+            try (Stream<BookingExportDto> bookings = bookingRepository.streamAll(role, userId, state)) {
+                return bookings
+                    .map(BookingExportDto::getId)
+                    .collect(Collectors.toList());
+            }
+        }
+
         @Test
-        @DisplayName("Положительный тест")
-        public void shouldFindByItemIdAndTimeRangeAndStatus() {
-            List<Booking> result = bookingRepository.findByItemIdAndTimeRangeAndStatus(
-                item1.getId(),
-                localDateTime.minusYears(6),
-                localDateTime.plusYears(6),
-                BookingStatus.APPROVED
-            );
+        @DisplayName("Все бронирования арендатора в порядке списка")
+        public void shouldStreamAllBookerBookingsTest() {
+            assertEquals(List.of(bookingRejected.getId(), bookingFuture.getId(), bookingCurrent.getId(),
+                bookingPast.getId()), exportedIds(BookingRole.BOOKER, user2.getId(), BookingState.ALL));
+        }
 
-            assertEquals(1, result.size());
+        @Test
+        @DisplayName("Бронирования владельца с фильтром по state")
+        public void shouldStreamOwnerBookingsByStateTest() {
+            assertEquals(List.of(bookingFuture.getId()),
+                exportedIds(BookingRole.OWNER, user1.getId(), BookingState.WAITING));
+            assertTrue(exportedIds(BookingRole.BOOKER, user1.getId(), BookingState.ALL).isEmpty());
         }
 
         @Test
-        @DisplayName("Негативный тест")
-        public void shouldFindNoBookingsWithFindByTest() {
-            List<Booking> result = bookingRepository.findByItemIdAndTimeRangeAndStatus(
-                item1.getId(), localDateTime.minusYears(12), localDateTime.minusYears(10), BookingStatus.APPROVED
-            );
+        @DisplayName("Строка выгрузки содержит вещь и арендатора")
+        public void shouldMapExportRowTest() {
+            try (Stream<BookingExportDto> bookings = bookingRepository.streamAll(BookingRole.BOOKER, user2.getId(),
+                BookingState.REJECTED)) {
+                BookingExportDto row = bookings.findFirst().orElseThrow();
 
-            assertTrue(result.isEmpty());
+                assertEquals(item1.getId(), row.getItemId());
+                assertEquals(item1.getName(), row.getItemName());
+                assertEquals(user2.getId(), row.getBookerId());
+                assertEquals(bookingRejected.getStart(), row.getStart());
+                assertEquals(BookingStatus.REJECTED, row.getStatus());
+            }
         }
-
     }
 
     @Nested
@@ -559,4 +503,10 @@ class BookingRepositoryTest {
         }
 
     }
-}
\ No newline at end of file
+
+    private List<Long> ids(Slice<BookingViewDto> slice) {
+        return slice.stream()
+            .map(BookingViewDto::getId)
+            .collect(Collectors.toList());
+    }
+}
@@ -8,12 +8,18 @@ import org.mockito.Captor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.domain.PageImpl;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+import ru.practicum.shareit.booking.dto.BookingDecisionDto;
+import ru.practicum.shareit.booking.dto.BookingDecisionResultDto;
+import ru.practicum.shareit.booking.dto.BookingExportDto;
 import ru.practicum.shareit.booking.dto.BookingRequestDto;
 import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.booking.dto.BookingViewDto;
 import ru.practicum.shareit.exception.BookingNotFoundException;
+import ru.practicum.shareit.exception.ConflictException;
 import ru.practicum.shareit.exception.ItemNotFoundException;
 import ru.practicum.shareit.exception.UserNotFoundException;
 import ru.practicum.shareit.exception.ValidationException;
@@ -21,18 +27,25 @@ import ru.practicum.shareit.item.Item;
 import ru.practicum.shareit.item.ItemRepository;
 import ru.practicum.shareit.item.dto.ItemResponseDto;
 import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserExistenceGuard;
 import ru.practicum.shareit.user.UserRepository;
 import ru.practicum.shareit.user.dto.UserDto;
 
+import java.sql.SQLException;
 import java.time.LocalDateTime;
-import java.util.Collections;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.anyInt;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -62,6 +75,15 @@ class BookingServiceImplTest {
     @Mock
     private BookingMapper bookingMapper;
 
+    @Mock
+    private BookingIntervalIndex bookingIntervalIndex;
+
+    @Mock
+    private ItemBookingLocks itemBookingLocks;
+
+    @Mock
+    private UserExistenceGuard userExistenceGuard;
+
     @Captor
     private ArgumentCaptor<Booking> bookingArgumentCaptor;
     private final int from = 0;
@@ -106,6 +128,10 @@ class BookingServiceImplTest {
         .status(APPROVED)
         .build();
 
+    private final BookingViewDto bookingView = new BookingViewDto(booking.getId(), booking.getStart(),
+        booking.getEnd(), booking.getStatus(), item1.getId(), item1.getName(), item1.getDescription(),
+        item1.getAvailable(), user1.getId(), item1.getRequestId(), user2.getId(), user2.getName(), user2.getEmail());
+
     private final UserDto user2Dto = UserDto.builder()
         .id(2L)
         .name("Two")
@@ -133,6 +159,10 @@ class BookingServiceImplTest {
         when(userRepository.findById(userWhen.getId())).thenReturn(Optional.of(userWhen));
     }
 
+    private void userExistsWhen(User userWhen) {
+        when(userExistenceGuard.exists(userWhen.getId())).thenReturn(true);
+    }
+
     private void equalsChecker(Booking booking, BookingResponseDto bookingResponseDto) {
         assertEquals(booking.getId(), bookingResponseDto.getId());
         assertEquals(booking.getStart(), bookingResponseDto.getStart());
@@ -156,14 +186,17 @@ class BookingServiceImplTest {
             when(itemRepository.findById(bookingRequestDto.getItemId())).thenReturn(Optional.of(item1));
             userRepositoryWhen(user2);
             when(bookingMapper.toBooking(bookingRequestDto, item1, user2, WAITING)).thenReturn(booking);
+            when(bookingRepository.saveAndFlush(booking)).thenReturn(booking);
 
             bookingService.addBooking(bookingRequestDto, user2.getId());
 
             verify(itemRepository, times(1)).findById(bookingRequestDto.getItemId());
             verify(userRepository, times(1)).findById(user2.getId());
+            verify(itemBookingLocks, times(1)).lock(item1.getId());
+            verify(bookingIntervalIndex, times(1)).put(booking);
             verify(bookingMapper, times(1))
                 .toBooking(bookingRequestDto, item1, user2, WAITING);
-            verify(bookingRepository, times(1)).save(bookingArgumentCaptor.capture());
+            verify(bookingRepository, times(1)).saveAndFlush(bookingArgumentCaptor.capture());
 
             Booking savedBooking = bookingArgumentCaptor.getValue();
 
@@ -186,7 +219,7 @@ class BookingServiceImplTest {
             ValidationException exception = assertThrows(ValidationException.class,
                 () -> bookingService.addBooking(bookingWrongDate, user2.getId()));
             assertEquals("Не указан идентификатор вещи (itemId).", exception.getMessage());
-            verify(bookingRepository, never()).save(any());
+            verify(bookingRepository, never()).saveAndFlush(any());
         }
 
         @Test
@@ -200,7 +233,7 @@ class BookingServiceImplTest {
             ValidationException exception = assertThrows(ValidationException.class,
                 () -> bookingService.addBooking(bookingWrongDate, user2.getId()));
             assertEquals("Введите время.", exception.getMessage());
-            verify(bookingRepository, never()).save(any());
+            verify(bookingRepository, never()).saveAndFlush(any());
         }
 
         @Test
@@ -214,7 +247,7 @@ class BookingServiceImplTest {
             ValidationException exception = assertThrows(ValidationException.class,
                 () -> bookingService.addBooking(bookingWrongDate, user2.getId()));
             assertEquals("Введите время.", exception.getMessage());
-            verify(bookingRepository, never()).save(any());
+            verify(bookingRepository, never()).saveAndFlush(any());
         }
 
         @Test
@@ -228,7 +261,7 @@ class BookingServiceImplTest {
             ValidationException exception = assertThrows(ValidationException.class,
                 () -> bookingService.addBooking(bookingWrongDate, user2.getId()));
             assertEquals("Время старта не может быть в прошлом.", exception.getMessage());
-            verify(bookingRepository, never()).save(any());
+            verify(bookingRepository, never()).saveAndFlush(any());
         }
 
         @Test
@@ -242,7 +275,7 @@ class BookingServiceImplTest {
             ValidationException exception = assertThrows(ValidationException.class,
                 () -> bookingService.addBooking(bookingWrongDate, user2.getId()));
             assertEquals("Время окончания не может быть в прошлом.", exception.getMessage());
-            verify(bookingRepository, never()).save(any());
+            verify(bookingRepository, never()).saveAndFlush(any());
         }
 
         @Test
@@ -256,7 +289,7 @@ class BookingServiceImplTest {
             ValidationException exception = assertThrows(ValidationException.class,
                 () -> bookingService.addBooking(bookingWrongDate, user2.getId()));
             assertEquals("Время старта не может быть равно окончанию.", exception.getMessage());
-            verify(bookingRepository, never()).save(any());
+            verify(bookingRepository, never()).saveAndFlush(any());
         }
 
 
@@ -281,7 +314,7 @@ class BookingServiceImplTest {
             ValidationException exception = assertThrows(ValidationException.class,
                 () -> bookingService.addBooking(bookingInValid, user2.getId()));
             assertEquals("Бронь недоступна.", exception.getMessage());
-            verify(bookingRepository, never()).save(any());
+            verify(bookingRepository, never()).saveAndFlush(any());
         }
 
         @Test
@@ -297,7 +330,7 @@ class BookingServiceImplTest {
             ItemNotFoundException exception = assertThrows(ItemNotFoundException.class,
                 () -> bookingService.addBooking(bookingInValid, user2.getId()));
             assertEquals("Не найдена вещь с id: 9999", exception.getMessage());
-            verify(bookingRepository, never()).save(any());
+            verify(bookingRepository, never()).saveAndFlush(any());
         }
 
         @Test
@@ -311,7 +344,7 @@ class BookingServiceImplTest {
             assertEquals("Не найден пользователь с id: 9999 не существует.", exception.getMessage());
             verify(itemRepository, times(1)).findById(bookingRequestDto.getItemId());
             verify(userRepository, times(1)).findById(9999L);
-            verify(bookingRepository, never()).save(any());
+            verify(bookingRepository, never()).saveAndFlush(any());
         }
 
         @Test
@@ -324,7 +357,7 @@ class BookingServiceImplTest {
             assertEquals("Вы не можете забронировать свою вещь", exception.getMessage());
             verify(itemRepository, times(1)).findById(bookingRequestDto.getItemId());
             verify(userRepository, times(1)).findById(user1.getId());
-            verify(bookingRepository, never()).save(any());
+            verify(bookingRepository, never()).saveAndFlush(any());
         }
 
         @Test
@@ -338,19 +371,18 @@ class BookingServiceImplTest {
             ValidationException exception = assertThrows(ValidationException.class,
                 () -> bookingService.addBooking(bookingWrongDate, user2.getId()));
             assertEquals("Время старта не может быть в прошлом.", exception.getMessage());
-            verify(bookingRepository, never()).save(any());
+            verify(bookingRepository, never()).saveAndFlush(any());
         }
 
         @Test
-        public void shouldThrowBookingNotFoundExceptionWhenOverlappingBookingsExist() {
+        public void shouldThrowConflictExceptionWhenOverlappingBookingsExist() {
             LocalDateTime start = dateTime.plusYears(30);
             LocalDateTime end = dateTime.plusYears(40);
 
             when(itemRepository.findById(item1.getId())).thenReturn(Optional.of(item1));
             userRepositoryWhen(user2);
 
-            when(bookingRepository.findBookingsByItemIdAndTimeRangeAndStatus(
-                item1.getId(), start, end, APPROVED)).thenReturn(Collections.singletonList(booking));
+            when(bookingIntervalIndex.hasOverlap(item1.getId(), start, end)).thenReturn(true);
 
             BookingRequestDto bookingTimeRequestDto = BookingRequestDto.builder()
                 .start(start)
@@ -358,10 +390,45 @@ class BookingServiceImplTest {
                 .itemId(item1.getId())
                 .build();
 
-            BookingNotFoundException exception = assertThrows(BookingNotFoundException.class,
+            ConflictException exception = assertThrows(ConflictException.class,
                 () -> bookingService.addBooking(bookingTimeRequestDto, user2.getId()));
 
             assertEquals("В данный момент бронирование не доступно.", exception.getMessage());
+            verify(bookingRepository, never()).saveAndFlush(any());
+            verify(itemBookingLocks, times(1)).unlockAfterCompletion(any());
+        }
+
+        @Test
+        public void shouldThrowConflictExceptionWhenDatabaseRejectsOverlap() {
+            when(itemRepository.findById(bookingRequestDto.getItemId())).thenReturn(Optional.of(item1));
+            userRepositoryWhen(user2);
+            when(bookingMapper.toBooking(bookingRequestDto, item1, user2, WAITING)).thenReturn(booking);
+            when(bookingRepository.saveAndFlush(booking))
+                .thenThrow(new DataIntegrityViolationException("ex_booking_item_period"));
+
+            ConflictException exception = assertThrows(ConflictException.class,
+                () -> bookingService.addBooking(bookingRequestDto, user2.getId()));
+
+            assertEquals("В данный момент бронирование не доступно.", exception.getMessage());
+            verify(bookingIntervalIndex, never()).put(any());
+            verify(itemBookingLocks, times(1)).unlockAfterCompletion(any());
+        }
+
+        @Test
+        public void shouldRethrowOtherDataIntegrityViolations() {
+            when(itemRepository.findById(bookingRequestDto.getItemId())).thenReturn(Optional.of(item1));
+            userRepositoryWhen(user2);
+            when(bookingMapper.toBooking(bookingRequestDto, item1, user2, WAITING)).thenReturn(booking);
+            DataIntegrityViolationException violation = new DataIntegrityViolationException("could not execute",
+                new SQLException("insert or update on table \"bookings\" violates foreign key constraint"));
+            when(bookingRepository.saveAndFlush(booking)).thenThrow(violation);
+
+            DataIntegrityViolationException exception = assertThrows(DataIntegrityViolationException.class,
+                () -> bookingService.addBooking(bookingRequestDto, user2.getId()));
+
+            assertSame(violation, exception);
+            verify(bookingIntervalIndex, never()).put(any());
+            verify(itemBookingLocks, times(1)).unlockAfterCompletion(any());
         }
     }
 
@@ -379,7 +446,7 @@ class BookingServiceImplTest {
         @Test
         public void shouldApprove() {
 
-            userRepositoryWhen(user1);
+            userExistsWhen(user1);
             when(bookingRepository.findById(bookingIsWaiting1.getId())).thenReturn(Optional.of(bookingIsWaiting1));
 
             bookingService.approveBooking(bookingIsWaiting1.getId(), user1.getId(), true);
@@ -394,7 +461,7 @@ class BookingServiceImplTest {
 
         @Test
         public void shouldReject() {
-            userRepositoryWhen(user1);
+            userExistsWhen(user1);
             when(bookingRepository.findById(bookingIsWaiting1.getId())).thenReturn(Optional.of(bookingIsWaiting1));
 
             bookingService.approveBooking(bookingIsWaiting1.getId(), user1.getId(), false);
@@ -405,12 +472,12 @@ class BookingServiceImplTest {
             Booking savedBooking = bookingArgumentCaptor.getValue();
 
             assertEquals(REJECTED, savedBooking.getStatus());
-            verify(userRepository, times(1)).findById(user1.getId());
+            verify(userExistenceGuard, times(1)).exists(user1.getId());
         }
 
         @Test
         public void shouldThrow_UserNotFoundException() {
-            when(userRepository.findById(9999L)).thenReturn(Optional.empty());
+            when(userExistenceGuard.exists(9999L)).thenReturn(false);
 
             UserNotFoundException exception = assertThrows(UserNotFoundException.class,
                 () -> bookingService.approveBooking(bookingIsWaiting1.getId(), 9999L, true));
@@ -421,7 +488,7 @@ class BookingServiceImplTest {
 
         @Test
         public void shouldThrow_BookingNotFoundException() {
-            userRepositoryWhen(user1);
+            userExistsWhen(user1);
             when(bookingRepository.findById(9999L)).thenReturn(Optional.empty());
 
             BookingNotFoundException exception = assertThrows(BookingNotFoundException.class,
@@ -434,7 +501,7 @@ class BookingServiceImplTest {
         @Test
         public void shouldThrow_UserNotFoundExceptionForNonOwner() {
             when(bookingRepository.findById(bookingIsWaiting1.getId())).thenReturn(Optional.of(bookingIsWaiting1));
-            userRepositoryWhen(user2);
+            userExistsWhen(user2);
 
             UserNotFoundException exception = assertThrows(UserNotFoundException.class,
                 () -> bookingService.approveBooking(bookingIsWaiting1.getId(), user2.getId(), true));
@@ -447,7 +514,7 @@ class BookingServiceImplTest {
         public void shouldThrow_ValidationExceptionForAlreadyApproved() {
             bookingIsWaiting1.setStatus(APPROVED);
             when(bookingRepository.findById(bookingIsWaiting1.getId())).thenReturn(Optional.of(bookingIsWaiting1));
-            userRepositoryWhen(user1);
+            userExistsWhen(user1);
 
             ValidationException exception = assertThrows(ValidationException.class,
                 () -> bookingService.approveBooking(bookingIsWaiting1.getId(), user1.getId(), true));
@@ -457,59 +524,187 @@ class BookingServiceImplTest {
         }
     }
 
+    @Nested
+    class ApproveBookings {
+        private final Booking waiting = Booking.builder()
+            .id(3L)
+            .start(dateTime.plusYears(8))
+            .end(dateTime.plusYears(9))
+            .item(item1)
+            .booker(user2)
+            .status(WAITING)
+            .build();
+        private final Booking otherWaiting = Booking.builder()
+            .id(4L)
+            .start(dateTime.plusYears(10))
+            .end(dateTime.plusYears(11))
+            .item(item1)
+            .booker(user3)
+            .status(WAITING)
+            .build();
+
+        private BookingDecisionDto decision(Long bookingId, Boolean approved) {
+            return BookingDecisionDto.builder()
+                .bookingId(bookingId)
+                .approved(approved)
+                .build();
+        }
+
+        @Test
+        public void shouldApproveAndRejectInOneQuery() {
+            userExistsWhen(user1);
+            when(bookingRepository.findAllWithItemByIdIn(any())).thenReturn(List.of(waiting, otherWaiting));
+
+            List<BookingDecisionResultDto> results = bookingService.approveBookings(
+                List.of(decision(waiting.getId(), true), decision(otherWaiting.getId(), false)), user1.getId());
+
+            assertEquals(APPROVED, results.get(0).getStatus());
+            assertEquals(REJECTED, results.get(1).getStatus());
+            assertEquals(APPROVED, waiting.getStatus());
+            assertEquals(REJECTED, otherWaiting.getStatus());
+            verify(bookingRepository, times(1)).findAllWithItemByIdIn(any());
+            verify(bookingRepository, never()).findById(any());
+            verify(bookingIntervalIndex, times(2)).put(any());
+        }
+
+        @Test
+        public void shouldReportEachFailedDecision() {
+            userExistsWhen(user1);
+            when(bookingRepository.findAllWithItemByIdIn(any())).thenReturn(List.of(waiting, booking));
+
+            List<BookingDecisionResultDto> results = bookingService.approveBookings(List.of(
+                decision(waiting.getId(), true),
+                decision(waiting.getId(), false),
+                decision(booking.getId(), true),
+                decision(9999L, true),
+                decision(null, true)), user1.getId());
+
+            assertEquals(APPROVED, results.get(0).getStatus());
+            assertEquals("Повторное решение по бронированию.", results.get(1).getError());
+            assertEquals("Бронирование уже подтверждено.", results.get(2).getError());
+            assertEquals("Нет бронирования с id: 9999", results.get(3).getError());
+            assertEquals("Не указано бронирование или решение.", results.get(4).getError());
+            assertNull(results.get(4).getBookingId());
+            assertEquals(APPROVED, waiting.getStatus());
+        }
+
+        @Test
+        public void shouldNotChangeBookingOfAnotherOwner() {
+            userExistsWhen(user2);
+            when(bookingRepository.findAllWithItemByIdIn(any())).thenReturn(List.of(waiting));
+
+            List<BookingDecisionResultDto> results = bookingService.approveBookings(
+                List.of(decision(waiting.getId(), true)), user2.getId());
+
+            assertEquals("Только владелец может подтверждать или отклонять бронирование.", results.get(0).getError());
+            assertEquals(WAITING, waiting.getStatus());
+            verify(bookingIntervalIndex, never()).put(any());
+        }
+
+        @Test
+        public void shouldThrow_UserNotFoundException() {
+            when(userExistenceGuard.exists(9999L)).thenReturn(false);
+
+            assertThrows(UserNotFoundException.class,
+                () -> bookingService.approveBookings(List.of(decision(waiting.getId(), true)), 9999L));
+
+            verify(bookingRepository, never()).findAllWithItemByIdIn(any());
+        }
+    }
+
+    @Nested
+    class ExportBookings {
+        private final BookingExportDto row = new BookingExportDto(booking.getId(), item1.getId(), item1.getName(),
+            user2.getId(), booking.getStart(), booking.getEnd(), booking.getStatus());
+
+        @Test
+        public void shouldPassStreamToSink() {
+            userExistsWhen(user2);
+            when(bookingRepository.streamAll(BookingRole.BOOKER, user2.getId(), ALL)).thenReturn(Stream.of(row));
+            List<BookingExportDto> exported = new ArrayList<>();
+
+            bookingService.exportBookings(BookingRole.BOOKER, user2.getId(), ALL,
+                bookings -> exported.addAll(bookings.collect(Collectors.toList())));
+
+            assertEquals(List.of(row), exported);
+            verify(itemRepository, never()).existsByOwnerId(any());
+        }
+
+        @Test
+        public void shouldThrow_ValidationExceptionForOwnerWithoutItems() {
+            userExistsWhen(user3);
+            when(itemRepository.existsByOwnerId(user3.getId())).thenReturn(false);
+
+            assertThrows(ValidationException.class, () -> bookingService.exportBookings(BookingRole.OWNER,
+                user3.getId(), ALL, bookings -> { }));
+
+            verify(bookingRepository, never()).streamAll(any(), any(), any());
+        }
+
+        @Test
+        public void shouldThrow_UserNotFoundException() {
+            when(userExistenceGuard.exists(9999L)).thenReturn(false);
+
+            assertThrows(UserNotFoundException.class, () -> bookingService.exportBookings(BookingRole.BOOKER,
+                9999L, ALL, bookings -> { }));
+
+            verify(bookingRepository, never()).streamAll(any(), any(), any());
+        }
+    }
+
     @Nested
     class FindBookingByIdTest {
 
         @Test
         public void shouldGetByAuthor() {
-            userRepositoryWhen(user2);
-            when(bookingRepository.findById(booking.getId())).thenReturn(Optional.of(booking));
-            when(bookingMapper.toBookingResponseDto(booking)).thenReturn(bookingResponseDto);
+            userExistsWhen(user2);
+            when(bookingRepository.findViewById(booking.getId())).thenReturn(Optional.of(bookingView));
+            when(bookingMapper.toBookingResponseDto(bookingView)).thenReturn(bookingResponseDto);
 
             BookingResponseDto response = bookingService.findBookingById(booking.getId(), user2.getId());
 
             equalsChecker(booking, response);
-            verify(userRepository, times(1)).findById(user2.getId());
-            verify(bookingRepository, times(1)).findById(booking.getId());
-            verify(bookingMapper, times(1)).toBookingResponseDto(booking);
+            verify(userExistenceGuard, times(1)).exists(user2.getId());
+            verify(bookingRepository, times(1)).findViewById(booking.getId());
+            verify(bookingMapper, times(1)).toBookingResponseDto(bookingView);
         }
 
         @Test
         public void shouldGetByOwner() {
-            userRepositoryWhen(user1);
-            when(bookingRepository.findById(booking.getId())).thenReturn(Optional.of(booking));
-            when(bookingMapper.toBookingResponseDto(booking)).thenReturn(bookingResponseDto);
+            userExistsWhen(user1);
+            when(bookingRepository.findViewById(booking.getId())).thenReturn(Optional.of(bookingView));
+            when(bookingMapper.toBookingResponseDto(bookingView)).thenReturn(bookingResponseDto);
 
             BookingResponseDto response = bookingService.findBookingById(user1.getId(), booking.getId());
 
             equalsChecker(booking, response);
-            verify(bookingRepository, times(1)).findById(booking.getId());
-            verify(bookingMapper, times(1)).toBookingResponseDto(booking);
+            verify(bookingRepository, times(1)).findViewById(booking.getId());
+            verify(bookingMapper, times(1)).toBookingResponseDto(bookingView);
         }
 
         @Test
         public void shouldThrow_BookingNotFoundException() {
-            userRepositoryWhen(user1);
-            when(bookingRepository.findById(9999L)).thenReturn(Optional.empty());
+            userExistsWhen(user1);
+            when(bookingRepository.findViewById(9999L)).thenReturn(Optional.empty());
 
             BookingNotFoundException exception = assertThrows(BookingNotFoundException.class,
                 () -> bookingService.findBookingById(9999L, user1.getId()));
 
             assertEquals("Не существует бронирования с id: 9999", exception.getMessage());
-            verify(bookingRepository, times(1)).findById(9999L);
-            verify(userRepository, times(1)).findById(user1.getId());
+            verify(bookingRepository, times(1)).findViewById(9999L);
+            verify(userExistenceGuard, times(1)).exists(user1.getId());
         }
 
         @Test
         public void shouldThrow_UserNotFoundException_NotOwnerAndAuthor() {
-            userRepositoryWhen(user3);
-            when(bookingRepository.findById(booking.getId())).thenReturn(Optional.of(booking));
+            userExistsWhen(user3);
+            when(bookingRepository.findViewById(booking.getId())).thenReturn(Optional.of(bookingView));
 
             UserNotFoundException exception = assertThrows(UserNotFoundException.class,
                 () -> bookingService.findBookingById(booking.getId(), user3.getId()));
             assertEquals("Просмотр бронирования доступно только автору или владельцу.", exception.getMessage());
-            verify(bookingRepository, times(1)).findById(booking.getId());
-            verify(userRepository, times(1)).findById(user3.getId());
+            verify(bookingRepository, times(1)).findViewById(booking.getId());
+            verify(userExistenceGuard, times(1)).exists(user3.getId());
         }
     }
 
@@ -517,11 +712,11 @@ class BookingServiceImplTest {
     class FindAllBookingByUserId {
         @Test
         public void shouldGetAllByUser() {
-            userRepositoryWhen(user2);
-            when(bookingRepository.findByBookerId(user2.getId(), pageable))
-                .thenReturn(new PageImpl<>(List.of(booking)));
+            userExistsWhen(user2);
+            when(bookingRepository.findAllFrom(BookingRole.BOOKER, user2.getId(), ALL, pageable))
+                .thenReturn(new SliceImpl<>(List.of(bookingView)));
 
-            when(bookingMapper.toBookingResponseDto(booking)).thenReturn(bookingResponseDto);
+            when(bookingMapper.toBookingResponseDto(bookingView)).thenReturn(bookingResponseDto);
 
             List<BookingResponseDto> results = bookingService.findAllBookingByUserId(user2.getId(), ALL, pageable);
 
@@ -530,17 +725,17 @@ class BookingServiceImplTest {
 
             equalsChecker(booking, response);
             verify(bookingRepository, times(1))
-                .findByBookerId(user2.getId(), pageable);
-            verify(bookingMapper, times(1)).toBookingResponseDto(booking);
-            verify(userRepository, times(1)).findById(user2.getId());
+                .findAllFrom(BookingRole.BOOKER, user2.getId(), ALL, pageable);
+            verify(bookingMapper, times(1)).toBookingResponseDto(bookingView);
+            verify(userExistenceGuard, times(1)).exists(user2.getId());
         }
 
         @Test
         public void shouldGetCurrentByUser() {
-            userRepositoryWhen(user2);
-            when(bookingRepository.findByBookerIdAndStartBeforeAndEndAfter(any(), any(), any(), any()))
-                .thenReturn(new PageImpl<>(List.of(booking)));
-            when(bookingMapper.toBookingResponseDto(booking)).thenReturn(bookingResponseDto);
+            userExistsWhen(user2);
+            when(bookingRepository.findAllFrom(BookingRole.BOOKER, user2.getId(), CURRENT, pageable))
+                .thenReturn(new SliceImpl<>(List.of(bookingView)));
+            when(bookingMapper.toBookingResponseDto(bookingView)).thenReturn(bookingResponseDto);
 
             List<BookingResponseDto> response = bookingService.findAllBookingByUserId(user2.getId(), CURRENT, pageable);
 
@@ -550,18 +745,18 @@ class BookingServiceImplTest {
 
             equalsChecker(booking, result);
             verify(bookingRepository, times(1))
-                .findByBookerIdAndStartBeforeAndEndAfter(any(), any(), any(), any());
-            verify(bookingMapper, times(1)).toBookingResponseDto(booking);
-            verify(userRepository, times(1)).findById(user2.getId());
+                .findAllFrom(BookingRole.BOOKER, user2.getId(), CURRENT, pageable);
+            verify(bookingMapper, times(1)).toBookingResponseDto(bookingView);
+            verify(userExistenceGuard, times(1)).exists(user2.getId());
         }
 
         @Test
         public void shouldGetPastByUser() {
-            userRepositoryWhen(user2);
+            userExistsWhen(user2);
             when(
-                bookingRepository.findByBookerIdAndEndBeforeAndStatusEquals(any(), any(), any(), any()))
-                .thenReturn(new PageImpl<>(List.of(booking)));
-            when(bookingMapper.toBookingResponseDto(booking)).thenReturn(bookingResponseDto);
+                bookingRepository.findAllFrom(BookingRole.BOOKER, user2.getId(), PAST, pageable))
+                .thenReturn(new SliceImpl<>(List.of(bookingView)));
+            when(bookingMapper.toBookingResponseDto(bookingView)).thenReturn(bookingResponseDto);
 
             List<BookingResponseDto> response = bookingService.findAllBookingByUserId(user2.getId(), PAST, pageable);
 
@@ -571,18 +766,18 @@ class BookingServiceImplTest {
 
             equalsChecker(booking, result);
             verify(bookingRepository, times(1))
-                .findByBookerIdAndEndBeforeAndStatusEquals(any(), any(), any(), any());
-            verify(bookingMapper, times(1)).toBookingResponseDto(booking);
-            verify(userRepository, times(1)).findById(user2.getId());
+                .findAllFrom(BookingRole.BOOKER, user2.getId(), PAST, pageable);
+            verify(bookingMapper, times(1)).toBookingResponseDto(bookingView);
+            verify(userExistenceGuard, times(1)).exists(user2.getId());
         }
 
         @Test
         public void shouldGetFutureByUser() {
-            userRepositoryWhen(user2);
+            userExistsWhen(user2);
             when(
-                bookingRepository.findByBookerIdAndStartAfter(any(), any(), any()))
-                .thenReturn(new PageImpl<>(List.of(booking)));
-            when(bookingMapper.toBookingResponseDto(booking)).thenReturn(bookingResponseDto);
+                bookingRepository.findAllFrom(BookingRole.BOOKER, user2.getId(), FUTURE, pageable))
+                .thenReturn(new SliceImpl<>(List.of(bookingView)));
+            when(bookingMapper.toBookingResponseDto(bookingView)).thenReturn(bookingResponseDto);
 
             List<BookingResponseDto> response = bookingService.findAllBookingByUserId(user2.getId(), FUTURE, pageable);
 
@@ -592,18 +787,18 @@ class BookingServiceImplTest {
 
             equalsChecker(booking, result);
             verify(bookingRepository, times(1))
-                .findByBookerIdAndStartAfter(any(), any(), any());
-            verify(bookingMapper, times(1)).toBookingResponseDto(booking);
-            verify(userRepository, times(1)).findById(user2.getId());
+                .findAllFrom(BookingRole.BOOKER, user2.getId(), FUTURE, pageable);
+            verify(bookingMapper, times(1)).toBookingResponseDto(bookingView);
+            verify(userExistenceGuard, times(1)).exists(user2.getId());
         }
 
         @Test
         public void shouldGetWaitingByUser() {
-            userRepositoryWhen(user2);
+            userExistsWhen(user2);
             when(
-                bookingRepository.findByBookerIdAndStatusEquals(any(), any(), any()))
-                .thenReturn(new PageImpl<>(List.of(booking)));
-            when(bookingMapper.toBookingResponseDto(booking)).thenReturn(bookingResponseDto);
+                bookingRepository.findAllFrom(BookingRole.BOOKER, user2.getId(), BookingState.WAITING, pageable))
+                .thenReturn(new SliceImpl<>(List.of(bookingView)));
+            when(bookingMapper.toBookingResponseDto(bookingView)).thenReturn(bookingResponseDto);
 
             List<BookingResponseDto> response =
                 bookingService.findAllBookingByUserId(user2.getId(), BookingState.WAITING, pageable);
@@ -614,18 +809,18 @@ class BookingServiceImplTest {
 
             equalsChecker(booking, result);
             verify(bookingRepository, times(1))
-                .findByBookerIdAndStatusEquals(any(), any(), any());
-            verify(bookingMapper, times(1)).toBookingResponseDto(booking);
-            verify(userRepository, times(1)).findById(user2.getId());
+                .findAllFrom(BookingRole.BOOKER, user2.getId(), BookingState.WAITING, pageable);
+            verify(bookingMapper, times(1)).toBookingResponseDto(bookingView);
+            verify(userExistenceGuard, times(1)).exists(user2.getId());
         }
 
         @Test
         public void shouldGetRejectByUser() {
-            userRepositoryWhen(user2);
+            userExistsWhen(user2);
             when(
-                bookingRepository.findByBookerIdAndStatusEquals(any(), any(), any()))
-                .thenReturn(new PageImpl<>(List.of(booking)));
-            when(bookingMapper.toBookingResponseDto(booking)).thenReturn(bookingResponseDto);
+                bookingRepository.findAllFrom(BookingRole.BOOKER, user2.getId(), BookingState.REJECTED, pageable))
+                .thenReturn(new SliceImpl<>(List.of(bookingView)));
+            when(bookingMapper.toBookingResponseDto(bookingView)).thenReturn(bookingResponseDto);
 
             List<BookingResponseDto> response =
                 bookingService.findAllBookingByUserId(user2.getId(), BookingState.REJECTED, pageable);
@@ -636,77 +831,77 @@ class BookingServiceImplTest {
 
             equalsChecker(booking, result);
             verify(bookingRepository, times(1))
-                .findByBookerIdAndStatusEquals(any(), any(), any());
-            verify(bookingMapper, times(1)).toBookingResponseDto(booking);
-            verify(userRepository, times(1)).findById(user2.getId());
+                .findAllFrom(BookingRole.BOOKER, user2.getId(), BookingState.REJECTED, pageable);
+            verify(bookingMapper, times(1)).toBookingResponseDto(bookingView);
+            verify(userExistenceGuard, times(1)).exists(user2.getId());
         }
 
         @Test
         public void shouldGetAllEmptyIfNotUser() {
-            userRepositoryWhen(user1);
-            when(bookingRepository.findByBookerId(user1.getId(), pageable))
-                .thenReturn(new PageImpl<>(List.of()));
+            userExistsWhen(user1);
+            when(bookingRepository.findAllFrom(BookingRole.BOOKER, user1.getId(), ALL, pageable))
+                .thenReturn(new SliceImpl<>(List.of()));
 
             List<BookingResponseDto> response = bookingService.findAllBookingByUserId(user1.getId(), ALL, pageable);
 
             assertTrue(response.isEmpty());
 
             verify(bookingRepository, times(1))
-                .findByBookerId(user1.getId(), pageable);
-            verify(userRepository, times(1)).findById(user1.getId());
+                .findAllFrom(BookingRole.BOOKER, user1.getId(), ALL, pageable);
+            verify(userExistenceGuard, times(1)).exists(user1.getId());
         }
 
         @Test
         public void shouldGetCurrentEmptyIfNotUser() {
-            userRepositoryWhen(user1);
-            when(bookingRepository.findByBookerIdAndStartBeforeAndEndAfter(any(), any(), any(), any()))
-                .thenReturn(new PageImpl<>(List.of()));
+            userExistsWhen(user1);
+            when(bookingRepository.findAllFrom(BookingRole.BOOKER, user1.getId(), CURRENT, pageable))
+                .thenReturn(new SliceImpl<>(List.of()));
 
             List<BookingResponseDto> response = bookingService.findAllBookingByUserId(user1.getId(), CURRENT, pageable);
 
             assertTrue(response.isEmpty());
 
             verify(bookingRepository, times(1))
-                .findByBookerIdAndStartBeforeAndEndAfter(any(), any(), any(), any());
-            verify(userRepository, times(1)).findById(user1.getId());
+                .findAllFrom(BookingRole.BOOKER, user1.getId(), CURRENT, pageable);
+            verify(userExistenceGuard, times(1)).exists(user1.getId());
         }
 
         @Test
         public void shouldGetPastEmptyIfNotUser() {
-            userRepositoryWhen(user1);
+            userExistsWhen(user1);
             when(
-                bookingRepository.findByBookerIdAndEndBeforeAndStatusEquals(any(), any(), any(), any()))
-                .thenReturn(new PageImpl<>(List.of()));
+                bookingRepository.findAllFrom(BookingRole.BOOKER, user1.getId(), PAST, pageable))
+                .thenReturn(new SliceImpl<>(List.of()));
 
             List<BookingResponseDto> response = bookingService.findAllBookingByUserId(user1.getId(), PAST, pageable);
 
             assertTrue(response.isEmpty());
 
             verify(bookingRepository, times(1))
-                .findByBookerIdAndEndBeforeAndStatusEquals(any(), any(), any(), any());
-            verify(userRepository, times(1)).findById(user1.getId());
+                .findAllFrom(BookingRole.BOOKER, user1.getId(), PAST, pageable);
+            verify(userExistenceGuard, times(1)).exists(user1.getId());
         }
 
         @Test
         public void shouldGetFutureEmptyIfNotUser() {
-            userRepositoryWhen(user1);
-            when(bookingRepository.findByBookerIdAndStartAfter(any(), any(), any()))
-                .thenReturn(new PageImpl<>(List.of()));
+            userExistsWhen(user1);
+            when(bookingRepository.findAllFrom(BookingRole.BOOKER, user1.getId(), FUTURE, pageable))
+                .thenReturn(new SliceImpl<>(List.of()));
 
             List<BookingResponseDto> response = bookingService.findAllBookingByUserId(user1.getId(), FUTURE, pageable);
 
             assertTrue(response.isEmpty());
 
             verify(bookingRepository, times(1))
-                .findByBookerIdAndStartAfter(any(), any(), any());
-            verify(userRepository, times(1)).findById(user1.getId());
+                .findAllFrom(BookingRole.BOOKER, user1.getId(), FUTURE, pageable);
+            verify(userExistenceGuard, times(1)).exists(user1.getId());
         }
 
         @Test
         public void shouldGetWaitingEmptyIfNotUser() {
-            userRepositoryWhen(user1);
-            when(bookingRepository.findByBookerIdAndStatusEquals(any(), any(), any()))
-                .thenReturn(new PageImpl<>(List.of()));
+            userExistsWhen(user1);
+            when(bookingRepository.findAllFrom(BookingRole.BOOKER, user1.getId(), BookingState.WAITING, pageable))
+                .thenReturn(new SliceImpl<>(List.of()));
 
             List<BookingResponseDto> response =
                 bookingService.findAllBookingByUserId(user1.getId(), BookingState.WAITING, pageable);
@@ -714,15 +909,15 @@ class BookingServiceImplTest {
             assertTrue(response.isEmpty());
 
             verify(bookingRepository, times(1))
-                .findByBookerIdAndStatusEquals(any(), any(), any());
-            verify(userRepository, times(1)).findById(user1.getId());
+                .findAllFrom(BookingRole.BOOKER, user1.getId(), BookingState.WAITING, pageable);
+            verify(userExistenceGuard, times(1)).exists(user1.getId());
         }
 
         @Test
         public void shouldGetRejectEmptyIfNotUser() {
-            userRepositoryWhen(user1);
-            when(bookingRepository.findByBookerIdAndStatusEquals(any(), any(), any()))
-                .thenReturn(new PageImpl<>(List.of()));
+            userExistsWhen(user1);
+            when(bookingRepository.findAllFrom(BookingRole.BOOKER, user1.getId(), BookingState.REJECTED, pageable))
+                .thenReturn(new SliceImpl<>(List.of()));
 
             List<BookingResponseDto> response =
                 bookingService.findAllBookingByUserId(user1.getId(), BookingState.REJECTED, pageable);
@@ -730,8 +925,8 @@ class BookingServiceImplTest {
             assertTrue(response.isEmpty());
 
             verify(bookingRepository, times(1))
-                .findByBookerIdAndStatusEquals(any(), any(), any());
-            verify(userRepository, times(1)).findById(user1.getId());
+                .findAllFrom(BookingRole.BOOKER, user1.getId(), BookingState.REJECTED, pageable);
+            verify(userExistenceGuard, times(1)).exists(user1.getId());
         }
     }
 
@@ -739,12 +934,12 @@ class BookingServiceImplTest {
     class FindAllBookingByOwnerId {
         @Test
         public void shouldGetAllByOwner() {
-            userRepositoryWhen(user1);
-            when(itemRepository.findAllByOwnerId(user1.getId())).thenReturn(List.of(item1));
-            when(bookingRepository.findByItemOwnerId(user1.getId(), pageable))
-                .thenReturn(new PageImpl<>(List.of(booking)));
+            userExistsWhen(user1);
+            when(itemRepository.existsByOwnerId(user1.getId())).thenReturn(true);
+            when(bookingRepository.findAllFrom(BookingRole.OWNER, user1.getId(), ALL, pageable))
+                .thenReturn(new SliceImpl<>(List.of(bookingView)));
 
-            when(bookingMapper.toBookingResponseDto(booking)).thenReturn(bookingResponseDto);
+            when(bookingMapper.toBookingResponseDto(bookingView)).thenReturn(bookingResponseDto);
 
             List<BookingResponseDto> results = bookingService.findAllBookingByOwnerId(user1.getId(), ALL, pageable);
 
@@ -753,19 +948,19 @@ class BookingServiceImplTest {
 
             equalsChecker(booking, response);
             verify(bookingRepository, times(1))
-                .findByItemOwnerId(user1.getId(), pageable);
-            verify(bookingMapper, times(1)).toBookingResponseDto(booking);
-            verify(userRepository, times(1)).findById(user1.getId());
+                .findAllFrom(BookingRole.OWNER, user1.getId(), ALL, pageable);
+            verify(itemRepository, never()).findAllByOwnerId(user1.getId());
+            verify(bookingMapper, times(1)).toBookingResponseDto(bookingView);
+            verify(userExistenceGuard, times(1)).exists(user1.getId());
         }
 
         @Test
         public void shouldGetCurrentByOwner() {
-            userRepositoryWhen(user1);
-            when(itemRepository.findAllByOwnerId(user1.getId())).thenReturn(List.of(item1));
-            when(bookingRepository.findByItemOwnerIdAndStartBeforeAndEndAfter(any(), any(), any(),
-                any()))
-                .thenReturn(new PageImpl<>(List.of(booking)));
-            when(bookingMapper.toBookingResponseDto(booking)).thenReturn(bookingResponseDto);
+            userExistsWhen(user1);
+            when(itemRepository.existsByOwnerId(user1.getId())).thenReturn(true);
+            when(bookingRepository.findAllFrom(BookingRole.OWNER, user1.getId(), CURRENT, pageable))
+                .thenReturn(new SliceImpl<>(List.of(bookingView)));
+            when(bookingMapper.toBookingResponseDto(bookingView)).thenReturn(bookingResponseDto);
 
             List<BookingResponseDto> response =
                 bookingService.findAllBookingByOwnerId(user1.getId(), CURRENT, pageable);
@@ -776,20 +971,19 @@ class BookingServiceImplTest {
 
             equalsChecker(booking, result);
             verify(bookingRepository, times(1))
-                .findByItemOwnerIdAndStartBeforeAndEndAfter(any(), any(), any(), any());
-            verify(bookingMapper, times(1)).toBookingResponseDto(booking);
-            verify(userRepository, times(1)).findById(user1.getId());
+                .findAllFrom(BookingRole.OWNER, user1.getId(), CURRENT, pageable);
+            verify(bookingMapper, times(1)).toBookingResponseDto(bookingView);
+            verify(userExistenceGuard, times(1)).exists(user1.getId());
         }
 
         @Test
         public void shouldGetPastByOwner() {
-            userRepositoryWhen(user1);
-            when(itemRepository.findAllByOwnerId(user1.getId())).thenReturn(List.of(item1));
+            userExistsWhen(user1);
+            when(itemRepository.existsByOwnerId(user1.getId())).thenReturn(true);
             when(
-                bookingRepository.findByItemOwnerIdAndEndBeforeAndStatusEquals(any(), any(), any(),
-                    any()))
-                .thenReturn(new PageImpl<>(List.of(booking)));
-            when(bookingMapper.toBookingResponseDto(booking)).thenReturn(bookingResponseDto);
+                bookingRepository.findAllFrom(BookingRole.OWNER, user1.getId(), PAST, pageable))
+                .thenReturn(new SliceImpl<>(List.of(bookingView)));
+            when(bookingMapper.toBookingResponseDto(bookingView)).thenReturn(bookingResponseDto);
 
             List<BookingResponseDto> response = bookingService.findAllBookingByOwnerId(user1.getId(), PAST, pageable);
 
@@ -799,19 +993,19 @@ class BookingServiceImplTest {
 
             equalsChecker(booking, result);
             verify(bookingRepository, times(1))
-                .findByItemOwnerIdAndEndBeforeAndStatusEquals(any(), any(), any(), any());
-            verify(bookingMapper, times(1)).toBookingResponseDto(booking);
-            verify(userRepository, times(1)).findById(user1.getId());
+                .findAllFrom(BookingRole.OWNER, user1.getId(), PAST, pageable);
+            verify(bookingMapper, times(1)).toBookingResponseDto(bookingView);
+            verify(userExistenceGuard, times(1)).exists(user1.getId());
         }
 
         @Test
         public void shouldGetFutureByOwner() {
-            userRepositoryWhen(user1);
-            when(itemRepository.findAllByOwnerId(user1.getId())).thenReturn(List.of(item1));
+            userExistsWhen(user1);
+            when(itemRepository.existsByOwnerId(user1.getId())).thenReturn(true);
             when(
-                bookingRepository.findByItemOwnerIdAndStartAfter(any(), any(), any()))
-                .thenReturn(new PageImpl<>(List.of(booking)));
-            when(bookingMapper.toBookingResponseDto(booking)).thenReturn(bookingResponseDto);
+                bookingRepository.findAllFrom(BookingRole.OWNER, user1.getId(), FUTURE, pageable))
+                .thenReturn(new SliceImpl<>(List.of(bookingView)));
+            when(bookingMapper.toBookingResponseDto(bookingView)).thenReturn(bookingResponseDto);
 
             List<BookingResponseDto> response = bookingService.findAllBookingByOwnerId(user1.getId(), FUTURE, pageable);
 
@@ -821,19 +1015,19 @@ class BookingServiceImplTest {
 
             equalsChecker(booking, result);
             verify(bookingRepository, times(1))
-                .findByItemOwnerIdAndStartAfter(any(), any(), any());
-            verify(bookingMapper, times(1)).toBookingResponseDto(booking);
-            verify(userRepository, times(1)).findById(user1.getId());
+                .findAllFrom(BookingRole.OWNER, user1.getId(), FUTURE, pageable);
+            verify(bookingMapper, times(1)).toBookingResponseDto(bookingView);
+            verify(userExistenceGuard, times(1)).exists(user1.getId());
         }
 
         @Test
         public void shouldGetWaitingByOwner() {
-            userRepositoryWhen(user1);
-            when(itemRepository.findAllByOwnerId(user1.getId())).thenReturn(List.of(item1));
+            userExistsWhen(user1);
+            when(itemRepository.existsByOwnerId(user1.getId())).thenReturn(true);
             when(
-                bookingRepository.findByItemOwnerIdAndStatusEquals(any(), any(), any()))
-                .thenReturn(new PageImpl<>(List.of(booking)));
-            when(bookingMapper.toBookingResponseDto(booking)).thenReturn(bookingResponseDto);
+                bookingRepository.findAllFrom(BookingRole.OWNER, user1.getId(), BookingState.WAITING, pageable))
+                .thenReturn(new SliceImpl<>(List.of(bookingView)));
+            when(bookingMapper.toBookingResponseDto(bookingView)).thenReturn(bookingResponseDto);
 
             List<BookingResponseDto> response =
                 bookingService.findAllBookingByOwnerId(user1.getId(), BookingState.WAITING, pageable);
@@ -844,19 +1038,19 @@ class BookingServiceImplTest {
 
             equalsChecker(booking, result);
             verify(bookingRepository, times(1))
-                .findByItemOwnerIdAndStatusEquals(any(), any(), any());
-            verify(bookingMapper, times(1)).toBookingResponseDto(booking);
-            verify(userRepository, times(1)).findById(user1.getId());
+                .findAllFrom(BookingRole.OWNER, user1.getId(), BookingState.WAITING, pageable);
+            verify(bookingMapper, times(1)).toBookingResponseDto(bookingView);
+            verify(userExistenceGuard, times(1)).exists(user1.getId());
         }
 
         @Test
         public void shouldGetRejectByOwner() {
-            userRepositoryWhen(user1);
-            when(itemRepository.findAllByOwnerId(user1.getId())).thenReturn(List.of(item1));
+            userExistsWhen(user1);
+            when(itemRepository.existsByOwnerId(user1.getId())).thenReturn(true);
             when(
-                bookingRepository.findByItemOwnerIdAndStatusEquals(any(), any(), any()))
-                .thenReturn(new PageImpl<>(List.of(booking)));
-            when(bookingMapper.toBookingResponseDto(booking)).thenReturn(bookingResponseDto);
+                bookingRepository.findAllFrom(BookingRole.OWNER, user1.getId(), BookingState.REJECTED, pageable))
+                .thenReturn(new SliceImpl<>(List.of(bookingView)));
+            when(bookingMapper.toBookingResponseDto(bookingView)).thenReturn(bookingResponseDto);
 
             List<BookingResponseDto> response =
                 bookingService.findAllBookingByOwnerId(user1.getId(), BookingState.REJECTED, pageable);
@@ -867,14 +1061,14 @@ class BookingServiceImplTest {
 
             equalsChecker(booking, result);
             verify(bookingRepository, times(1))
-                .findByItemOwnerIdAndStatusEquals(any(), any(), any());
-            verify(bookingMapper, times(1)).toBookingResponseDto(booking);
-            verify(userRepository, times(1)).findById(user1.getId());
+                .findAllFrom(BookingRole.OWNER, user1.getId(), BookingState.REJECTED, pageable);
+            verify(bookingMapper, times(1)).toBookingResponseDto(bookingView);
+            verify(userExistenceGuard, times(1)).exists(user1.getId());
         }
 
         @Test
         public void shouldGetEmptyIfNotOwner() {
-            userRepositoryWhen(user2);
+            userExistsWhen(user2);
 
             ValidationException exception = assertThrows(ValidationException.class,
                 () -> bookingService.findAllBookingByOwnerId(user2.getId(), ALL, pageable));
@@ -885,4 +1079,49 @@ class BookingServiceImplTest {
         }
     }
 
+    @Nested
+    class FindAllBookingAfterCursor {
+        private final BookingCursor cursor = new BookingCursor(dateTime.plusYears(50), 10L);
+
+        @Test
+        public void shouldGetByBookerAfterCursor() {
+            userExistsWhen(user2);
+            when(bookingRepository.findAllAfter(BookingRole.BOOKER, user2.getId(), ALL, cursor, size))
+                .thenReturn(new SliceImpl<>(List.of(bookingView)));
+            when(bookingMapper.toBookingResponseDto(bookingView)).thenReturn(bookingResponseDto);
+
+            List<BookingResponseDto> response =
+                bookingService.findAllBookingByUserIdAfter(user2.getId(), ALL, cursor, size);
+
+            assertEquals(1, response.size());
+            equalsChecker(booking, response.get(0));
+            verify(bookingRepository, never()).findAllFrom(any(), any(), any(), any());
+        }
+
+        @Test
+        public void shouldGetByOwnerAfterCursor() {
+            userExistsWhen(user1);
+            when(itemRepository.existsByOwnerId(user1.getId())).thenReturn(true);
+            when(bookingRepository.findAllAfter(BookingRole.OWNER, user1.getId(), BookingState.WAITING, cursor, size))
+                .thenReturn(new SliceImpl<>(List.of(bookingView)));
+            when(bookingMapper.toBookingResponseDto(bookingView)).thenReturn(bookingResponseDto);
+
+            List<BookingResponseDto> response =
+                bookingService.findAllBookingByOwnerIdAfter(user1.getId(), BookingState.WAITING, cursor, size);
+
+            assertEquals(1, response.size());
+            equalsChecker(booking, response.get(0));
+        }
+
+        @Test
+        public void shouldThrowIfNotOwnerAfterCursor() {
+            userExistsWhen(user2);
+
+            ValidationException exception = assertThrows(ValidationException.class,
+                () -> bookingService.findAllBookingByOwnerIdAfter(user2.getId(), ALL, cursor, size));
+            assertEquals("У вас нет вещей. Сначала нужно добавить вещь.", exception.getMessage());
+            verify(bookingRepository, never()).findAllAfter(any(), any(), any(), any(), anyInt());
+        }
+    }
+
 }
@@ -0,0 +1,90 @@
+package ru.practicum.shareit.booking.export;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletResponse;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.booking.dto.BookingExportDto;
+import ru.practicum.shareit.exception.ValidationException;
+
+import java.io.UnsupportedEncodingException;
+import java.time.LocalDateTime;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class BookingExportWriterTest {
+    private final ObjectMapper objectMapper = new ObjectMapper()
+        .registerModule(new JavaTimeModule())
+        .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    private final LocalDateTime dateTime = LocalDateTime.of(2030, 1, 1, 10, 0);
+    private final BookingExportDto drill = new BookingExportDto(1L, 10L, "Дрель", 2L,
+        dateTime, dateTime.plusDays(1), BookingStatus.APPROVED);
+    private final BookingExportDto saw = new BookingExportDto(2L, 11L, "Пила \"Дружба\", бензиновая", 3L,
+        dateTime.plusDays(2), dateTime.plusDays(3), BookingStatus.WAITING);
+
+    private String write(BookingExportFormat format, MockHttpServletResponse response)
+        throws UnsupportedEncodingException {
+        new BookingExportWriter(objectMapper, format).write(Stream.of(drill, saw), response);
+        return response.getContentAsString();
+    }
+
+    @Nested
+    @DisplayName("NDJSON")
+    class Ndjson {
+        @Test
+        public void shouldWriteOneObjectPerLine() throws UnsupportedEncodingException {
+            MockHttpServletResponse response = new MockHttpServletResponse();
+
+            String body = write(BookingExportFormat.NDJSON, response);
+
+            assertEquals("{\"id\":1,\"itemId\":10,\"itemName\":\"Дрель\",\"bookerId\":2,"
+                + "\"start\":\"2030-01-01T10:00:00\",\"end\":\"2030-01-02T10:00:00\",\"status\":\"APPROVED\"}\n"
+                + "{\"id\":2,\"itemId\":11,\"itemName\":\"Пила \\\"Дружба\\\", бензиновая\",\"bookerId\":3,"
+                + "\"start\":\"2030-01-03T10:00:00\",\"end\":\"2030-01-04T10:00:00\",\"status\":\"WAITING\"}\n", body);
+            assertEquals("application/x-ndjson;charset=UTF-8", response.getContentType());
+            assertEquals("attachment; filename=\"bookings.ndjson\"",
+                response.getHeader(HttpHeaders.CONTENT_DISPOSITION));
+        }
+    }
+
+    @Nested
+    @DisplayName("CSV")
+    class Csv {
+        @Test
+        public void shouldWriteHeaderAndEscapedRows() throws UnsupportedEncodingException {
+            MockHttpServletResponse response = new MockHttpServletResponse();
+
+            String body = write(BookingExportFormat.CSV, response);
+
+            assertEquals("id,itemId,itemName,bookerId,start,end,status\n"
+                + "1,10,Дрель,2,2030-01-01T10:00:00,2030-01-02T10:00:00,APPROVED\n"
+                + "2,11,\"Пила \"\"Дружба\"\", бензиновая\",3,2030-01-03T10:00:00,2030-01-04T10:00:00,WAITING\n", body);
+            assertEquals("text/csv;charset=UTF-8", response.getContentType());
+        }
+    }
+
+    @Nested
+    @DisplayName("Формат выгрузки")
+    class Format {
+        @Test
+        public void shouldParseFormatIgnoringCase() {
+            assertEquals(BookingExportFormat.CSV, BookingExportFormat.formatValid("csv"));
+            assertEquals(BookingExportFormat.NDJSON, BookingExportFormat.formatValid("NDJSON"));
+        }
+
+        @Test
+        public void shouldThrow_ValidationException() {
+            ValidationException exception = assertThrows(ValidationException.class,
+                () -> BookingExportFormat.formatValid("xml"));
+
+            assertEquals("Unknown format: xml", exception.getMessage());
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package ru.practicum.shareit.config;
+
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.BookingIntervalIndex;
+import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.search.ItemSearchIndex;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserExistenceGuard;
+import ru.practicum.shareit.user.UserMapperImpl;
+import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.UserService;
+import ru.practicum.shareit.user.UserServiceImpl;
+import ru.practicum.shareit.user.dto.UserDto;
+
+import javax.persistence.EntityManagerFactory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import({EntityCacheConfig.class, EntityCacheEvictor.class, UserServiceImpl.class, UserMapperImpl.class,
+    UserExistenceGuard.class, ItemSearchIndex.class, BookingIntervalIndex.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class EntityCacheTest {
+    private final UserService userService;
+    private final UserRepository userRepository;
+    private final ItemRepository itemRepository;
+    private final EntityManagerFactory entityManagerFactory;
+
+    private User owner;
+    private Item item;
+
+    @BeforeEach
+    public void beforeEach() {
+        owner = userRepository.save(User.builder()
+            .name("owner")
+            .email("owner@yandex.ru")
+            .build());
+        item = itemRepository.save(Item.builder()
+            .name("item")
+            .description("description")
+            .available(true)
+            .owner(owner)
+            .build());
+    }
+
+    /**
+     * Тесты работают без транзакции теста, поэтому данные фиксируются в базе и удаляются явно.
+     */
+    @AfterEach
+    public void afterEach() {
+        itemRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    private Statistics statistics() {
+        return entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Nested
+    @DisplayName("Чтение из кэша")
+    class ReadTest {
+        @Test
+        @DisplayName("Повторная загрузка пользователя и вещи не обращается к базе")
+        public void shouldHitCacheOnRepeatedFind() {
+            userRepository.findById(owner.getId());
+            itemRepository.findById(item.getId());
+            statistics().clear();
+
+            userRepository.findById(owner.getId());
+            itemRepository.findById(item.getId());
+
+            assertEquals(0, statistics().getPrepareStatementCount());
+            assertTrue(statistics().getSecondLevelCacheHitCount() >= 2);
+        }
+    }
+
+    @Nested
+    @DisplayName("Сброс кэша")
+    class EvictionTest {
+        @Test
+        @DisplayName("После редактирования пользователя читается новое значение")
+        public void shouldReadUpdatedUser() {
+            userRepository.findById(owner.getId());
+
+            userService.updateUser(owner.getId(), new UserDto(null, "updated", null));
+
+            assertEquals("updated", userService.findUserById(owner.getId()).getName());
+        }
+
+        @Test
+        @DisplayName("После редактирования вещи читается новое значение")
+        public void shouldReadUpdatedItem() {
+            Item cached = itemRepository.findById(item.getId()).orElseThrow();
+            cached.setName("updated");
+
+            itemRepository.save(cached);
+
+            assertEquals("updated", itemRepository.findById(item.getId()).orElseThrow().getName());
+        }
+
+        @Test
+        @DisplayName("После удаления пользователя его вещей нет в кэше, вещи других владельцев остаются")
+        public void shouldEvictItemsOfDeletedOwner() {
+            User otherOwner = userRepository.save(User.builder()
+                .name("other")
+                .email("other@yandex.ru")
+                .build());
+            Item otherItem = itemRepository.save(Item.builder()
+                .name("other item")
+                .description("description")
+                .available(true)
+                .owner(otherOwner)
+                .build());
+            itemRepository.findById(item.getId());
+            itemRepository.findById(otherItem.getId());
+            assertTrue(entityManagerFactory.getCache().contains(Item.class, item.getId()));
+
+            userService.deleteUserById(owner.getId());
+
+            assertFalse(entityManagerFactory.getCache().contains(Item.class, item.getId()));
+            assertTrue(entityManagerFactory.getCache().contains(Item.class, otherItem.getId()));
+            assertFalse(itemRepository.findById(item.getId()).isPresent());
+            assertFalse(userRepository.findById(owner.getId()).isPresent());
+        }
+    }
+}
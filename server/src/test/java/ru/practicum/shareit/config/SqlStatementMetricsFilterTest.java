@@ -0,0 +1,55 @@
+package ru.practicum.shareit.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.FilterChain;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+class SqlStatementMetricsFilterTest {
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final SqlStatementMetricsFilter filter = new SqlStatementMetricsFilter(meterRegistry);
+    private final SqlStatementCounter counter = new SqlStatementCounter();
+
+    @Test
+    @DisplayName("Запросы считаются только внутри HTTP-запроса и помечаются шаблоном пути")
+    public void shouldRecordStatementsPerRequest() throws Exception {
+        counter.inspect("select 0");
+        FilterChain chain = (request, response) -> {
+            counter.inspect("select 1");
+            counter.inspect("select 2");
+            request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/items/{itemId}");
+        };
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/items/1"), new MockHttpServletResponse(), chain);
+
+        DistributionSummary summary = meterRegistry.find(SqlStatementMetricsFilter.METRIC_NAME)
+            .tag("method", "GET")
+            .tag("uri", "/items/{itemId}")
+            .summary();
+        assertNotNull(summary);
+        assertEquals(1, summary.count());
+        assertEquals(2, summary.totalAmount());
+        assertEquals(0, SqlStatementCounter.reset());
+    }
+
+    @Test
+    @DisplayName("Запрос без обработчика помечается как UNKNOWN")
+    public void shouldTagUnmatchedRequest() throws Exception {
+        filter.doFilter(new MockHttpServletRequest("GET", "/unknown"), new MockHttpServletResponse(),
+            (request, response) -> counter.inspect("select 1"));
+
+        DistributionSummary summary = meterRegistry.find(SqlStatementMetricsFilter.METRIC_NAME)
+            .tag("uri", "UNKNOWN")
+            .summary();
+        assertNotNull(summary);
+        assertEquals(1, summary.totalAmount());
+    }
+}
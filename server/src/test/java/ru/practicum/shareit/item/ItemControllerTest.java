@@ -16,6 +16,8 @@ import ru.practicum.shareit.exception.ItemNotFoundException;
 import ru.practicum.shareit.exception.UserNotFoundException;
 import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.item.comment.CommentDto;
+import ru.practicum.shareit.item.dto.AvailabilityIntervalDto;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
 import ru.practicum.shareit.item.dto.ItemResponseDto;
 import ru.practicum.shareit.user.dto.UserDto;
 
@@ -193,6 +195,26 @@ class ItemControllerTest {
             });
         }
 
+        @Test
+        @DisplayName("Получение календаря вещи")
+        public void methodGet_availabilityTest() {
+            LocalDateTime start = LocalDateTime.now().plusDays(1);
+            LocalDateTime end = start.plusDays(1);
+            ItemAvailabilityDto availability = ItemAvailabilityDto.builder()
+                .itemId(1L)
+                .start(start)
+                .end(end)
+                .free(List.of(AvailabilityIntervalDto.free(start, end)))
+                .busy(List.of())
+                .build();
+            when(itemService.getAvailability(1L, start, end)).thenReturn(availability);
+
+            ResponseEntity<ItemAvailabilityDto> response = itemController.getAvailability(userDto1.getId(), 1L,
+                start, end);
+            assertEquals(OK, response.getStatusCode());
+            assertEquals(1, Objects.requireNonNull(response.getBody()).getFree().size());
+        }
+
         @Test
         @DisplayName("Получение списка вещей пользователя")
         public void methodGet_allItemsTest() {
@@ -9,6 +9,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.boot.test.context.SpringBootTest;
 import ru.practicum.shareit.booking.Booking;
 import ru.practicum.shareit.booking.dto.BookingItemDto;
+import ru.practicum.shareit.booking.dto.BookingShortDto;
 import ru.practicum.shareit.item.comment.Comment;
 import ru.practicum.shareit.item.comment.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
@@ -214,9 +215,22 @@ class ItemMapperTest {
             assertEquals(booking.getEnd(), result.getEnd());
         }
 
+        @Test
+        public void shouldReturnBookingItemDtoFromShort() {
+            BookingShortDto bookingShort = new BookingShortDto(booking.getId(), booking.getItem().getId(),
+                booking.getBooker().getId(), booking.getStart(), booking.getEnd());
+
+            BookingItemDto result = itemMapper.toBookingItemDto(bookingShort);
+
+            assertEquals(booking.getId(), result.getId());
+            assertEquals(booking.getBooker().getId(), result.getBookerId());
+            assertEquals(booking.getStart(), result.getStart());
+            assertEquals(booking.getEnd(), result.getEnd());
+        }
+
         @Test
         public void shouldReturnNull() {
-            BookingItemDto result = itemMapper.toBookingItemDto(null);
+            BookingItemDto result = itemMapper.toBookingItemDto((Booking) null);
 
             assertNull(result);
         }
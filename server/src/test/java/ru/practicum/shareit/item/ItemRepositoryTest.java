@@ -17,6 +17,7 @@ import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @DataJpaTest
@@ -94,6 +95,15 @@ class ItemRepositoryTest {
             List<Item> itemFromRepository = itemRepository.search("Отвертка", pageable).toList();
             assertTrue(itemFromRepository.isEmpty());
         }
+
+        @Test
+        @DisplayName("Из переданных id возвращаются только существующие")
+        public void findExistingIdsTest() {
+            List<Long> existing = itemRepository.findExistingIds(List.of(item3.getId(), 99L, item1.getId()));
+
+            assertEquals(2, existing.size());
+            assertTrue(existing.containsAll(List.of(item1.getId(), item3.getId())));
+        }
     }
 
     @Nested
@@ -127,6 +137,23 @@ class ItemRepositoryTest {
         }
     }
 
+    @Nested
+    @DisplayName("Проверка наличия вещей у пользователя")
+    class ExistsByOwnerId {
+        @Test
+        @DisplayName("Положительный тест")
+        public void existsByOwnerIdTest() {
+            assertTrue(itemRepository.existsByOwnerId(user1.getId()));
+            assertTrue(itemRepository.existsByOwnerId(user2.getId()));
+        }
+
+        @Test
+        @DisplayName("Негативный тест: Несуществующий пользователь")
+        public void shouldGetFalseTest() {
+            assertFalse(itemRepository.existsByOwnerId(3L));
+        }
+    }
+
     @Nested
     @DisplayName("Запрос пользователя на получение вещи по id")
     class FindByIdAndOwnerId {
@@ -9,11 +9,15 @@ import org.mockito.Captor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingInterval;
+import ru.practicum.shareit.booking.BookingIntervalIndex;
 import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.dto.BookingShortDto;
 import ru.practicum.shareit.exception.ItemNotFoundException;
 import ru.practicum.shareit.exception.UserNotFoundException;
 import ru.practicum.shareit.exception.ValidationException;
@@ -21,13 +25,20 @@ import ru.practicum.shareit.item.comment.Comment;
 import ru.practicum.shareit.item.comment.CommentDto;
 import ru.practicum.shareit.item.comment.CommentMapper;
 import ru.practicum.shareit.item.comment.CommentRepository;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
+import ru.practicum.shareit.item.dto.ItemImportResultDto;
+import ru.practicum.shareit.item.dto.ItemImportRowDto;
 import ru.practicum.shareit.item.dto.ItemResponseDto;
+import ru.practicum.shareit.item.search.ItemSearchIndex;
 import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserExistenceGuard;
 import ru.practicum.shareit.user.UserRepository;
 
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
@@ -39,8 +50,10 @@ import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 import static ru.practicum.shareit.booking.BookingStatus.APPROVED;
+import static ru.practicum.shareit.booking.BookingStatus.CANCELED;
 import static ru.practicum.shareit.booking.BookingStatus.REJECTED;
 import static ru.practicum.shareit.booking.BookingStatus.WAITING;
 
@@ -59,6 +72,12 @@ class ItemServiceImplTest {
     private ItemMapperImpl itemMapper;
     @Mock
     private CommentMapper commentMapper;
+    @Mock
+    private ItemSearchIndex itemSearchIndex;
+    @Mock
+    private UserExistenceGuard userExistenceGuard;
+    @Mock
+    private BookingIntervalIndex bookingIntervalIndex;
     @InjectMocks
     private ItemServiceImpl itemService;
     @Captor
@@ -243,6 +262,78 @@ class ItemServiceImplTest {
         }
     }
 
+    @Nested
+    @DisplayName("Импорт вещей")
+    class ImportItems {
+        private final ItemResponseDto invalidDto = ItemResponseDto.builder()
+            .name("")
+            .description("description")
+            .available(true)
+            .build();
+
+        private Item newItem() {
+            return Item.builder()
+                .name("item")
+                .description("description")
+                .available(true)
+                .owner(user1)
+                .build();
+        }
+
+        @Test
+        public void shouldImportValidRowsAndReportInvalid() {
+            when(userRepository.findById(user1.getId())).thenReturn(Optional.of(user1));
+            when(itemMapper.toItem(eq(item1Dto), eq(user1), any())).thenReturn(newItem());
+            when(itemRepository.saveAll(any())).thenReturn(List.of(item1));
+
+            ItemImportResultDto result = itemService.importItems(List.of(item1Dto, invalidDto).iterator(),
+                user1.getId());
+
+            assertEquals(2, result.getTotal());
+            assertEquals(1, result.getImported());
+            assertEquals(1, result.getFailed());
+            ItemImportRowDto imported = result.getRows().get(0);
+            assertEquals(1, imported.getRow());
+            assertEquals(item1.getId(), imported.getId());
+            ItemImportRowDto failed = result.getRows().get(1);
+            assertEquals(2, failed.getRow());
+            assertEquals("Некорректный ввод, пустое поле имени.", failed.getError());
+            verify(itemRepository, times(1)).saveAll(any());
+            verify(itemSearchIndex, times(1)).put(item1);
+        }
+
+        @Test
+        public void shouldSaveOneByOneWhenBatchRejected() {
+            when(userRepository.findById(user1.getId())).thenReturn(Optional.of(user1));
+            when(itemMapper.toItem(any(), eq(user1), any())).thenReturn(newItem(), newItem());
+            when(itemRepository.saveAll(any())).thenThrow(new DataIntegrityViolationException("value too long"));
+            when(itemRepository.save(any()))
+                .thenReturn(item1)
+                .thenThrow(new DataIntegrityViolationException("value too long"));
+
+            ItemImportResultDto result = itemService.importItems(List.of(item1Dto, item1Dto).iterator(),
+                user1.getId());
+
+            assertEquals(1, result.getImported());
+            assertEquals(1, result.getFailed());
+            assertEquals(item1.getId(), result.getRows().get(0).getId());
+            assertEquals("Вещь не сохранена базой данных.", result.getRows().get(1).getError());
+            verify(itemRepository, times(2)).save(itemArgumentCaptor.capture());
+            assertNull(itemArgumentCaptor.getAllValues().get(1).getId());
+        }
+
+        @Test
+        public void shouldThrow_UserNotFoundException() {
+            Long id = 9999L;
+            when(userRepository.findById(id)).thenReturn(Optional.empty());
+
+            assertThrows(UserNotFoundException.class,
+                () -> itemService.importItems(List.of(item1Dto).iterator(), id));
+
+            verify(itemRepository, never()).saveAll(any());
+        }
+    }
+
     @Nested
     @DisplayName("Редактирование вещи")
     class Update {
@@ -318,14 +409,21 @@ class ItemServiceImplTest {
     class GetById {
         @Test
         public void shouldGetItemById() {
+            ItemDetailRow comment = new ItemDetailRow(ItemDetailRow.COMMENT, 1L, user2.getId(), user2.getName(),
+                LocalDateTime.now().minusDays(1), null, "text");
             when(itemRepository.findById(item1.getId())).thenReturn(Optional.of(item1));
+            when(itemRepository.findDetailRows(eq(item1.getId()), any(), eq(false))).thenReturn(List.of(comment));
             when(itemMapper.toItemResponseDto(any(), any(), any(), any())).thenCallRealMethod();
 
             ItemResponseDto itemFromService = itemService.getItemById(item1.getId(), user2.getId());
 
             assertNull(itemFromService.getLastBooking());
             assertNull(itemFromService.getNextBooking());
+            assertEquals(1, itemFromService.getComments().size());
+            assertEquals(user2.getName(), itemFromService.getComments().get(0).getAuthorName());
+            assertEquals(comment.getStart(), itemFromService.getComments().get(0).getCreated());
             verify(itemRepository, times(1)).findById(any());
+            verify(itemRepository, times(1)).findDetailRows(any(), any(), eq(false));
             verify(itemMapper, times(1)).toItemResponseDto(any(), any(), any(), any());
         }
 
@@ -343,45 +441,42 @@ class ItemServiceImplTest {
 
         @Test
         public void shouldGetByOwnerWithBookings() {
+            LocalDateTime now = LocalDateTime.now();
+            ItemDetailRow lastBooking = new ItemDetailRow(ItemDetailRow.BOOKING, booking2.getId(), user2.getId(), null,
+                now.minusDays(2), now.minusDays(1), null);
+            ItemDetailRow nextBooking = new ItemDetailRow(ItemDetailRow.BOOKING, booking3.getId(), user2.getId(), null,
+                now.plusDays(1), now.plusDays(2), null);
             when(itemRepository.findById(item1.getId())).thenReturn(Optional.of(item1));
             when(itemMapper.toItemResponseDto(any(), any(), any(), any())).thenCallRealMethod();
-            when(bookingRepository.findByItemIdAndStartBeforeAndStatusEqualsOrderByStartDesc(any(), any(), any()))
-                .thenReturn(List.of(booking2, booking1));
-            when(bookingRepository.findByItemIdAndStartAfterAndStatusEqualsOrderByStartAsc(any(), any(), any()))
-                .thenReturn(List.of(booking3, booking4));
-            when(itemMapper.toBookingItemDto(any())).thenCallRealMethod();
+            when(itemRepository.findDetailRows(eq(item1.getId()), any(), eq(true)))
+                .thenReturn(List.of(lastBooking, nextBooking));
+            when(itemMapper.toBookingItemDto(any(BookingShortDto.class))).thenCallRealMethod();
 
             ItemResponseDto itemFromService = itemService.getItemById(item1.getId(), user1.getId());
 
             assertNotNull(itemFromService.getLastBooking());
-            assertEquals(booking2.getId(), itemFromService.getLastBooking().getId());
-            assertEquals(booking2.getBooker().getId(), itemFromService.getLastBooking().getBookerId());
-            assertEquals(booking2.getStart(), itemFromService.getLastBooking().getStart());
-            assertEquals(booking2.getEnd(), itemFromService.getLastBooking().getEnd());
+            assertEquals(lastBooking.getId(), itemFromService.getLastBooking().getId());
+            assertEquals(lastBooking.getUserId(), itemFromService.getLastBooking().getBookerId());
+            assertEquals(lastBooking.getStart(), itemFromService.getLastBooking().getStart());
+            assertEquals(lastBooking.getEnd(), itemFromService.getLastBooking().getEnd());
 
             assertNotNull(itemFromService.getNextBooking());
-            assertEquals(booking3.getId(), itemFromService.getNextBooking().getId());
-            assertEquals(booking3.getBooker().getId(), itemFromService.getNextBooking().getBookerId());
-            assertEquals(booking3.getStart(), itemFromService.getNextBooking().getStart());
-            assertEquals(booking3.getEnd(), itemFromService.getNextBooking().getEnd());
+            assertEquals(nextBooking.getId(), itemFromService.getNextBooking().getId());
+            assertEquals(nextBooking.getUserId(), itemFromService.getNextBooking().getBookerId());
+            assertEquals(nextBooking.getStart(), itemFromService.getNextBooking().getStart());
+            assertEquals(nextBooking.getEnd(), itemFromService.getNextBooking().getEnd());
 
             verify(itemRepository, times(1)).findById(any());
             verify(itemMapper, times(1)).toItemResponseDto(any(), any(), any(), any());
-            verify(bookingRepository, times(1))
-                .findByItemIdAndStartBeforeAndStatusEqualsOrderByStartDesc(any(), any(), any());
-            verify(bookingRepository, times(1))
-                .findByItemIdAndStartAfterAndStatusEqualsOrderByStartAsc(any(), any(), any());
-            verify(itemMapper, times(2)).toBookingItemDto(any());
+            verify(itemRepository, times(1)).findDetailRows(any(), any(), eq(true));
+            verify(itemMapper, times(2)).toBookingItemDto(any(BookingShortDto.class));
         }
 
         @Test
         public void shouldGetByOwnerWithEmptyLastAndNextBookings() {
             when(itemRepository.findById(item1.getId())).thenReturn(Optional.of(item1));
             when(itemMapper.toItemResponseDto(any(), any(), any(), any())).thenCallRealMethod();
-            when(bookingRepository.findByItemIdAndStartBeforeAndStatusEqualsOrderByStartDesc(any(), any(), any()))
-                .thenReturn(List.of());
-            when(bookingRepository.findByItemIdAndStartAfterAndStatusEqualsOrderByStartAsc(any(), any(), any()))
-                .thenReturn(List.of());
+            when(itemRepository.findDetailRows(any(), any(), eq(true))).thenReturn(List.of());
 
             ItemResponseDto itemFromService = itemService.getItemById(user1.getId(), item1.getId());
 
@@ -390,11 +485,8 @@ class ItemServiceImplTest {
 
             verify(itemRepository, times(1)).findById(any());
             verify(itemMapper, times(1)).toItemResponseDto(any(), any(), any(), any());
-            verify(bookingRepository, times(1))
-                .findByItemIdAndStartBeforeAndStatusEqualsOrderByStartDesc(any(), any(), any());
-            verify(bookingRepository, times(1))
-                .findByItemIdAndStartAfterAndStatusEqualsOrderByStartAsc(any(), any(), any());
-            verify(itemMapper, never()).toBookingItemDto(any());
+            verify(itemRepository, times(1)).findDetailRows(any(), any(), eq(true));
+            verify(itemMapper, never()).toBookingItemDto(any(BookingShortDto.class));
         }
     }
 
@@ -403,7 +495,7 @@ class ItemServiceImplTest {
     class GetItemByOwnerId {
         @Test
         public void shouldGetTwoItems() {
-            when(userRepository.findById(any())).thenReturn(Optional.of(user1));
+            when(userExistenceGuard.exists(any())).thenReturn(true);
             when(itemRepository.findAllByOwnerId(any(), any())).thenReturn(new PageImpl<>(List.of(item1)));
             when(itemMapper.toItemResponseDto(any(), any(), any(), any())).thenCallRealMethod();
 
@@ -415,7 +507,7 @@ class ItemServiceImplTest {
 
         @Test
         public void shouldGetEmptyItems() {
-            when(userRepository.findById(any())).thenReturn(Optional.of(user1));
+            when(userExistenceGuard.exists(any())).thenReturn(true);
             when(itemRepository.findAllByOwnerId(any(), any())).thenReturn(new PageImpl<>(List.of()));
 
             itemService.findAllItemsByOwner(user1.getId(), from, size);
@@ -427,7 +519,7 @@ class ItemServiceImplTest {
         @Test
         public void shouldThrow_ItemNotFoundException() {
             Long id = 9999L;
-            when(userRepository.findById(id)).thenReturn(Optional.empty());
+            when(userExistenceGuard.exists(id)).thenReturn(false);
 
             UserNotFoundException exception = assertThrows(UserNotFoundException.class,
                 () -> itemService.findAllItemsByOwner(id, from, size));
@@ -450,6 +542,85 @@ class ItemServiceImplTest {
             verify(itemRepository, times(1)).search(eq("EM"), eq(pageable));
         }
 
+        @Test
+        public void shouldGetFromIndexInRankOrder() {
+            Item item2 = Item.builder()
+                .id(2L)
+                .name("item2")
+                .description("description2")
+                .available(true)
+                .owner(user1)
+                .build();
+            ItemResponseDto item2Dto = ItemResponseDto.builder()
+                .id(item2.getId())
+                .name(item2.getName())
+                .build();
+            when(itemSearchIndex.isReady()).thenReturn(true);
+            when(itemSearchIndex.search("EM")).thenReturn(List.of(2L, 1L));
+            when(itemRepository.findExistingIds(List.of(2L, 1L))).thenReturn(List.of(1L, 2L));
+            when(itemRepository.findAllById(List.of(2L, 1L))).thenReturn(List.of(item1, item2));
+            when(itemMapper.toItemResponseDto(eq(item1), any(), any(), any())).thenReturn(item1Dto);
+            when(itemMapper.toItemResponseDto(eq(item2), any(), any(), any())).thenReturn(item2Dto);
+
+            List<ItemResponseDto> itemsFromService = itemService.search("EM", pageable);
+
+            assertEquals(List.of(item2Dto, item1Dto), itemsFromService);
+            verify(itemRepository, never()).search(any(), any());
+        }
+
+        @Test
+        public void shouldFillPageInsteadOfDeletedIndexedItems() {
+            Pageable firstItem = PageRequest.of(0, 1);
+            when(itemSearchIndex.isReady()).thenReturn(true);
+            when(itemSearchIndex.search("EM")).thenReturn(List.of(7L, 1L));
+            when(itemRepository.findExistingIds(List.of(7L))).thenReturn(List.of());
+            when(itemRepository.findExistingIds(List.of(1L))).thenReturn(List.of(1L));
+            when(itemRepository.findAllById(List.of(1L))).thenReturn(List.of(item1));
+            when(itemMapper.toItemResponseDto(eq(item1), any(), any(), any())).thenReturn(item1Dto);
+
+            List<ItemResponseDto> itemsFromService = itemService.search("EM", firstItem);
+
+            assertEquals(List.of(item1Dto), itemsFromService);
+        }
+
+        @Test
+        public void shouldNotQueryDatabaseIfIndexFoundNothing() {
+            when(itemSearchIndex.isReady()).thenReturn(true);
+            when(itemSearchIndex.search("EM")).thenReturn(List.of());
+
+            List<ItemResponseDto> itemsFromService = itemService.search("EM", pageable);
+
+            assertTrue(itemsFromService.isEmpty());
+            verify(itemRepository, never()).search(any(), any());
+            verify(itemRepository, never()).findExistingIds(any());
+        }
+
+        @Test
+        public void shouldCheckOnlyIdsUpToRequestedPage() {
+            List<Long> found = LongStream.rangeClosed(1, 1000).boxed().collect(Collectors.toList());
+            when(itemSearchIndex.isReady()).thenReturn(true);
+            when(itemSearchIndex.search("EM")).thenReturn(found);
+            when(itemRepository.findExistingIds(found.subList(0, 4))).thenReturn(found.subList(0, 4));
+            when(itemRepository.findAllById(List.of(3L, 4L))).thenReturn(List.of());
+
+            itemService.search("EM", PageRequest.of(1, 2));
+
+            verify(itemRepository, times(1)).findExistingIds(any());
+            verify(itemRepository, never()).search(any(), any());
+        }
+
+        @Test
+        public void shouldBoundDatabaseFallbackByPageUntilIndexIsReady() {
+            Pageable page = PageRequest.of(3, 5);
+            when(itemRepository.search("EM", page)).thenReturn(new PageImpl<>(List.of(item1)));
+
+            itemService.search("EM", page);
+
+            verify(itemRepository, times(1)).search("EM", page);
+            verify(itemSearchIndex, never()).search(any());
+            verifyNoMoreInteractions(itemRepository);
+        }
+
         @Test
         public void shouldGetEmptyList() {
             List<ItemResponseDto> itemsFromService = itemService.search("", pageable);
@@ -535,4 +706,80 @@ class ItemServiceImplTest {
 
     }
 
-}
\ No newline at end of file
+    @Nested
+    @DisplayName("Календарь вещи")
+    class GetAvailability {
+        private final LocalDateTime start = LocalDateTime.now().plusDays(1);
+        private final LocalDateTime end = start.plusDays(10);
+
+        @Test
+        public void shouldSplitRangeByBusyIntervals() {
+            BookingInterval straddling = new BookingInterval(1L, 2L, start.minusDays(1), start.plusDays(2), APPROVED);
+            BookingInterval inner = new BookingInterval(2L, 2L, start.plusDays(4), start.plusDays(5), APPROVED);
+            when(itemRepository.findById(item1.getId())).thenReturn(Optional.of(item1));
+            when(bookingIntervalIndex.findIntervals(item1.getId(), start, end)).thenReturn(List.of(straddling, inner));
+
+            ItemAvailabilityDto availability = itemService.getAvailability(item1.getId(), start, end);
+
+            assertEquals(start, availability.getStart());
+            assertEquals(end, availability.getEnd());
+            assertEquals(2, availability.getBusy().size());
+            assertEquals(APPROVED, availability.getBusy().get(0).getStatus());
+            assertEquals(2, availability.getFree().size());
+            assertEquals(start.plusDays(2), availability.getFree().get(0).getStart());
+            assertEquals(start.plusDays(4), availability.getFree().get(0).getEnd());
+            assertEquals(start.plusDays(5), availability.getFree().get(1).getStart());
+            assertEquals(end, availability.getFree().get(1).getEnd());
+            assertNull(availability.getFree().get(0).getStatus());
+        }
+
+        @Test
+        public void shouldLeaveNotApprovedPeriodsFree() {
+            BookingInterval rejected = new BookingInterval(1L, 2L, start.plusDays(1), start.plusDays(2), REJECTED);
+            BookingInterval canceled = new BookingInterval(2L, 2L, start.plusDays(3), start.plusDays(4), CANCELED);
+            BookingInterval waiting = new BookingInterval(3L, 2L, start.plusDays(5), start.plusDays(6), WAITING);
+            when(itemRepository.findById(item1.getId())).thenReturn(Optional.of(item1));
+            when(bookingIntervalIndex.findIntervals(item1.getId(), start, end))
+                .thenReturn(List.of(rejected, canceled, waiting));
+
+            ItemAvailabilityDto availability = itemService.getAvailability(item1.getId(), start, end);
+
+            assertTrue(availability.getBusy().isEmpty());
+            assertEquals(1, availability.getFree().size());
+            assertEquals(start, availability.getFree().get(0).getStart());
+            assertEquals(end, availability.getFree().get(0).getEnd());
+        }
+
+        @Test
+        public void shouldReturnWholeRangeIfNoBookings() {
+            when(itemRepository.findById(item1.getId())).thenReturn(Optional.of(item1));
+            when(bookingIntervalIndex.findIntervals(item1.getId(), start, end)).thenReturn(List.of());
+
+            ItemAvailabilityDto availability = itemService.getAvailability(item1.getId(), start, end);
+
+            assertTrue(availability.getBusy().isEmpty());
+            assertEquals(1, availability.getFree().size());
+            assertEquals(start, availability.getFree().get(0).getStart());
+            assertEquals(end, availability.getFree().get(0).getEnd());
+        }
+
+        @Test
+        public void shouldThrow_ValidationExceptionIfRangeInPast() {
+            when(itemRepository.findById(item1.getId())).thenReturn(Optional.of(item1));
+
+            assertThrows(ValidationException.class,
+                () -> itemService.getAvailability(item1.getId(), dateTime, dateTime.plusDays(1)));
+            verify(bookingIntervalIndex, never()).findIntervals(any(), any(), any());
+        }
+
+        @Test
+        public void shouldThrow_ItemNotFoundException() {
+            when(itemRepository.findById(9999L)).thenReturn(Optional.empty());
+
+            ItemNotFoundException exception = assertThrows(ItemNotFoundException.class,
+                () -> itemService.getAvailability(9999L, start, end));
+
+            assertEquals("Не существует вещи с id: 9999", exception.getMessage());
+        }
+    }
+}
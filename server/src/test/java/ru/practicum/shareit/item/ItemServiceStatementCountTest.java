@@ -0,0 +1,231 @@
+package ru.practicum.shareit.item;
+
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.TestPropertySource;
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingIntervalIndex;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.item.comment.Comment;
+import ru.practicum.shareit.item.comment.CommentMapperImpl;
+import ru.practicum.shareit.item.comment.CommentRepository;
+import ru.practicum.shareit.item.dto.ItemResponseDto;
+import ru.practicum.shareit.item.search.ItemSearchIndex;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserExistenceGuard;
+import ru.practicum.shareit.user.UserRepository;
+
+import javax.persistence.EntityManagerFactory;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest
+@TestPropertySource(properties = {
+    "spring.jpa.properties.hibernate.generate_statistics=true",
+    "shareit.user.existence-guard.enabled=false"
+})
+@Import({ItemServiceImpl.class, ItemMapperImpl.class, CommentMapperImpl.class, ItemSearchIndex.class,
+    UserExistenceGuard.class, BookingIntervalIndex.class})
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class ItemServiceStatementCountTest {
+    private static final int ITEMS_COUNT = 20;
+    private static final int COMMENTS_PER_ITEM = 3;
+    private static final int BATCH_SIZE = 50;
+    private static final int IMPORTED_ITEMS_COUNT = 4 * BATCH_SIZE;
+
+    private final ItemService itemService;
+    private final UserRepository userRepository;
+    private final ItemRepository itemRepository;
+    private final BookingRepository bookingRepository;
+    private final CommentRepository commentRepository;
+    private final TestEntityManager entityManager;
+    private final EntityManagerFactory entityManagerFactory;
+
+    private final LocalDateTime now = LocalDateTime.now();
+    private final User owner = User.builder()
+        .name("owner")
+        .email("owner@yandex.ru")
+        .build();
+    private final User booker = User.builder()
+        .name("booker")
+        .email("booker@yandex.ru")
+        .build();
+    private Item firstItem;
+
+    @BeforeEach
+    public void beforeEach() {
+        userRepository.save(owner);
+        userRepository.save(booker);
+        for (int i = 0; i < ITEMS_COUNT; i++) {
+            Item item = itemRepository.save(Item.builder()
+                .name("item" + i)
+                .description("description" + i)
+                .available(true)
+                .owner(owner)
+                .build());
+            bookingRepository.save(Booking.builder()
+                .start(now.minusDays(2))
+                .end(now.minusDays(1))
+                .item(item)
+                .booker(booker)
+                .status(BookingStatus.APPROVED)
+                .build());
+            bookingRepository.save(Booking.builder()
+                .start(now.plusDays(1))
+                .end(now.plusDays(2))
+                .item(item)
+                .booker(booker)
+                .status(BookingStatus.APPROVED)
+                .build());
+            for (int j = 0; j < COMMENTS_PER_ITEM; j++) {
+                commentRepository.save(Comment.builder()
+                    .text("comment" + i + "-" + j)
+                    .item(item)
+                    .author(j % 2 == 0 ? booker : owner)
+                    .created(now.minusHours(COMMENTS_PER_ITEM - j))
+                    .build());
+            }
+            if (firstItem == null) {
+                firstItem = item;
+            }
+        }
+    }
+
+    private long countStatements(Runnable action) {
+        entityManager.flush();
+        entityManager.clear();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        action.run();
+        return statistics.getPrepareStatementCount();
+    }
+
+    @Nested
+    @DisplayName("Количество SQL-запросов не зависит от размера страницы")
+    class ConstantStatementCount {
+        @Test
+        @DisplayName("Список вещей владельца")
+        public void findAllItemsByOwnerTest() {
+            long smallPage = countStatements(() -> itemService.findAllItemsByOwner(owner.getId(), 0, 2));
+            long largePage = countStatements(() -> itemService.findAllItemsByOwner(owner.getId(), 0, ITEMS_COUNT));
+
+            assertEquals(smallPage, largePage);
+        }
+
+        @Test
+        @DisplayName("Поиск вещей")
+        public void searchTest() {
+            long smallPage = countStatements(() -> itemService.search("item", PageRequest.of(0, 2)));
+            long largePage = countStatements(() -> itemService.search("item", PageRequest.of(0, ITEMS_COUNT)));
+
+            assertEquals(smallPage, largePage);
+        }
+
+        @Test
+        @DisplayName("Бронирования и комментарии распределены по вещам")
+        public void shouldGroupByItemTest() {
+            List<ItemResponseDto> items = itemService.findAllItemsByOwner(owner.getId(), 0, ITEMS_COUNT);
+
+            assertEquals(ITEMS_COUNT, items.size());
+            for (ItemResponseDto item : items) {
+                assertNotNull(item.getLastBooking());
+                assertNotNull(item.getNextBooking());
+                assertEquals(COMMENTS_PER_ITEM, item.getComments().size());
+            }
+        }
+    }
+
+    @Nested
+    @DisplayName("Карточка вещи собирается из двух запросов")
+    class ItemDetailStatementCount {
+        @Test
+        @DisplayName("Владелец: вещь, затем бронирования и отзывы с авторами")
+        public void ownerViewTest() {
+            long statements = countStatements(() -> itemService.getItemById(firstItem.getId(), owner.getId()));
+
+            assertEquals(2, statements);
+        }
+
+        @Test
+        @DisplayName("Другой пользователь: вещь, затем отзывы с авторами")
+        public void otherUserViewTest() {
+            long statements = countStatements(() -> itemService.getItemById(firstItem.getId(), booker.getId()));
+
+            assertEquals(2, statements);
+        }
+
+        @Test
+        @DisplayName("Владелец видит последнее и следующее бронирования и отзывы по порядку")
+        public void ownerViewContentTest() {
+            ItemResponseDto item = itemService.getItemById(firstItem.getId(), owner.getId());
+
+            assertNotNull(item.getLastBooking());
+            assertNotNull(item.getNextBooking());
+            assertEquals(booker.getId(), item.getLastBooking().getBookerId());
+            assertEquals(COMMENTS_PER_ITEM, item.getComments().size());
+            assertEquals("comment0-0", item.getComments().get(0).getText());
+            assertEquals(booker.getName(), item.getComments().get(0).getAuthorName());
+            assertEquals(owner.getName(), item.getComments().get(1).getAuthorName());
+        }
+
+        @Test
+        @DisplayName("Другой пользователь не видит бронирований")
+        public void otherUserViewContentTest() {
+            ItemResponseDto item = itemService.getItemById(firstItem.getId(), booker.getId());
+
+            assertNull(item.getLastBooking());
+            assertNull(item.getNextBooking());
+            assertEquals(COMMENTS_PER_ITEM, item.getComments().size());
+        }
+    }
+
+    @Nested
+    @DisplayName("Пакетная вставка")
+    class BatchInsert {
+        /**
+         * При пакетной вставке Hibernate готовит один INSERT на пакет из hibernate.jdbc.batch_size строк,
+         * а идентификаторы берет из последовательности блоками по allocationSize. Без пакетов
+         * запросов было бы не меньше, чем вещей.
+         */
+        @Test
+        @DisplayName("saveAll готовит один INSERT на пакет")
+        public void saveAllTest() {
+            List<Item> items = new ArrayList<>();
+            for (int i = 0; i < IMPORTED_ITEMS_COUNT; i++) {
+                items.add(Item.builder()
+                    .name("imported" + i)
+                    .description("description")
+                    .available(true)
+                    .owner(owner)
+                    .build());
+            }
+
+            long statements = countStatements(() -> {
+                itemRepository.saveAll(items);
+                entityManager.flush();
+            });
+
+            long batches = IMPORTED_ITEMS_COUNT / BATCH_SIZE;
+            assertTrue(statements <= 2 * batches, "Подготовлено запросов: " + statements);
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package ru.practicum.shareit.item.bulk;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.item.dto.ItemResponseDto;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+class ItemImportReaderTest {
+    private static final String FAILED = "<ошибка>";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private List<String> readNames(String body) throws IOException {
+        List<String> names = new ArrayList<>();
+        try (ItemImportReader reader = new ItemImportReader(objectMapper,
+            new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)))) {
+            while (reader.hasNext()) {
+                try {
+                    ItemResponseDto item = reader.next();
+                    names.add(item.getName());
+                } catch (ValidationException e) {
+                    names.add(FAILED);
+                }
+            }
+        }
+        return names;
+    }
+
+    @Nested
+    @DisplayName("Формат тела запроса")
+    class Format {
+        @Test
+        public void shouldReadJsonArray() throws IOException {
+            String body = "[{\"name\":\"Дрель\",\"description\":\"Простая дрель\",\"available\":true},"
+                + "{\"name\":\"Отвертка\",\"description\":\"Аккумуляторная\",\"available\":false}]";
+
+            assertEquals(List.of("Дрель", "Отвертка"), readNames(body));
+        }
+
+        @Test
+        public void shouldReadNdjson() throws IOException {
+            String body = "{\"name\":\"Дрель\",\"description\":\"Простая дрель\",\"available\":true}\n"
+                + "{\"name\":\"Отвертка\",\"description\":\"Аккумуляторная\",\"available\":false}\n";
+
+            assertEquals(List.of("Дрель", "Отвертка"), readNames(body));
+        }
+
+        @Test
+        public void shouldReadEmptyBody() throws IOException {
+            assertEquals(List.of(), readNames(""));
+            assertEquals(List.of(), readNames("[]"));
+        }
+    }
+
+    @Nested
+    @DisplayName("Ошибки в строках")
+    class Errors {
+        @Test
+        public void shouldContinueAfterTypeMismatch() throws IOException {
+            String body = "[{\"name\":\"Дрель\"},{\"name\":\"Пила\",\"available\":{\"nested\":1}},{\"name\":\"Отвертка\"}]";
+
+            assertEquals(List.of("Дрель", FAILED, "Отвертка"), readNames(body));
+        }
+
+        @Test
+        public void shouldStopAfterSyntaxError() throws IOException {
+            String body = "{\"name\":\"Дрель\"}\n{\"name\":\"Пила\" oops}\n{\"name\":\"Отвертка\"}\n";
+
+            assertEquals(List.of("Дрель", FAILED), readNames(body));
+        }
+
+        @Test
+        public void shouldNotHaveNextAfterSyntaxError() throws IOException {
+            try (ItemImportReader reader = new ItemImportReader(objectMapper,
+                new ByteArrayInputStream("{oops".getBytes(StandardCharsets.UTF_8)))) {
+                while (reader.hasNext()) {
+                    try {
+                        reader.next();
+                    } catch (ValidationException e) {
+                        // Ожидаемая ошибка строки.
+                    }
+                }
+                assertFalse(reader.hasNext());
+            }
+        }
+    }
+}
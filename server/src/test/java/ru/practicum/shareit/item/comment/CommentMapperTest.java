@@ -10,6 +10,7 @@ import org.springframework.boot.test.context.SpringBootTest;
 import ru.practicum.shareit.item.Item;
 import ru.practicum.shareit.user.User;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -40,7 +41,29 @@ class CommentMapperTest {
 
         @Test
         public void shouldReturnNull() {
-            CommentDto result = commentMapper.toCommentDto(null);
+            CommentDto result = commentMapper.toCommentDto((Comment) null);
+            assertNull(result);
+        }
+    }
+
+    @Nested
+    @DisplayName("Маппинг проекции в CommentDto")
+    class ToCommentDtoFromShort {
+        @Test
+        public void shouldReturnCommentDto() {
+            CommentShortDto comment = new CommentShortDto(1L, 2L, "Test comment", "author", LocalDateTime.now());
+
+            CommentDto result = commentMapper.toCommentDto(comment);
+
+            assertEquals(comment.getId(), result.getId());
+            assertEquals(comment.getText(), result.getText());
+            assertEquals(comment.getAuthorName(), result.getAuthorName());
+            assertEquals(comment.getCreated(), result.getCreated());
+        }
+
+        @Test
+        public void shouldReturnNull() {
+            CommentDto result = commentMapper.toCommentDto((CommentShortDto) null);
             assertNull(result);
         }
     }
@@ -91,4 +91,30 @@ class CommentRepositoryTest {
             assertEquals(comment2, commentFromRepository2);
         }
     }
-}
\ No newline at end of file
+
+    @Nested
+    @DisplayName("Комментарии для списка вещей")
+    class FindAllByItemIdIn {
+        @Test
+        @DisplayName("Положительный тест")
+        public void findAllByItemIdInTest() {
+            List<CommentShortDto> comments = commentRepository.findAllByItemIdIn(List.of(item1.getId()));
+
+            assertEquals(2, comments.size());
+            assertEquals(comment1.getId(), comments.get(0).getId());
+            assertEquals(item1.getId(), comments.get(0).getItemId());
+            assertEquals(user3.getName(), comments.get(0).getAuthorName());
+            assertEquals(comment2.getId(), comments.get(1).getId());
+            assertEquals(user2.getName(), comments.get(1).getAuthorName());
+            assertEquals(comment2.getCreated(), comments.get(1).getCreated());
+        }
+
+        @Test
+        @DisplayName("Негативный тест")
+        public void shouldGetEmptyTest() {
+            List<CommentShortDto> comments = commentRepository.findAllByItemIdIn(List.of(9999L));
+
+            assertEquals(0, comments.size());
+        }
+    }
+}
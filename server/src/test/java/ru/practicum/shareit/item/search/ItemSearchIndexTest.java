@@ -0,0 +1,205 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.item.ItemRepository;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ItemSearchIndexTest {
+    @Mock
+    private ItemRepository itemRepository;
+
+    private ItemSearchIndex itemSearchIndex;
+
+    private final ItemSearchDocument drill =
+        new ItemSearchDocument(1L, 10L, "Дрель", "Простая дрель", true);
+    private final ItemSearchDocument screwdriver =
+        new ItemSearchDocument(2L, 10L, "Отвертка", "Аккумуляторная отвертка для дрели", true);
+    private final ItemSearchDocument batteries =
+        new ItemSearchDocument(3L, 20L, "Batteries", "Rechargeable batteries for a drill", true);
+    private final ItemSearchDocument hidden =
+        new ItemSearchDocument(4L, 20L, "Дрель ударная", "Недоступна", false);
+
+    @BeforeEach
+    public void beforeEach() {
+        itemSearchIndex = new ItemSearchIndex(itemRepository, true);
+    }
+
+    private void rebuildWith(List<ItemSearchDocument> documents) {
+        when(itemRepository.findSearchDocumentsAfter(eq(0L), any(Pageable.class))).thenReturn(documents);
+        itemSearchIndex.rebuild();
+    }
+
+    @Nested
+    @DisplayName("Построение индекса")
+    class Rebuild {
+        @Test
+        @DisplayName("Индекс готов после загрузки вещей")
+        public void shouldBeReadyAfterRebuild() {
+            assertFalse(itemSearchIndex.isReady());
+
+            rebuildWith(List.of(drill, screwdriver));
+
+            assertTrue(itemSearchIndex.isReady());
+        }
+
+        @Test
+        @DisplayName("Выключенный индекс не загружает вещи")
+        public void shouldNotLoadIfDisabled() {
+            ItemSearchIndex disabled = new ItemSearchIndex(itemRepository, false);
+
+            disabled.rebuild();
+
+            assertFalse(disabled.isReady());
+            verify(itemRepository, never()).findSearchDocumentsAfter(anyLong(), any());
+        }
+
+        @Test
+        @DisplayName("Ошибка БД оставляет поиск запросом к БД")
+        public void shouldStayNotReadyOnDatabaseError() {
+            when(itemRepository.findSearchDocumentsAfter(eq(0L), any(Pageable.class)))
+                .thenThrow(new DataAccessResourceFailureException("db"));
+
+            itemSearchIndex.rebuild();
+
+            assertFalse(itemSearchIndex.isReady());
+        }
+    }
+
+    @Nested
+    @DisplayName("Поиск")
+    class Search {
+        @BeforeEach
+        public void beforeEach() {
+            rebuildWith(List.of(drill, screwdriver, batteries, hidden));
+        }
+
+        @Test
+        @DisplayName("Без учета регистра и окончаний, название важнее описания")
+        public void shouldFindByStemAndRankByName() {
+            assertEquals(List.of(1L, 2L), itemSearchIndex.search("дРелЬ"));
+            assertEquals(List.of(1L, 2L), itemSearchIndex.search("дрели"));
+        }
+
+        @Test
+        @DisplayName("По началу слова")
+        public void shouldFindByPrefix() {
+            assertEquals(List.of(2L), itemSearchIndex.search("аккум"));
+            assertEquals(List.of(2L), itemSearchIndex.search("Отвёр"));
+        }
+
+        @Test
+        @DisplayName("По вхождению внутри слова, как LIKE, но с меньшим весом")
+        public void shouldFindByInfix() {
+            assertEquals(List.of(2L), itemSearchIndex.search("кумулятор"));
+            assertEquals(List.of(1L), itemSearchIndex.search("ель"));
+            assertEquals(List.of(3L), itemSearchIndex.search("atter"));
+        }
+
+        @Test
+        @DisplayName("Вещь с совпадением по префиксу выше вещи с вхождением внутри слова")
+        public void shouldRankPrefixAboveInfix() {
+            itemSearchIndex.put(Item.builder().id(5L).name("Лампа").description("Настольная").available(true).build());
+            itemSearchIndex.put(Item.builder().id(6L).name("Столешница").description("Дуб").available(true).build());
+
+            assertEquals(List.of(6L, 5L), itemSearchIndex.search("стол"));
+        }
+
+        @Test
+        @DisplayName("Английские слова приводятся к основе")
+        public void shouldFindEnglishByStem() {
+            assertEquals(List.of(3L), itemSearchIndex.search("battery"));
+            assertEquals(List.of(3L), itemSearchIndex.search("recharge drills"));
+        }
+
+        @Test
+        @DisplayName("Вещь должна содержать все слова запроса")
+        public void shouldMatchAllTerms() {
+            assertEquals(List.of(2L), itemSearchIndex.search("отвертка дрель"));
+            assertTrue(itemSearchIndex.search("отвертка battery").isEmpty());
+        }
+
+        @Test
+        @DisplayName("Недоступные вещи и пустой запрос не находятся")
+        public void shouldNotFindUnavailableOrBlank() {
+            assertFalse(itemSearchIndex.search("ударная").contains(4L));
+            assertTrue(itemSearchIndex.search(" ,.").isEmpty());
+        }
+    }
+
+    @Nested
+    @DisplayName("Обновление индекса")
+    class Put {
+        @Test
+        @DisplayName("Новая и измененная вещь находятся по актуальному тексту")
+        public void shouldReindexSavedItem() {
+            rebuildWith(List.of(drill));
+
+            itemSearchIndex.put(Item.builder().id(5L).name("Стремянка").description("Лестница").available(true)
+                .build());
+            itemSearchIndex.put(Item.builder().id(1L).name("Перфоратор").description("Мощный").available(true)
+                .build());
+
+            assertEquals(List.of(5L), itemSearchIndex.search("стремянки"));
+            assertEquals(List.of(1L), itemSearchIndex.search("перфоратор"));
+            assertTrue(itemSearchIndex.search("дрель").isEmpty());
+        }
+
+        @Test
+        @DisplayName("Вещь, ставшая недоступной, удаляется из результатов")
+        public void shouldRemoveUnavailableItem() {
+            rebuildWith(List.of(drill));
+
+            itemSearchIndex.put(Item.builder().id(1L).name("Дрель").description("Простая дрель").available(false)
+                .build());
+
+            assertTrue(itemSearchIndex.search("дрель").isEmpty());
+        }
+    }
+
+    @Nested
+    @DisplayName("Удаление владельца")
+    class RemoveOwner {
+        @Test
+        @DisplayName("Вещи удаленного владельца не находятся, вещи других владельцев остаются")
+        public void shouldRemoveItemsOfOwner() {
+            rebuildWith(List.of(drill, screwdriver, batteries));
+
+            itemSearchIndex.removeOwner(10L);
+
+            assertTrue(itemSearchIndex.search("дрель").isEmpty());
+            assertEquals(List.of(3L), itemSearchIndex.search("drill"));
+        }
+
+        @Test
+        @DisplayName("Вещи владельца, удаленного во время построения, не попадают в индекс")
+        public void shouldSkipItemsOfOwnerRemovedDuringRebuild() {
+            itemSearchIndex.removeOwner(10L);
+
+            rebuildWith(List.of(drill, screwdriver, batteries));
+
+            assertTrue(itemSearchIndex.search("дрель").isEmpty());
+            assertEquals(List.of(3L), itemSearchIndex.search("drill"));
+        }
+    }
+}
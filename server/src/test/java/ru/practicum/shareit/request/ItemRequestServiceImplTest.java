@@ -21,6 +21,7 @@ import ru.practicum.shareit.item.dto.ItemResponseDto;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.dto.ItemRequestResponseDto;
 import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserExistenceGuard;
 import ru.practicum.shareit.user.UserRepository;
 
 import java.time.LocalDateTime;
@@ -45,6 +46,8 @@ class ItemRequestServiceImplTest {
     @Mock
     private UserRepository userRepository;
     @Mock
+    private UserExistenceGuard userExistenceGuard;
+    @Mock
     private ItemRequestMapperImpl itemRequestMapper;
     @Mock
     private ItemRequestRepository itemRequestRepository;
@@ -156,7 +159,7 @@ class ItemRequestServiceImplTest {
     class GetByRequestorId {
         @Test
         public void shouldGet() {
-            when(userRepository.findById(user2.getId())).thenReturn(Optional.of(user2));
+            when(userExistenceGuard.exists(user2.getId())).thenReturn(true);
             when(itemRequestRepository.findByRequestorId_IdOrderByCreatedDesc(user2.getId())).thenReturn(
                 List.of(itemRequest1));
             when(itemRepository.findByRequestIdIn(List.of(1L))).thenReturn(List.of(item1));
@@ -172,7 +175,7 @@ class ItemRequestServiceImplTest {
             assertEquals(itemRequest1.getId(), result.getId());
             assertEquals(itemRequest1.getDescription(), result.getDescription());
             assertEquals(itemRequest1.getCreated(), result.getCreated());
-            verify(userRepository, times(1)).findById(user2.getId());
+            verify(userExistenceGuard, times(1)).exists(user2.getId());
             verify(itemRequestRepository, times(1)).findByRequestorId_IdOrderByCreatedDesc(user2.getId());
             verify(itemRepository, times(1)).findByRequestIdIn(List.of(1L));
             verify(itemMapper, times(1)).toItemDto(any());
@@ -181,14 +184,14 @@ class ItemRequestServiceImplTest {
 
         @Test
         public void shouldGetEmpty() {
-            when(userRepository.findById(user1.getId())).thenReturn(Optional.of(user1));
+            when(userExistenceGuard.exists(user1.getId())).thenReturn(true);
             when(itemRequestRepository.findByRequestorId_IdOrderByCreatedDesc(user1.getId()))
                 .thenReturn(List.of());
 
             List<ItemRequestResponseDto> results = itemRequestService.findAllItemRequestByRequestorId(user1.getId());
 
             assertTrue(results.isEmpty());
-            verify(userRepository, times(1)).findById(user1.getId());
+            verify(userExistenceGuard, times(1)).exists(user1.getId());
             verify(itemRequestRepository, times(1))
                 .findByRequestorId_IdOrderByCreatedDesc(user1.getId());
         }
@@ -209,7 +212,7 @@ class ItemRequestServiceImplTest {
     class GetAll {
         @Test
         public void shouldGetNotSelfRequests() {
-            when(userRepository.findById(user1.getId())).thenReturn(Optional.of(user1));
+            when(userExistenceGuard.exists(user1.getId())).thenReturn(true);
             when(itemRequestRepository.findByRequestorId_IdNot(user1.getId(), pageable))
                 .thenReturn(new PageImpl<>(List.of(itemRequest1)));
             when(itemRequestMapper.toItemRequestResponseDto(any(), any())).thenCallRealMethod();
@@ -225,7 +228,7 @@ class ItemRequestServiceImplTest {
             assertEquals(itemRequest1.getId(), result.getId());
             assertEquals(itemRequest1.getDescription(), result.getDescription());
             assertEquals(itemRequest1.getCreated(), result.getCreated());
-            verify(userRepository, times(1)).findById(user1.getId());
+            verify(userExistenceGuard, times(1)).exists(user1.getId());
             verify(itemRequestRepository, times(1))
                 .findByRequestorId_IdNot(user1.getId(), pageable);
             verify(itemRequestMapper, times(1)).toItemRequestResponseDto(any(), any());
@@ -233,14 +236,14 @@ class ItemRequestServiceImplTest {
 
         @Test
         public void shouldGetEmptyIfNotRequests() {
-            when(userRepository.findById(user1.getId())).thenReturn(Optional.of(user1));
+            when(userExistenceGuard.exists(user1.getId())).thenReturn(true);
             when(itemRequestRepository.findByRequestorId_IdNot(user1.getId(), pageable))
                 .thenReturn(new PageImpl<>(List.of()));
 
             List<ItemRequestResponseDto> results = itemRequestService.findAllItemRequests(user1.getId(), pageable);
 
             assertTrue(results.isEmpty());
-            verify(userRepository, times(1)).findById(user1.getId());
+            verify(userExistenceGuard, times(1)).exists(user1.getId());
             verify(itemRequestRepository, times(1))
                 .findByRequestorId_IdNot(user1.getId(), pageable);
         }
@@ -261,7 +264,7 @@ class ItemRequestServiceImplTest {
     class GetById {
         @Test
         public void shouldGet() {
-            when(userRepository.findById(user2.getId())).thenReturn(Optional.of(user2));
+            when(userExistenceGuard.exists(user2.getId())).thenReturn(true);
             when(itemRequestRepository.findById(1L)).thenReturn(Optional.of(itemRequest1));
             when(itemRepository.findByRequestId(1L)).thenReturn(List.of(item1));
             when(itemMapper.toItemDto(any())).thenCallRealMethod();
@@ -272,7 +275,7 @@ class ItemRequestServiceImplTest {
             assertEquals(itemRequest1.getId(), result.getId());
             assertEquals(itemRequest1.getDescription(), result.getDescription());
             assertEquals(itemRequest1.getCreated(), result.getCreated());
-            verify(userRepository, times(1)).findById(user2.getId());
+            verify(userExistenceGuard, times(1)).exists(user2.getId());
             verify(itemRequestRepository, times(1)).findById(1L);
             verify(itemRepository, times(1)).findByRequestId(1L);
             verify(itemMapper, times(1)).toItemDto(any());
@@ -281,13 +284,13 @@ class ItemRequestServiceImplTest {
 
         @Test
         public void shouldThrowExceptionIfItemRequestIdNotFound() {
-            when(userRepository.findById(user2.getId())).thenReturn(Optional.of(user2));
+            when(userExistenceGuard.exists(user2.getId())).thenReturn(true);
             when(itemRequestRepository.findById(1L)).thenReturn(Optional.empty());
 
             UserNotFoundException exception = assertThrows(UserNotFoundException.class,
                 () -> itemRequestService.findItemRequestById(user2.getId(), 1L));
             assertEquals("Не найден запрос с id: 1", exception.getMessage());
-            verify(userRepository, times(1)).findById(user2.getId());
+            verify(userExistenceGuard, times(1)).exists(user2.getId());
             verify(itemRequestRepository, times(1)).findById(1L);
         }
 
@@ -0,0 +1,142 @@
+package ru.practicum.shareit.user;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class UserExistenceGuardTest {
+    @Mock
+    private UserRepository userRepository;
+
+    private UserExistenceGuard userExistenceGuard;
+
+    @BeforeEach
+    public void beforeEach() {
+        userExistenceGuard = new UserExistenceGuard(userRepository, true);
+    }
+
+    @Nested
+    @DisplayName("Проверка после загрузки id")
+    class Loaded {
+        @BeforeEach
+        public void load() {
+            when(userRepository.findIdsAfter(any(), any())).thenReturn(List.of(1L, 2L));
+            userExistenceGuard.load();
+        }
+
+        @Test
+        public void shouldAnswerFromMemory() {
+            assertTrue(userExistenceGuard.isReady());
+            assertTrue(userExistenceGuard.exists(1L));
+            assertTrue(userExistenceGuard.exists(2L));
+            verify(userRepository, never()).existsById(anyLong());
+        }
+
+        @Test
+        public void shouldFallbackToDatabaseForUnknownId() {
+            when(userRepository.existsById(3L)).thenReturn(false);
+
+            assertFalse(userExistenceGuard.exists(3L));
+            verify(userRepository, times(1)).existsById(3L);
+        }
+
+        @Test
+        public void shouldRememberUserFoundInDatabase() {
+            when(userRepository.existsById(3L)).thenReturn(true);
+
+            assertTrue(userExistenceGuard.exists(3L));
+            assertTrue(userExistenceGuard.exists(3L));
+            verify(userRepository, times(1)).existsById(3L);
+        }
+
+        @Test
+        public void shouldTrackAddedUser() {
+            userExistenceGuard.added(3L);
+
+            assertTrue(userExistenceGuard.exists(3L));
+            verify(userRepository, never()).existsById(anyLong());
+        }
+
+        @Test
+        public void shouldTrackRemovedUser() {
+            when(userRepository.existsById(1L)).thenReturn(false);
+
+            userExistenceGuard.removed(1L);
+
+            assertFalse(userExistenceGuard.exists(1L));
+        }
+
+        @Test
+        public void shouldNotRememberUserRemovedDuringDatabaseCheck() {
+            when(userRepository.existsById(3L))
+                .thenAnswer(invocation -> {
+                    userExistenceGuard.removed(3L);
+                    return true;
+                })
+                .thenReturn(false);
+
+            assertTrue(userExistenceGuard.exists(3L));
+            assertFalse(userExistenceGuard.exists(3L));
+            verify(userRepository, times(2)).existsById(3L);
+        }
+    }
+
+    @Nested
+    @DisplayName("Проверка до загрузки id")
+    class NotLoaded {
+        @Test
+        public void shouldAskDatabaseBeforeLoad() {
+            when(userRepository.existsById(1L)).thenReturn(true);
+
+            assertTrue(userExistenceGuard.exists(1L));
+            assertFalse(userExistenceGuard.isReady());
+            verify(userRepository, times(1)).existsById(1L);
+        }
+
+        @Test
+        public void shouldAskDatabaseIfLoadFailed() {
+            when(userRepository.findIdsAfter(any(), any())).thenThrow(new DataAccessResourceFailureException("db"));
+            when(userRepository.existsById(1L)).thenReturn(true);
+
+            userExistenceGuard.load();
+
+            assertFalse(userExistenceGuard.isReady());
+            assertTrue(userExistenceGuard.exists(1L));
+        }
+
+        @Test
+        public void shouldNotReturnUserRemovedDuringLoad() {
+            userExistenceGuard.removed(2L);
+            when(userRepository.findIdsAfter(any(), any())).thenReturn(List.of(1L, 2L));
+            when(userRepository.existsById(2L)).thenReturn(false);
+
+            userExistenceGuard.load();
+
+            assertTrue(userExistenceGuard.exists(1L));
+            assertFalse(userExistenceGuard.exists(2L));
+        }
+
+        @Test
+        public void shouldReturnFalseForNullId() {
+            assertFalse(userExistenceGuard.exists(null));
+            verify(userRepository, never()).existsById(any());
+        }
+    }
+}
@@ -9,8 +9,12 @@ import org.mockito.Captor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import ru.practicum.shareit.booking.BookingIntervalIndex;
+import ru.practicum.shareit.config.EntityCacheEvictor;
 import ru.practicum.shareit.exception.UserNotFoundException;
 import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.search.ItemSearchIndex;
 import ru.practicum.shareit.user.dto.UserDto;
 
 import java.util.ArrayList;
@@ -33,7 +37,17 @@ class UserServiceImplTest {
     @Mock
     private UserRepository userRepository;
     @Mock
+    private ItemRepository itemRepository;
+    @Mock
     private UserMapper userMapper;
+    @Mock
+    private EntityCacheEvictor entityCacheEvictor;
+    @Mock
+    private UserExistenceGuard userExistenceGuard;
+    @Mock
+    private ItemSearchIndex itemSearchIndex;
+    @Mock
+    private BookingIntervalIndex bookingIntervalIndex;
     @Captor
     private ArgumentCaptor<User> userArgumentCaptor;
 
@@ -54,6 +68,7 @@ class UserServiceImplTest {
             verify(userRepository).save(user);
             verify(userMapper).toUser(validUserDto);
             verify(userMapper).toUserDto(user);
+            verify(userExistenceGuard).added(user.getId());
         }
 
         @Test
@@ -202,11 +217,16 @@ class UserServiceImplTest {
         @Test
         void shouldDeleteUserById() {
             Long userId = 1L;
+            when(itemRepository.findIdsByOwnerId(userId)).thenReturn(List.of(5L, 6L));
 
             userService.deleteUserById(userId);
 
             verify(userRepository).deleteById(userId);
             verify(userRepository, times(1)).deleteById(userId);
+            verify(entityCacheEvictor).evictItemsOfDeletedOwner(List.of(5L, 6L));
+            verify(userExistenceGuard).removed(userId);
+            verify(itemSearchIndex).removeOwner(userId);
+            verify(bookingIntervalIndex).removeBooker(userId);
         }
     }
 }
\ No newline at end of file